@@ -0,0 +1,94 @@
+package com.bnpparibasfortis.book_store.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configuration of the Hibernate second-level cache.
+ * Catalog reference data (books, authors, publishers) and the results of catalog queries are cached
+ * in process by Caffeine through JCache, with every region bounded in size and time-to-live.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String BOOK_REGION = "book";
+    public static final String BOOK_AUTHORS_REGION = "book.authors";
+    public static final String AUTHOR_REGION = "author";
+    public static final String PUBLISHER_REGION = "publisher";
+    public static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private static final List<String> CATALOG_REGIONS =
+            List.of(BOOK_REGION, BOOK_AUTHORS_REGION, AUTHOR_REGION, PUBLISHER_REGION, QUERY_RESULTS_REGION);
+
+    /**
+     * JCache manager holding one bounded Caffeine cache per second-level cache region.
+     * Each application context gets its own manager rather than the JVM-wide default one,
+     * so contexts never share regions, and the manager is closed with the context.
+     * The update timestamps region is bounded in size only: an expired timestamp would let
+     * the query cache return results older than the last update of their tables.
+     *
+     * @param maxSize the maximum number of entries per region
+     * @param ttl the time-to-live of an entry after it was written
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager jcacheManager(@Value("${bookstore.cache.catalog.max-size:10000}") long maxSize,
+                                      @Value("${bookstore.cache.catalog.ttl:10m}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:book-store:second-level-cache:" + UUID.randomUUID()),
+                        CacheConfig.class.getClassLoader());
+        for (String region : CATALOG_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration(maxSize, OptionalLong.of(ttl.toNanos())));
+        }
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, regionConfiguration(maxSize, OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    /**
+     * Hands the bounded cache manager to Hibernate, so regions are never created implicitly.
+     *
+     * @param jcacheManager the cache manager
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jcacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, jcacheManager);
+    }
+
+    /**
+     * Publishes hit, miss and eviction metrics of every region.
+     *
+     * @param jcacheManager the cache manager
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager jcacheManager) {
+        return registry -> CATALOG_REGIONS.forEach(region ->
+                JCacheMetrics.monitor(registry, jcacheManager.getCache(region)));
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, OptionalLong expireAfterWriteNanos) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(expireAfterWriteNanos);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,50 @@
+package com.bnpparibasfortis.book_store.config;
+
+import com.bnpparibasfortis.book_store.service.FileOutboxEventSink;
+import com.bnpparibasfortis.book_store.service.InMemoryOutboxEventSink;
+import com.bnpparibasfortis.book_store.service.OutboxEventSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Selects the sink of the outbox relay. A deployment publishing to a message broker declares its own
+ * {@link OutboxEventSink} bean, which replaces the built-in local sinks.
+ */
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Sink keeping the most recent events in memory; the default for local runs.
+     *
+     * @param capacity the number of most recent events kept
+     * @return the in-memory sink
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxEventSink.class)
+    @ConditionalOnProperty(name = "bookstore.outbox.sink", havingValue = "memory", matchIfMissing = true)
+    public InMemoryOutboxEventSink inMemoryOutboxEventSink(
+            @Value("${bookstore.outbox.memory.capacity:1000}") int capacity) {
+        return new InMemoryOutboxEventSink(capacity);
+    }
+
+    /**
+     * Sink appending the events as JSON lines to a local file.
+     *
+     * @param path the file the events are appended to
+     * @param objectMapper the application object mapper
+     * @return the file sink
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxEventSink.class)
+    @ConditionalOnProperty(name = "bookstore.outbox.sink", havingValue = "file")
+    public FileOutboxEventSink fileOutboxEventSink(
+            @Value("${bookstore.outbox.file.path:outbox-events.ndjson}") Path path, ObjectMapper objectMapper) {
+        return new FileOutboxEventSink(path, objectMapper);
+    }
+}
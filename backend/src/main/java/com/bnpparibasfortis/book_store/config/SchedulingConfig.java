@@ -0,0 +1,12 @@
+package com.bnpparibasfortis.book_store.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled jobs, such as the purge of expired idempotency keys and the sales rollup refresh.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,10 +2,17 @@ package com.bnpparibasfortis.book_store.controller;
 
 import com.bnpparibasfortis.book_store.dto.ApiResponse;
 import com.bnpparibasfortis.book_store.dto.BookDto;
+import com.bnpparibasfortis.book_store.dto.BookSearchHitDto;
+import com.bnpparibasfortis.book_store.dto.BookSortField;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
 import com.bnpparibasfortis.book_store.mapper.BookMapper;
 import com.bnpparibasfortis.book_store.model.Book;
 import com.bnpparibasfortis.book_store.service.BookService;
+import com.bnpparibasfortis.book_store.util.AppConstants;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +25,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -60,6 +68,51 @@ public class BookController {
                         "No Books available in this category": "Books retrieved successfully", bookDtos));
     }
 
+    /**
+     * Retrieve one page of the catalog using keyset pagination.
+     * Selected instead of the full listing when the {@code limit} parameter is present.
+     * The returned next cursor is passed back as {@code after} to fetch the following page.
+     *
+     * @param limit the maximum number of books on the page
+     * @param after the cursor of the previous page, omitted for the first page
+     * @param sort the sort key: title, price, publishedDate or id
+     * @return ResponseEntity with the page of books and the next cursor
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<ApiResponse<CursorPage<BookDto>>> listBooksPage(
+            @RequestParam("limit") @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = AppConstants.MAX_PAGE_SIZE, message = "Limit must not exceed " + AppConstants.MAX_PAGE_SIZE) int limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "sort", defaultValue = "id") String sort) {
+        CursorPage<BookDto> page = bookService.getBooksPage(BookSortField.fromParam(sort), after, limit)
+                .map(bookMapper::toDto);
+        return ResponseEntity.ok(ApiResponse
+                .success(page.getItems().isEmpty()?
+                        "No Books available in this category": "Books retrieved successfully", page));
+    }
+
+    /**
+     * Search the catalog by title, description, author names and publisher name.
+     * Public endpoint returning ranked hits, best matches first; the returned next cursor is
+     * passed back as {@code after} to fetch the following page.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of hits on the page
+     * @param after the cursor of the previous page, omitted for the first page
+     * @return ResponseEntity with the page of hits and the next cursor
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<CursorPage<BookSearchHitDto>>> searchBooks(
+            @RequestParam("q") @NotBlank(message = "Search query is required") String query,
+            @RequestParam(value = "limit", defaultValue = "20") @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = AppConstants.MAX_PAGE_SIZE, message = "Limit must not exceed " + AppConstants.MAX_PAGE_SIZE) int limit,
+            @RequestParam(value = "after", required = false) String after) {
+        CursorPage<BookSearchHitDto> page = bookService.searchBooks(query, after, limit);
+        return ResponseEntity.ok(ApiResponse
+                .success(page.getItems().isEmpty()?
+                        "No Books match the search": "Books retrieved successfully", page));
+    }
+
     /**
      * Retrieve a specific book by its ID.
      * Public endpoint accessible to all users for viewing book details.
@@ -5,18 +5,20 @@ import com.bnpparibasfortis.book_store.dto.CartDto;
 import com.bnpparibasfortis.book_store.dto.CartItemDto;
 import com.bnpparibasfortis.book_store.mapper.CartMapper;
 import com.bnpparibasfortis.book_store.model.Cart;
+import com.bnpparibasfortis.book_store.security.CustomerPrincipal;
 import com.bnpparibasfortis.book_store.service.CartService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -50,12 +52,12 @@ public class CartController {
      * Retrieve the current user's shopping cart.
      * Returns the cart with all items for the authenticated user.
      *
-     * @param auth the authentication context
+     * @param principal the authenticated customer
      * @return ResponseEntity with the user's cart
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<CartDto>> getCart(Authentication auth) {
-        Cart cart = cartService.getCartForUser(auth.getName());
+    public ResponseEntity<ApiResponse<CartDto>> getCart(@AuthenticationPrincipal CustomerPrincipal principal) {
+        Cart cart = cartService.getCartForUser(principal.getId());
         CartDto cartDto = cartMapper.toDto(cart);
         return ResponseEntity.ok(ApiResponse.success("Cart retrieved successfully", cartDto));
     }
@@ -65,32 +67,50 @@ public class CartController {
      * Creates a new cart item or updates quantity if the book is already in the cart.
      *
      * @param itemDto the cart item data containing book ID and quantity
-     * @param auth the authentication context
+     * @param principal the authenticated customer
      * @return ResponseEntity with the updated cart
      */
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @PostMapping("/items")
-    public ResponseEntity<ApiResponse<CartDto>> addToCart(@Valid @RequestBody CartItemDto itemDto, Authentication auth) {
-        Cart cart = cartService.addItem(auth.getName(), itemDto.getBookId(), itemDto.getQuantity());
+    public ResponseEntity<ApiResponse<CartDto>> addToCart(@Valid @RequestBody CartItemDto itemDto,
+                                                          @AuthenticationPrincipal CustomerPrincipal principal) {
+        Cart cart = cartService.addItem(principal.getId(), itemDto.getBookId(), itemDto.getQuantity());
         CartDto cartDto = cartMapper.toDto(cart);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Item added to cart successfully", cartDto));
     }
 
+    /**
+     * Set the quantity of a book in the current user's shopping cart.
+     * Adds the book if it is not in the cart yet.
+     *
+     * @param itemDto the cart item data containing book ID and the new quantity
+     * @param principal the authenticated customer
+     * @return ResponseEntity with the updated cart
+     */
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @PutMapping("/items")
+    public ResponseEntity<ApiResponse<CartDto>> setItemQuantity(@Valid @RequestBody CartItemDto itemDto,
+                                                                @AuthenticationPrincipal CustomerPrincipal principal) {
+        Cart cart = cartService.setItemQuantity(principal.getId(), itemDto.getBookId(), itemDto.getQuantity());
+        CartDto cartDto = cartMapper.toDto(cart);
+        return ResponseEntity.ok(ApiResponse.success("Item quantity updated successfully", cartDto));
+    }
+
     /**
      * Remove an item from the current user's shopping cart.
      * Completely removes the specified item from the cart.
      *
      * @param itemId the cart item ID to remove
-     * @param auth the authentication context
+     * @param principal the authenticated customer
      * @return ResponseEntity with the updated cart
      */
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @DeleteMapping("/items/{itemId}")
     public ResponseEntity<ApiResponse<CartDto>> removeFromCart(
             @PathVariable("itemId") @Positive(message = "Item ID must be positive") Long itemId,
-            Authentication auth) {
-        Cart cart = cartService.removeItem(auth.getName(), itemId);
+            @AuthenticationPrincipal CustomerPrincipal principal) {
+        Cart cart = cartService.removeItem(principal.getId(), itemId);
         CartDto cartDto = cartMapper.toDto(cart);
         return ResponseEntity.ok(ApiResponse.success("Item removed from cart successfully", cartDto));
     }
@@ -5,15 +5,15 @@ import com.bnpparibasfortis.book_store.dto.CustomerDto;
 import com.bnpparibasfortis.book_store.dto.RegisterRequest;
 import com.bnpparibasfortis.book_store.mapper.CustomerMapper;
 import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.security.CustomerPrincipal;
 import com.bnpparibasfortis.book_store.service.CustomerService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -61,7 +61,7 @@ public class CustomerController {
     public ResponseEntity<ApiResponse<CustomerDto>> register(@Valid @RequestBody RegisterRequest registerRequest) {
         Customer customer = customerMapper.toEntity(registerRequest);
         Customer registeredCustomer = customerService.registerUser(customer);
-        CustomerDto responseDto = customerMapper.toDto(registeredCustomer);
+        CustomerDto responseDto = customerMapper.toDto(registeredCustomer, List.of(), 0L);
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("User registered successfully", responseDto));
@@ -77,7 +77,7 @@ public class CustomerController {
     @PostMapping("/upgrade-to-admin/{userId}")
     public ResponseEntity<ApiResponse<CustomerDto>> upgradeToAdmin(@PathVariable("userId") @Positive(message = "Customer ID must be positive") Long userId) {
         Customer upgraded = customerService.upgradeToAdmin(userId);
-        CustomerDto responseDto = customerMapper.toDto(upgraded);
+        CustomerDto responseDto = toDetailDto(upgraded);
         return ResponseEntity.ok(ApiResponse.success("User upgraded to admin successfully", responseDto));
     }
 
@@ -92,7 +92,7 @@ public class CustomerController {
     public ResponseEntity<ApiResponse<CustomerDto>> createAdmin(@Valid @RequestBody RegisterRequest registerRequest) {
         Customer customer = customerMapper.toEntity(registerRequest);
         Customer created = customerService.createAdmin(customer);
-        CustomerDto responseDto = customerMapper.toDto(created);
+        CustomerDto responseDto = customerMapper.toDto(created, List.of(), 0L);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Admin created successfully", responseDto));
     }
@@ -100,14 +100,13 @@ public class CustomerController {
     /**
      * Get current user profile.
      *
+     * @param principal the authenticated customer
      * @return ResponseEntity with user profile
      */
     @GetMapping("/customers/profile")
-    public ResponseEntity<ApiResponse<CustomerDto>> getProfile() {
-        Authentication authentication = requireAuthenticatedUser();
-        String username = authentication.getName();
-        Customer customer = customerService.getCustomerByUsername(username);
-        CustomerDto responseDto = customerMapper.toDto(customer);
+    public ResponseEntity<ApiResponse<CustomerDto>> getProfile(@AuthenticationPrincipal CustomerPrincipal principal) {
+        Customer customer = customerService.getCustomerById(requireAuthenticatedUser(principal).getId());
+        CustomerDto responseDto = toDetailDto(customer);
 
         return ResponseEntity.ok(ApiResponse.success("Profile retrieved successfully", responseDto));
     }
@@ -116,16 +115,17 @@ public class CustomerController {
      * Update current user profile.
      *
      * @param customerDto the updated customer data
+     * @param principal the authenticated customer
      * @return ResponseEntity with an update result
      */
     @PutMapping("/customers/profile")
-    public ResponseEntity<ApiResponse<CustomerDto>> updateProfile(@Valid @RequestBody CustomerDto customerDto) {
-        Authentication authentication = requireAuthenticatedUser();
-        Customer currentCustomer = customerService.getCustomerByUsername(authentication.getName());
+    public ResponseEntity<ApiResponse<CustomerDto>> updateProfile(@Valid @RequestBody CustomerDto customerDto,
+                                                                  @AuthenticationPrincipal CustomerPrincipal principal) {
+        Long customerId = requireAuthenticatedUser(principal).getId();
         Customer updatedCustomer = customerMapper.toEntityForUpdate(customerDto);
 
-        Customer customer = customerService.updateCustomer(currentCustomer.getId(), updatedCustomer);
-        CustomerDto responseCustomerDto = customerMapper.toDto(customer);
+        Customer customer = customerService.updateCustomer(customerId, updatedCustomer);
+        CustomerDto responseCustomerDto = toDetailDto(customer);
 
         return ResponseEntity.ok(ApiResponse.success("Profile updated successfully", responseCustomerDto));
     }
@@ -155,7 +155,7 @@ public class CustomerController {
     @GetMapping("/admin/customers/{id}")
     public ResponseEntity<ApiResponse<CustomerDto>> getCustomerById(@PathVariable("id") @Positive(message = "Customer ID must be positive") Long id) {
         Customer customer = customerService.getCustomerById(id);
-        CustomerDto customerDto = customerMapper.toDto(customer);
+        CustomerDto customerDto = toDetailDto(customer);
         return ResponseEntity.ok(ApiResponse.success("Customer retrieved successfully", customerDto));
     }
 
@@ -173,16 +173,28 @@ public class CustomerController {
     }
 
     /**
-     * Helper method to retrieve and validate the current authenticated user.
+     * Maps a single customer to its DTO with the IDs of the most recent orders and the order count.
+     * Customer listings use the plain mapping and leave both fields empty.
      *
-     * @return the authentication context for the current user
+     * @param customer the customer to map
+     * @return the customer DTO
+     */
+    private CustomerDto toDetailDto(Customer customer) {
+        return customerMapper.toDto(customer, customerService.getRecentOrderIds(customer.getId()),
+                customerService.countOrders(customer.getId()));
+    }
+
+    /**
+     * Helper method to validate the current authenticated user.
+     *
+     * @param principal the principal resolved from the security context
+     * @return the authenticated customer
      * @throws AuthenticationException if no user is authenticated
      */
-    private Authentication requireAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+    private CustomerPrincipal requireAuthenticatedUser(CustomerPrincipal principal) {
+        if (principal == null) {
             throw new AuthenticationException("User not authenticated") {};
         }
-        return authentication;
+        return principal;
     }
 }
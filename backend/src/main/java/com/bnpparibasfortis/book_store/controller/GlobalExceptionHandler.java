@@ -2,6 +2,10 @@ package com.bnpparibasfortis.book_store.controller;
 
 import com.bnpparibasfortis.book_store.dto.ApiResponse;
 import com.bnpparibasfortis.book_store.exception.BookNotFoundException;
+import com.bnpparibasfortis.book_store.exception.CheckoutInProgressException;
+import com.bnpparibasfortis.book_store.exception.CheckoutQueueFullException;
+import com.bnpparibasfortis.book_store.exception.InsufficientStockException;
+import com.bnpparibasfortis.book_store.exception.OrderNotCancellableException;
 import com.bnpparibasfortis.book_store.util.AppConstants;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
@@ -108,6 +112,56 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    /**
+     * Handles InsufficientStockException - raised when a checkout asks for more units than are in stock.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with error response
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInsufficientStock(InsufficientStockException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * Handles CheckoutInProgressException - raised when a checkout is retried while the first attempt with
+     * the same idempotency key has not finished yet.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with error response
+     */
+    @ExceptionHandler(CheckoutInProgressException.class)
+    public ResponseEntity<ApiResponse<Object>> handleCheckoutInProgress(CheckoutInProgressException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * Handles CheckoutQueueFullException - raised when an asynchronous checkout finds the queue full.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with error response
+     */
+    @ExceptionHandler(CheckoutQueueFullException.class)
+    public ResponseEntity<ApiResponse<Object>> handleCheckoutQueueFull(CheckoutQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * Handles OrderNotCancellableException - raised when a customer cancels an order that has moved past
+     * the statuses it can be cancelled from.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with error response
+     */
+    @ExceptionHandler(OrderNotCancellableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOrderNotCancellable(OrderNotCancellableException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     /**
      * Determines the appropriate HTTP status based on the IllegalArgumentException message.
      *
@@ -1,21 +1,52 @@
 package com.bnpparibasfortis.book_store.controller;
 
+import com.bnpparibasfortis.book_store.dto.AdminOrderSummaryDto;
 import com.bnpparibasfortis.book_store.dto.ApiResponse;
+import com.bnpparibasfortis.book_store.dto.CheckoutStatusDto;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
+import com.bnpparibasfortis.book_store.dto.OrderCancelRequest;
 import com.bnpparibasfortis.book_store.dto.OrderDto;
+import com.bnpparibasfortis.book_store.dto.OrderExportFormat;
+import com.bnpparibasfortis.book_store.dto.OrderHistoryDto;
+import com.bnpparibasfortis.book_store.dto.OrderStatusUpdateDto;
+import com.bnpparibasfortis.book_store.dto.OrderStatusUpdateRequest;
+import com.bnpparibasfortis.book_store.dto.OrderSummaryDto;
 import com.bnpparibasfortis.book_store.mapper.OrderMapper;
 import com.bnpparibasfortis.book_store.model.Order;
-import com.bnpparibasfortis.book_store.service.CustomerService;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import com.bnpparibasfortis.book_store.security.CustomerPrincipal;
+import com.bnpparibasfortis.book_store.service.CheckoutIdempotencyService;
+import com.bnpparibasfortis.book_store.service.CheckoutQueue;
+import com.bnpparibasfortis.book_store.service.CheckoutResult;
+import com.bnpparibasfortis.book_store.service.OrderExportService;
+import com.bnpparibasfortis.book_store.service.OrderFilter;
 import com.bnpparibasfortis.book_store.service.OrderService;
+import com.bnpparibasfortis.book_store.util.AppConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -29,72 +60,238 @@ import java.util.List;
 @Validated
 public class OrderController {
     private final OrderService orderService;
-    private final CustomerService customerService;
     private final OrderMapper orderMapper;
+    private final CheckoutIdempotencyService checkoutIdempotencyService;
+    private final CheckoutQueue checkoutQueue;
+    private final OrderExportService orderExportService;
 
     /**
      * Constructs a new OrderController with the required dependencies.
      *
      * @param orderService the service for order operations
-     * @param customerService the service for customer operations
      * @param orderMapper the mapper for converting between Order entities and DTOs
+     * @param checkoutIdempotencyService the service for idempotent checkouts
+     * @param checkoutQueue the queue of asynchronous checkouts
+     * @param orderExportService the service for order exports
      */
-    public OrderController(OrderService orderService, CustomerService customerService, OrderMapper orderMapper) {
+    public OrderController(OrderService orderService, OrderMapper orderMapper,
+                           CheckoutIdempotencyService checkoutIdempotencyService, CheckoutQueue checkoutQueue,
+                           OrderExportService orderExportService) {
         this.orderService = orderService;
-        this.customerService = customerService;
         this.orderMapper = orderMapper;
+        this.checkoutIdempotencyService = checkoutIdempotencyService;
+        this.checkoutQueue = checkoutQueue;
+        this.orderExportService = orderExportService;
     }
 
     /**
      * Place a new order for the authenticated user.
-     * Creates an order from the user's current cart contents.
+     * Creates an order from the user's current cart contents. A request repeating the
+     * Idempotency-Key of an earlier checkout returns that checkout's order instead of
+     * placing another one, marked with the Idempotent-Replayed header.
+     * In asynchronous mode a checkout without Idempotency-Key is queued instead: the response
+     * is 202 with the checkout status, whose location is given in the Location header.
      *
-     * @param auth the authentication context
-     * @return ResponseEntity with the created order
+     * @param principal the authenticated customer
+     * @param idempotencyKey the client-supplied key identifying the checkout, optional
+     * @return ResponseEntity with the created order, or with the status of the queued checkout
      */
     @PostMapping("/checkout")
-    public ResponseEntity<ApiResponse<OrderDto>> placeOrder(Authentication auth) {
-        Order order = orderService.placeOrder(getCustomerIdFromAuth(auth));
-        OrderDto orderDto = orderMapper.toDto(order);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Order placed successfully", orderDto));
+    public ResponseEntity<ApiResponse<?>> placeOrder(
+            @AuthenticationPrincipal CustomerPrincipal principal,
+            @RequestHeader(value = AppConstants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null && checkoutQueue.isEnabled()) {
+            CheckoutStatusDto status = checkoutQueue.enqueue(principal.getId());
+            URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/api/orders/{reference}/status")
+                    .buildAndExpand(status.getReference())
+                    .toUri();
+            return ResponseEntity.accepted().location(location)
+                    .body(ApiResponse.success("Checkout accepted", status));
+        }
+
+        CheckoutResult result = checkoutIdempotencyService.placeOrder(principal.getId(), idempotencyKey);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header(AppConstants.IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return response.body(ApiResponse.success("Order placed successfully", result.order()));
+    }
+
+    /**
+     * Retrieve the status of an asynchronous checkout of the authenticated user.
+     * A completed checkout carries the ID of the placed order, a failed one the reason.
+     *
+     * @param reference the reference returned when the checkout was queued
+     * @param principal the authenticated customer
+     * @return ResponseEntity with the checkout status
+     */
+    @GetMapping("/{reference}/status")
+    public ResponseEntity<ApiResponse<CheckoutStatusDto>> getCheckoutStatus(
+            @PathVariable String reference, @AuthenticationPrincipal CustomerPrincipal principal) {
+        CheckoutStatusDto status = checkoutQueue.getStatus(principal.getId(), reference);
+        return ResponseEntity.ok(ApiResponse.success("Checkout status retrieved successfully", status));
+    }
+
+    /**
+     * Cancel an order of the authenticated user.
+     * Only orders that are not shipped yet can be cancelled; their units are returned to stock.
+     *
+     * @param orderId the ID of the order to cancel
+     * @param principal the authenticated customer
+     * @return ResponseEntity with the cancelled order
+     */
+    @PostMapping("/{orderId}/cancel")
+    public ResponseEntity<ApiResponse<OrderDto>> cancelOrder(@PathVariable Long orderId,
+                                                             @AuthenticationPrincipal CustomerPrincipal principal) {
+        Order order = orderService.cancelOrder(principal.getId(), orderId);
+        return ResponseEntity.ok(ApiResponse.success("Order cancelled successfully", orderMapper.toDto(order)));
     }
 
     /**
      * Retrieve all orders for the authenticated user.
-     * Returns the user's order history.
+     * Returns the user's order history from the order history read model, with the book titles
+     * and prices as they were at checkout.
      *
-     * @param auth the authentication context
+     * @param principal the authenticated customer
      * @return ResponseEntity with list of user's orders
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<OrderDto>>> listMyOrders(Authentication auth) {
-        List<Order> orders = orderService.getOrdersForCustomer(getCustomerIdFromAuth(auth));
-        List<OrderDto> orderDtos = orders.stream().map(orderMapper::toDto).toList();
-        return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", orderDtos));
+    public ResponseEntity<ApiResponse<List<OrderHistoryDto>>> listMyOrders(@AuthenticationPrincipal CustomerPrincipal principal) {
+        List<OrderHistoryDto> orders = orderService.getOrdersForCustomer(principal.getId());
+        return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", orders));
+    }
+
+    /**
+     * Retrieve one page of the authenticated user's order history as lightweight summaries.
+     * Selected instead of the full history when the {@code limit} parameter is present.
+     * The returned next cursor is passed back as {@code after} to fetch older orders.
+     *
+     * @param limit the maximum number of orders on the page
+     * @param after the cursor of the previous page, omitted for the first page
+     * @param from the first order day to include, omitted for no lower bound
+     * @param to the last order day to include, omitted for no upper bound
+     * @param principal the authenticated customer
+     * @return ResponseEntity with the page of order summaries and the next cursor
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<ApiResponse<CursorPage<OrderSummaryDto>>> listMyOrdersPage(
+            @RequestParam("limit") @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = AppConstants.MAX_PAGE_SIZE, message = "Limit must not exceed " + AppConstants.MAX_PAGE_SIZE) int limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal CustomerPrincipal principal) {
+        CursorPage<OrderSummaryDto> page = orderService.getOrderHistory(principal.getId(),
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                after, limit);
+        return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", page));
     }
 
     /**
-     * Retrieve all orders in the system (Admin only).
-     * Administrative endpoint for viewing all customer orders.
+     * Retrieve one page of all orders in the system as lightweight summaries (Admin only).
+     * Orders are listed newest first; the returned next cursor is passed back as {@code after}
+     * to fetch older orders. All filters are optional.
      *
-     * @return ResponseEntity with list of all orders
+     * @param limit the maximum number of orders on the page
+     * @param after the cursor of the previous page, omitted for the first page
+     * @param status the order status to include, omitted for all statuses
+     * @param from the first order day to include, omitted for no lower bound
+     * @param to the last order day to include, omitted for no upper bound
+     * @param customerId the customer whose orders to include, omitted for all customers
+     * @return ResponseEntity with the page of order summaries and the next cursor
      */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/all")
-    public ResponseEntity<ApiResponse<List<OrderDto>>> listAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
-        List<OrderDto> orderDtos = orders.stream().map(orderMapper::toDto).toList();
-        return ResponseEntity.ok(ApiResponse.success("All orders retrieved successfully", orderDtos));
+    public ResponseEntity<ApiResponse<CursorPage<AdminOrderSummaryDto>>> listAllOrders(
+            @RequestParam(value = "limit", defaultValue = "20") @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = AppConstants.MAX_PAGE_SIZE, message = "Limit must not exceed " + AppConstants.MAX_PAGE_SIZE) int limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "customerId", required = false) Long customerId) {
+        CursorPage<AdminOrderSummaryDto> page = orderService.getAllOrders(
+                orderFilter(customerId, status, from, to), after, limit);
+        return ResponseEntity.ok(ApiResponse.success("All orders retrieved successfully", page));
+    }
+
+    /**
+     * Export all orders in the system matching the filters as a file (Admin only).
+     * The file is written while the orders are read, so exports of any size use constant memory.
+     *
+     * @param format the file format, csv or ndjson
+     * @param status the order status to include, omitted for all statuses
+     * @param from the first order day to include, omitted for no lower bound
+     * @param to the last order day to include, omitted for no upper bound
+     * @param customerId the customer whose orders to include, omitted for all customers
+     * @return ResponseEntity streaming the exported orders
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "customerId", required = false) Long customerId) {
+        OrderExportFormat exportFormat = OrderExportFormat.fromParam(format);
+        OrderFilter filter = orderFilter(customerId, status, from, to);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("orders." + exportFormat.getParam())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(output -> orderExportService.exportOrders(filter, exportFormat, output));
+    }
+
+    /**
+     * Move a set of orders to a new status (Admin only).
+     * All orders are moved with one set-based update; orders whose current status cannot move
+     * to the target status are skipped and not counted as updated.
+     *
+     * @param request the order IDs and the target status
+     * @return ResponseEntity with the number of requested and updated orders
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/status")
+    public ResponseEntity<ApiResponse<OrderStatusUpdateDto>> updateOrderStatus(
+            @Valid @RequestBody OrderStatusUpdateRequest request) {
+        OrderStatusUpdateDto result = orderService.transitionOrders(request.getOrderIds(),
+                OrderStatus.fromParam(request.getStatus()));
+        return ResponseEntity.ok(ApiResponse.success("Order status updated successfully", result));
+    }
+
+    /**
+     * Cancel a set of orders and return their units to stock (Admin only).
+     * Stock is restored with one update per distinct book, however many orders are cancelled;
+     * orders that can no longer be cancelled are skipped and not counted as updated.
+     *
+     * @param request the IDs of the orders to cancel
+     * @return ResponseEntity with the number of requested and cancelled orders
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/cancel")
+    public ResponseEntity<ApiResponse<OrderStatusUpdateDto>> cancelOrders(@Valid @RequestBody OrderCancelRequest request) {
+        OrderStatusUpdateDto result = orderService.cancelOrders(request.getOrderIds());
+        return ResponseEntity.ok(ApiResponse.success("Orders cancelled successfully", result));
     }
 
     /**
-     * Helper method to extract customer ID from authentication context.
+     * Builds the order filter of the administrative endpoints from their request parameters.
      *
-     * @param auth the authentication context
-     * @return the customer ID
+     * @param customerId the customer ID, or null
+     * @param status the order status, or null
+     * @param from the first order day, or null
+     * @param to the last order day, or null
+     * @return the order filter with the days converted to a half-open date-time range
      */
-    private Long getCustomerIdFromAuth(Authentication auth) {
-        return customerService.getCustomerByUsername(auth.getName()).getId();
+    private OrderFilter orderFilter(Long customerId, String status, LocalDate from, LocalDate to) {
+        return new OrderFilter(customerId,
+                status == null || status.isBlank() ? null : OrderStatus.fromParam(status.trim()),
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay());
     }
 }
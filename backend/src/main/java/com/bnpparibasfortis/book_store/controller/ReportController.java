@@ -0,0 +1,55 @@
+package com.bnpparibasfortis.book_store.controller;
+
+import com.bnpparibasfortis.book_store.dto.ApiResponse;
+import com.bnpparibasfortis.book_store.dto.SalesReportGrouping;
+import com.bnpparibasfortis.book_store.dto.SalesReportRowDto;
+import com.bnpparibasfortis.book_store.service.SalesReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for administrative reporting.
+ * Reports are read from precomputed rollups, which are refreshed periodically and may lag
+ * the latest orders by up to the refresh interval.
+ */
+@RestController
+@RequestMapping("/api/admin/reports")
+@PreAuthorize("hasRole('ADMIN')")
+public class ReportController {
+    private final SalesReportService salesReportService;
+
+    /**
+     * Constructs a new ReportController with the required dependencies.
+     *
+     * @param salesReportService the service for sales reports
+     */
+    public ReportController(SalesReportService salesReportService) {
+        this.salesReportService = salesReportService;
+    }
+
+    /**
+     * Retrieve revenue, units sold and order count per day of a date range (Admin only).
+     * Cancelled orders are not counted.
+     *
+     * @param from the first day of the report
+     * @param to the last day of the report
+     * @param groupBy day for one row per day, book or publisher for one row per book or publisher and day
+     * @return ResponseEntity with the report rows ordered by day
+     */
+    @GetMapping("/sales")
+    public ResponseEntity<ApiResponse<List<SalesReportRowDto>>> getSalesReport(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "groupBy", defaultValue = "day") String groupBy) {
+        List<SalesReportRowDto> rows = salesReportService.getSalesReport(SalesReportGrouping.fromParam(groupBy), from, to);
+        return ResponseEntity.ok(ApiResponse.success("Sales report retrieved successfully", rows));
+    }
+}
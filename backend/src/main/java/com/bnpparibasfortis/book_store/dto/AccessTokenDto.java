@@ -0,0 +1,20 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for login responses in stateless token mode.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessTokenDto {
+    private String accessToken;
+    private String tokenType;
+    private long expiresIn;
+    private LoginSummaryDto customer;
+}
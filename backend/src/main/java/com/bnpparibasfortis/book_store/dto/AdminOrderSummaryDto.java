@@ -0,0 +1,27 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight order projection for the administrative order listing and export.
+ * Built directly by the repository query, so neither customers nor order items are loaded.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminOrderSummaryDto {
+    private Long id;
+    private Long customerId;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private BigDecimal totalPrice;
+    private Integer itemCount;
+}
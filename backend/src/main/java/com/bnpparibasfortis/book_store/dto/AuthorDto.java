@@ -5,8 +5,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.List;
-
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,5 +14,4 @@ public class AuthorDto {
     private String firstName;
     private String lastName;
     private String bio;
-    private List<Long> bookIds;
 }
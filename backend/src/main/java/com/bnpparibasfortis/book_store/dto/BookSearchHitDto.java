@@ -0,0 +1,27 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One ranked result of a catalog search.
+ * Served from the in-process search index, so it carries only the indexed fields and the
+ * price; the stock level and the full details are read from the book endpoint.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchHitDto {
+    private Long id;
+    private String title;
+    private List<String> authorNames;
+    private String publisherName;
+    private BigDecimal price;
+    private double score;
+}
@@ -0,0 +1,39 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import java.util.Arrays;
+
+/**
+ * Sort keys supported by the paginated book catalog.
+ * Every key is paired with the book ID as a tie-breaker, so the ordering is total and stable.
+ */
+public enum BookSortField {
+    TITLE("title"),
+    PRICE("price"),
+    PUBLISHED_DATE("publishedDate"),
+    ID("id");
+
+    private final String param;
+
+    BookSortField(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * Resolves a sort key from its request parameter value.
+     *
+     * @param param the request parameter value, e.g. "publishedDate"
+     * @return the matching sort key
+     * @throws IllegalArgumentException if the value is not a supported sort key
+     */
+    public static BookSortField fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(field -> field.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort key: " + param
+                        + ". Supported keys are title, price, publishedDate and id"));
+    }
+}
@@ -0,0 +1,11 @@
+package com.bnpparibasfortis.book_store.dto;
+
+/**
+ * Progress of an asynchronous checkout.
+ */
+public enum CheckoutState {
+    QUEUED,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,17 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutStatusDto {
+    private String reference;
+    private CheckoutState state;
+    private Long orderId;
+    private String message;
+}
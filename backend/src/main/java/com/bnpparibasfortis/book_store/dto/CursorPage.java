@@ -0,0 +1,29 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO for one page of a keyset (cursor) paginated listing.
+ * The next cursor is opaque to clients and is passed back as the {@code after} parameter.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = items.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, nextCursor, hasMore);
+    }
+}
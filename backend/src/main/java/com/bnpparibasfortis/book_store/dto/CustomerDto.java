@@ -34,7 +34,10 @@ public class CustomerDto {
     private String address;
 
     private LocalDate registeredDate;
+    /** IDs of the most recent orders, newest first; null in customer listings. */
     private List<Long> orderIds;
+    /** Number of orders the customer has placed; null in customer listings. */
+    private Long orderCount;
     private Long cartId;
     private Customer.Role role;
     private String status;
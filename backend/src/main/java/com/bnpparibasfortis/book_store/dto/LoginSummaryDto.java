@@ -0,0 +1,24 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import com.bnpparibasfortis.book_store.model.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Compact customer projection returned on login.
+ * Built by a single repository query; orders are read afterwards through the paged orders endpoint.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginSummaryDto {
+    private Long id;
+    private String username;
+    private String name;
+    private Customer.Role role;
+    private Long orderCount;
+    private Long cartItemCount;
+}
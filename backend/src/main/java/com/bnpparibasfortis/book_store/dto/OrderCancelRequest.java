@@ -0,0 +1,23 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Request to cancel a set of orders.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCancelRequest {
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 10000, message = "At most 10000 orders can be cancelled at once")
+    private List<Long> orderIds;
+}
@@ -0,0 +1,42 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import java.util.Arrays;
+
+/**
+ * File formats of the administrative order export.
+ */
+public enum OrderExportFormat {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String param;
+    private final String contentType;
+
+    OrderExportFormat(String param, String contentType) {
+        this.param = param;
+        this.contentType = contentType;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Resolves an export format from its request parameter value.
+     *
+     * @param param the request parameter value, e.g. "ndjson"
+     * @return the matching export format
+     * @throws IllegalArgumentException if the value is not a supported format
+     */
+    public static OrderExportFormat fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(format -> format.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported export format: " + param
+                        + ". Supported formats are csv and ndjson"));
+    }
+}
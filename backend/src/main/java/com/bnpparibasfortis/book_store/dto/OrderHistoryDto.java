@@ -0,0 +1,29 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Order history entry read from the order history read model.
+ * The lines are the snapshot taken at checkout, so they do not follow later catalog changes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryDto {
+    private Long id;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private BigDecimal totalPrice;
+    private Long customerId;
+    private int itemCount;
+    private List<OrderHistoryLineDto> items;
+}
@@ -0,0 +1,22 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of an order history entry, with the book title and price as they were at checkout.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryLineDto {
+    private Long bookId;
+    private String title;
+    private int quantity;
+    private BigDecimal price;
+}
@@ -0,0 +1,21 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of a bulk order status transition. Requested orders that were not updated
+ * do not exist or were in a status that cannot move to the target status.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdateDto {
+    private OrderStatus status;
+    private int requested;
+    private int updated;
+}
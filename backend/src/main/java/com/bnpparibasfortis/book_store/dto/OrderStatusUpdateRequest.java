@@ -0,0 +1,26 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Request to move a set of orders to a new status.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdateRequest {
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 10000, message = "At most 10000 orders can be updated at once")
+    private List<Long> orderIds;
+    @NotBlank(message = "Target status is required")
+    private String status;
+}
@@ -0,0 +1,26 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight order projection for order history listings.
+ * Built directly by the repository query, so order items are never loaded.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryDto {
+    private Long id;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private BigDecimal totalPrice;
+    private Integer itemCount;
+}
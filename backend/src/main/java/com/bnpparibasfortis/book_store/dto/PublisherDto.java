@@ -5,8 +5,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.List;
-
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,5 +14,4 @@ public class PublisherDto {
     private String name;
     private String address;
     private String website;
-    private List<Long> bookIds;
 }
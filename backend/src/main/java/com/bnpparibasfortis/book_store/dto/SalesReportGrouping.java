@@ -0,0 +1,37 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import java.util.Arrays;
+
+/**
+ * Groupings of the sales report, each served by its own daily rollup table.
+ */
+public enum SalesReportGrouping {
+    DAY("day"),
+    BOOK("book"),
+    PUBLISHER("publisher");
+
+    private final String param;
+
+    SalesReportGrouping(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * Resolves a grouping from its request parameter value.
+     *
+     * @param param the request parameter value, e.g. "publisher"
+     * @return the matching grouping
+     * @throws IllegalArgumentException if the value is not a supported grouping
+     */
+    public static SalesReportGrouping fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(grouping -> grouping.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported grouping: " + param
+                        + ". Supported groupings are day, book and publisher"));
+    }
+}
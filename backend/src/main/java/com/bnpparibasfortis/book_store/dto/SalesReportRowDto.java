@@ -0,0 +1,26 @@
+package com.bnpparibasfortis.book_store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of the sales report: the sales of one day, or of one book or publisher on one day.
+ * The group ID and name are the book's or publisher's, and null when grouped by day only.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportRowDto {
+    private LocalDate date;
+    private Long groupId;
+    private String groupName;
+    private long orderCount;
+    private long units;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,7 @@
+package com.bnpparibasfortis.book_store.exception;
+
+public class CheckoutInProgressException extends RuntimeException {
+    public CheckoutInProgressException() {
+        super("A checkout with this idempotency key is still in progress");
+    }
+}
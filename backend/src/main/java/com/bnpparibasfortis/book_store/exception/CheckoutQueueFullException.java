@@ -0,0 +1,7 @@
+package com.bnpparibasfortis.book_store.exception;
+
+public class CheckoutQueueFullException extends RuntimeException {
+    public CheckoutQueueFullException() {
+        super("Checkout queue is full, please retry later");
+    }
+}
@@ -0,0 +1,7 @@
+package com.bnpparibasfortis.book_store.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String title, int requested) {
+        super("Insufficient stock for book: " + title + ". Requested: " + requested);
+    }
+}
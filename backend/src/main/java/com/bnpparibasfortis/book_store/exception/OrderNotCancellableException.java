@@ -0,0 +1,10 @@
+package com.bnpparibasfortis.book_store.exception;
+
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+
+public class OrderNotCancellableException extends RuntimeException {
+    public OrderNotCancellableException(Long orderId) {
+        super("Order " + orderId + " cannot be cancelled: only orders in status "
+                + OrderStatus.sourcesOf(OrderStatus.CANCELLED) + " can be cancelled");
+    }
+}
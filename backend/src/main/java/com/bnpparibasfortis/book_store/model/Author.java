@@ -1,21 +1,22 @@
 package com.bnpparibasfortis.book_store.model;
 
+import com.bnpparibasfortis.book_store.config.CacheConfig;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.util.HashSet;
-import java.util.Set;
 
 @Entity
 @Table(name = "author")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.AUTHOR_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,9 +30,6 @@ public class Author {
     private String lastName;
     private String bio;
 
-    @ManyToMany(mappedBy = "authors")
-    private Set<Book> books = new HashSet<>();
-
     public String getFullName() {
         return firstName + " " + lastName;
     }
@@ -0,0 +1,28 @@
+package com.bnpparibasfortis.book_store.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates entity IDs from blocks allocated by {@link BlockSequenceGenerator}, so that the
+ * inserts of the entity can be sent as JDBC batches.
+ */
+@IdGeneratorType(BlockSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface BlockSequence {
+
+    /**
+     * The name of the sequence, recorded with each allocated block.
+     */
+    String name();
+
+    /**
+     * The number of IDs in a block.
+     */
+    int blockSize() default 50;
+}
@@ -0,0 +1,86 @@
+package com.bnpparibasfortis.book_store.model;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Hi/lo ID generator whose blocks are numbered by the AUTO_INCREMENT column of the id_block table.
+ * A block is allocated on the connection of the current transaction, so no second connection is
+ * needed. The allocating insert locks only its own row and is deleted again in the same transaction,
+ * and AUTO_INCREMENT values are never handed out twice, not even when that transaction rolls back.
+ * Blocks can therefore be shared by all sessions of the node and by several nodes.
+ * <p>
+ * Since id_block is empty outside an allocating transaction, the numbering relies on the
+ * AUTO_INCREMENT counter surviving a restart of an empty table, which InnoDB guarantees from
+ * MySQL 8.0 on. MySQL 5.7 recomputes the counter from MAX(id) at startup and would hand out
+ * the first blocks again.
+ */
+public class BlockSequenceGenerator implements IdentifierGenerator {
+
+    private static final String ALLOCATE_BLOCK = "INSERT INTO id_block (sequence_name) VALUES (?)";
+    private static final String RELEASE_BLOCK_ROW = "DELETE FROM id_block WHERE id = ?";
+
+    private final String sequenceName;
+    private final int blockSize;
+    private long nextId;
+    private long blockEnd;
+
+    /**
+     * Constructs a new BlockSequenceGenerator for the annotated ID.
+     *
+     * @param config the sequence name and block size
+     */
+    public BlockSequenceGenerator(BlockSequence config) {
+        this.sequenceName = config.name();
+        this.blockSize = config.blockSize();
+    }
+
+    /**
+     * Hands out the next ID of the current block, or the first ID of a newly allocated block.
+     * The allocation runs outside the monitor, so no session waits for another session's round trip.
+     * When two sessions allocate at the same time, the block installed first is kept and the rest of
+     * the other block is skipped, which leaves a gap but never a duplicate.
+     */
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        synchronized (this) {
+            if (nextId < blockEnd) {
+                return nextId++;
+            }
+        }
+        long blockStart = allocateBlock(session) * blockSize;
+        synchronized (this) {
+            if (nextId == blockEnd) {
+                nextId = blockStart + 1;
+                blockEnd = blockStart + blockSize;
+            }
+        }
+        return blockStart;
+    }
+
+    private long allocateBlock(SharedSessionContractImplementor session) {
+        return session.doReturningWork(connection -> {
+            long block;
+            try (PreparedStatement insert = connection.prepareStatement(ALLOCATE_BLOCK, Statement.RETURN_GENERATED_KEYS)) {
+                insert.setString(1, sequenceName);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        throw new HibernateException("No block allocated for sequence " + sequenceName);
+                    }
+                    block = keys.getLong(1);
+                }
+            }
+            try (PreparedStatement delete = connection.prepareStatement(RELEASE_BLOCK_ROW)) {
+                delete.setLong(1, block);
+                delete.executeUpdate();
+            }
+            return block;
+        });
+    }
+}
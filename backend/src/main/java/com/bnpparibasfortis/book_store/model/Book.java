@@ -1,6 +1,8 @@
 package com.bnpparibasfortis.book_store.model;
 
+import com.bnpparibasfortis.book_store.config.CacheConfig;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -8,27 +10,37 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 @Entity
 @Table(name = "book")
+@NamedEntityGraph(name = Book.GRAPH_WITH_PUBLISHER,
+        attributeNodes = @NamedAttributeNode("publisher"))
+@NamedEntityGraph(name = Book.GRAPH_WITH_PUBLISHER_AND_AUTHORS,
+        attributeNodes = {@NamedAttributeNode("publisher"), @NamedAttributeNode("authors")})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.BOOK_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Book {
+    public static final String GRAPH_WITH_PUBLISHER = "Book.withPublisher";
+    public static final String GRAPH_WITH_PUBLISHER_AND_AUTHORS = "Book.withPublisherAndAuthors";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -40,19 +52,15 @@ public class Book {
     private LocalDate publishedDate;
     private int stockQuantity;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "publisher_id")
     private Publisher publisher;
 
     @ManyToMany
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.BOOK_AUTHORS_REGION)
     @JoinTable(name = "book_author",
             joinColumns = @JoinColumn(name = "book_id"),
             inverseJoinColumns = @JoinColumn(name = "author_id"))
     private Set<Author> authors = new HashSet<>();
-
-    @OneToMany(mappedBy = "book")
-    private List<OrderItem> orderItems = new ArrayList<>();
-
-    @OneToMany(mappedBy = "book")
-    private List<CartItem> cartItems = new ArrayList<>();
 }
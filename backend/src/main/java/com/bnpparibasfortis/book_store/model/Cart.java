@@ -2,10 +2,14 @@ package com.bnpparibasfortis.book_store.model;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -20,18 +24,26 @@ import java.util.List;
 
 @Entity
 @Table(name = "cart")
+@NamedEntityGraph(name = Cart.GRAPH_WITH_ITEMS_AND_BOOKS,
+        attributeNodes = @NamedAttributeNode(value = "items", subgraph = "items"),
+        subgraphs = {
+                @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode(value = "book", subgraph = "book")),
+                @NamedSubgraph(name = "book", attributeNodes = @NamedAttributeNode("publisher"))
+        })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Cart {
+    public static final String GRAPH_WITH_ITEMS_AND_BOOKS = "Cart.withItemsAndBooks";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private LocalDateTime createdAt;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", unique = true)
     private Customer customer;
 
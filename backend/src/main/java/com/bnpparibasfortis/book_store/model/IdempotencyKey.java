@@ -0,0 +1,38 @@
+package com.bnpparibasfortis.book_store.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A client-supplied idempotency key of a customer's checkout, with the response it produced.
+ * The row is claimed at the start of the checkout transaction and given the response at its end,
+ * so a committed row exists exactly when the order does.
+ */
+@Entity
+@Table(name = "idempotency_key",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_key_customer_key",
+                columnNames = {"customer_id", "idempotency_key"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long customerId;
+    private String idempotencyKey;
+    private String responseBody;
+    private LocalDateTime createdAt;
+}
@@ -1,12 +1,17 @@
 package com.bnpparibasfortis.book_store.model;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -21,20 +26,30 @@ import java.util.List;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(name = Order.GRAPH_WITH_ITEMS_AND_BOOKS,
+        attributeNodes = @NamedAttributeNode(value = "items", subgraph = "items"),
+        subgraphs = {
+                @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode(value = "book", subgraph = "book")),
+                @NamedSubgraph(name = "book", attributeNodes = @NamedAttributeNode("publisher"))
+        })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
+    public static final String GRAPH_WITH_ITEMS_AND_BOOKS = "Order.withItemsAndBooks";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequence(name = "orders")
     private Long id;
 
     private LocalDateTime orderDate;
-    private String status;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
     private BigDecimal totalPrice;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
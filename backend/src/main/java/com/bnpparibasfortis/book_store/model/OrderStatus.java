@@ -0,0 +1,68 @@
+package com.bnpparibasfortis.book_store.model;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lifecycle of an order. Every status lists the statuses an order may move to from it;
+ * DELIVERED and CANCELLED are final.
+ */
+public enum OrderStatus {
+    NEW,
+    PAID,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED;
+
+    static {
+        NEW.next = EnumSet.of(PAID, CANCELLED);
+        PAID.next = EnumSet.of(SHIPPED, CANCELLED);
+        SHIPPED.next = EnumSet.of(DELIVERED);
+        DELIVERED.next = EnumSet.noneOf(OrderStatus.class);
+        CANCELLED.next = EnumSet.noneOf(OrderStatus.class);
+    }
+
+    private Set<OrderStatus> next;
+
+    /**
+     * Checks whether an order in this status may move to the target status.
+     *
+     * @param target the target status
+     * @return true if the transition is allowed
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return next.contains(target);
+    }
+
+    /**
+     * Lists the statuses from which an order may move to the target status.
+     *
+     * @param target the target status
+     * @return the allowed source statuses, empty if no status leads to the target
+     */
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Resolves an order status from its request parameter value.
+     *
+     * @param param the request parameter value, e.g. "shipped"
+     * @return the matching order status
+     * @throws IllegalArgumentException if the value is not an order status
+     */
+    public static OrderStatus fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(status -> status.name().equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported order status: " + param
+                        + ". Supported statuses are " + Arrays.toString(values())));
+    }
+}
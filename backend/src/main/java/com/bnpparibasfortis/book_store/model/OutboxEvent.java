@@ -0,0 +1,36 @@
+package com.bnpparibasfortis.book_store.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event waiting in the transactional outbox to be published to downstream systems.
+ * The row is written in the transaction of the change it describes, so the event exists
+ * exactly when the change is committed; the relay deletes it once published.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String aggregateType;
+    private Long aggregateId;
+    private String eventType;
+    private String payload;
+    private LocalDateTime createdAt;
+}
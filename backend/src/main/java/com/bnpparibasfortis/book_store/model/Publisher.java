@@ -1,22 +1,22 @@
 package com.bnpparibasfortis.book_store.model;
 
-import jakarta.persistence.CascadeType;
+import com.bnpparibasfortis.book_store.config.CacheConfig;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
 @Table(name = "publisher")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.PUBLISHER_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,7 +29,4 @@ public class Publisher {
     private String name;
     private String address;
     private String website;
-
-    @OneToMany(mappedBy = "publisher", cascade = CascadeType.ALL)
-    private List<Book> books = new ArrayList<>();
 }
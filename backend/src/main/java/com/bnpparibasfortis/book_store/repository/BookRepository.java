@@ -1,10 +1,80 @@
 package com.bnpparibasfortis.book_store.repository;
 
 import com.bnpparibasfortis.book_store.model.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
     Optional<Book> findByIsbn(String isbn);
+
+    /*
+     * Catalog read queries fetch the publisher in the same statement. Unpaged reads also fetch the
+     * authors; paged reads leave them to the batch fetch on Book.authors, so LIMIT stays in SQL.
+     * These and the keyset queries below are cacheable, so repeated reads are served from the
+     * second-level cache.
+     */
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Book.GRAPH_WITH_PUBLISHER_AND_AUTHORS)
+    @Query("SELECT b FROM Book b")
+    List<Book> findAllWithDetails();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Book.GRAPH_WITH_PUBLISHER_AND_AUTHORS)
+    Optional<Book> findWithDetailsById(Long id);
+
+    /*
+     * Keyset pagination queries. Each query continues strictly after the (sort value, id) pair
+     * of the previous page. NULL sort values come first in ascending order on MySQL, so a NULL
+     * cursor value continues with the remaining NULL rows and then every non-NULL row.
+     */
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Book.GRAPH_WITH_PUBLISHER)
+    List<Book> findAllBy(Sort sort, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Book.GRAPH_WITH_PUBLISHER)
+    @Query("SELECT b FROM Book b WHERE b.id > :id ORDER BY b.id ASC")
+    List<Book> findPageAfterId(@Param("id") Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Book.GRAPH_WITH_PUBLISHER)
+    @Query("""
+            SELECT b FROM Book b
+            WHERE b.title > :title OR (b.title = :title AND b.id > :id)
+               OR (:title IS NULL AND (b.title IS NOT NULL OR b.id > :id))
+            ORDER BY b.title ASC, b.id ASC""")
+    List<Book> findPageAfterTitle(@Param("title") String title, @Param("id") Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Book.GRAPH_WITH_PUBLISHER)
+    @Query("""
+            SELECT b FROM Book b
+            WHERE b.price > :price OR (b.price = :price AND b.id > :id)
+               OR (:price IS NULL AND (b.price IS NOT NULL OR b.id > :id))
+            ORDER BY b.price ASC, b.id ASC""")
+    List<Book> findPageAfterPrice(@Param("price") BigDecimal price, @Param("id") Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Book.GRAPH_WITH_PUBLISHER)
+    @Query("""
+            SELECT b FROM Book b
+            WHERE b.publishedDate > :publishedDate OR (b.publishedDate = :publishedDate AND b.id > :id)
+               OR (:publishedDate IS NULL AND (b.publishedDate IS NOT NULL OR b.id > :id))
+            ORDER BY b.publishedDate ASC, b.id ASC""")
+    List<Book> findPageAfterPublishedDate(@Param("publishedDate") LocalDate publishedDate,
+                                          @Param("id") Long id, Limit limit);
 }
@@ -0,0 +1,38 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inventory operations of {@link BookRepository} that are issued as plain JDBC batches
+ * rather than through the persistence context.
+ */
+public interface BookRepositoryCustom {
+
+    /**
+     * Decrements the stock of every book in one JDBC batch.
+     * Each update is guarded by {@code stock_quantity >= quantity}, so stock never goes negative
+     * and concurrent checkouts cannot oversell without any read-modify-write or row lock held by the caller.
+     *
+     * @param adjustments the books and quantities to decrement
+     * @return for each adjustment, true if the stock was decremented, false if it was insufficient
+     */
+    boolean[] decrementStock(List<StockAdjustment> adjustments);
+
+    /**
+     * Locks the given books until the end of the current transaction and reads their stock.
+     * All rows are locked by one {@code SELECT ... ORDER BY id FOR UPDATE}, so concurrent callers
+     * acquire the locks of overlapping books in the same order and cannot deadlock each other.
+     *
+     * @param bookIds the IDs of the books to lock
+     * @return the stock of each locked book by book ID; books that do not exist are absent
+     */
+    Map<Long, Integer> lockStock(List<Long> bookIds);
+
+    /**
+     * Increments the stock of every book in one JDBC batch, e.g. to return the units of cancelled orders.
+     *
+     * @param adjustments the books and quantities to increment, preferably one per book in book ID order
+     */
+    void incrementStock(List<StockAdjustment> adjustments);
+}
@@ -0,0 +1,120 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.model.Book;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of the {@link BookRepositoryCustom} inventory operations.
+ * Runs in the caller's transaction, since the JPA transaction manager exposes its connection to JdbcTemplate.
+ */
+class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE book SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?";
+    private static final String INCREMENT_STOCK_SQL =
+            "UPDATE book SET stock_quantity = stock_quantity + ? WHERE id = ?";
+    private static final String LOCK_STOCK_SQL =
+            "SELECT id, stock_quantity FROM book WHERE id IN (%s) ORDER BY id FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    BookRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public boolean[] decrementStock(List<StockAdjustment> adjustments) {
+        int[] updateCounts = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StockAdjustment adjustment = adjustments.get(i);
+                ps.setInt(1, adjustment.quantity());
+                ps.setLong(2, adjustment.bookId());
+                ps.setInt(3, adjustment.quantity());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return adjustments.size();
+            }
+        });
+
+        evictFromSecondLevelCache(adjustments.stream().map(StockAdjustment::bookId).toList());
+
+        // Anything but exactly one updated row (including SUCCESS_NO_INFO) is treated as not decremented
+        boolean[] decremented = new boolean[updateCounts.length];
+        for (int i = 0; i < updateCounts.length; i++) {
+            decremented[i] = updateCounts[i] == 1;
+        }
+        return decremented;
+    }
+
+    @Override
+    public Map<Long, Integer> lockStock(List<Long> bookIds) {
+        Map<Long, Integer> stock = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return stock;
+        }
+        String sql = LOCK_STOCK_SQL.formatted(String.join(", ", Collections.nCopies(bookIds.size(), "?")));
+        jdbcTemplate.query(sql, rs -> {
+            stock.put(rs.getLong("id"), rs.getInt("stock_quantity"));
+        }, bookIds.toArray());
+        return stock;
+    }
+
+    @Override
+    public void incrementStock(List<StockAdjustment> adjustments) {
+        if (adjustments.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INCREMENT_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StockAdjustment adjustment = adjustments.get(i);
+                ps.setInt(1, adjustment.quantity());
+                ps.setLong(2, adjustment.bookId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return adjustments.size();
+            }
+        });
+
+        evictFromSecondLevelCache(adjustments.stream().map(StockAdjustment::bookId).toList());
+    }
+
+    /**
+     * Evicts the updated books from the second-level cache, which JDBC updates bypass.
+     * The books are evicted again once the transaction completes, so a concurrent read
+     * cannot re-cache the pre-update stock in between.
+     *
+     * @param bookIds the IDs of the updated books
+     */
+    private void evictFromSecondLevelCache(List<Long> bookIds) {
+        Cache cache = entityManagerFactory.getCache();
+        bookIds.forEach(id -> cache.evict(Book.class, id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bookIds.forEach(id -> cache.evict(Book.class, id));
+                }
+            });
+        }
+    }
+}
@@ -2,6 +2,31 @@ package com.bnpparibasfortis.book_store.repository;
 
 import com.bnpparibasfortis.book_store.model.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface CartItemRepository extends JpaRepository<CartItem, Long> {}
+public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
+    /*
+     * Cart line upserts. Each is one statement against the (cart_id, book_id) unique key, so
+     * concurrent edits of the same line never create a second row and the cost does not depend
+     * on the size of the cart. The persistence context is cleared because it may hold the lines.
+     */
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO cart_item (cart_id, book_id, quantity) VALUES (:cartId, :bookId, :quantity)
+            ON DUPLICATE KEY UPDATE quantity = quantity + :quantity""", nativeQuery = true)
+    int addQuantity(@Param("cartId") Long cartId, @Param("bookId") Long bookId, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO cart_item (cart_id, book_id, quantity) VALUES (:cartId, :bookId, :quantity)
+            ON DUPLICATE KEY UPDATE quantity = :quantity""", nativeQuery = true)
+    int setQuantity(@Param("cartId") Long cartId, @Param("bookId") Long bookId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id = :cartId")
+    int deleteByCartId(@Param("cartId") Long cartId);
+}
@@ -1,14 +1,24 @@
 package com.bnpparibasfortis.book_store.repository;
 
 import com.bnpparibasfortis.book_store.model.Cart;
-import com.bnpparibasfortis.book_store.model.Customer;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface CartRepository extends JpaRepository<Cart, Long> {
-    Optional<Cart> findByCustomerId(Long customerId);
+    /*
+     * Loads the cart with its items, their books and the book publishers in one statement. The
+     * authors are left to the batch fetch on Book.authors: joining a second collection to the
+     * item list would repeat each item once per author of its book.
+     */
 
-    Optional<Cart> findByCustomer(Customer customer);
+    @EntityGraph(Cart.GRAPH_WITH_ITEMS_AND_BOOKS)
+    Optional<Cart> findWithItemsByCustomerId(Long customerId);
+
+    @Query("SELECT c.id FROM Cart c WHERE c.customer.id = :customerId")
+    Optional<Long> findIdByCustomerId(@Param("customerId") Long customerId);
 }
 
@@ -1,5 +1,6 @@
 package com.bnpparibasfortis.book_store.repository;
 
+import com.bnpparibasfortis.book_store.dto.LoginSummaryDto;
 import com.bnpparibasfortis.book_store.model.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,8 +13,18 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findByUsername(String name);
 
-    @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.orders WHERE c.username = :username")
-    Optional<Customer> findByUsernameWithOrders(@Param("username") String username);
-
     Customer findCustomerById(Long id);
+
+    /*
+     * Login payload of a customer in one statement. The order and cart item counts are
+     * index-only subqueries, so neither orders nor cart items are loaded.
+     */
+    @Query("""
+            SELECT new com.bnpparibasfortis.book_store.dto.LoginSummaryDto(
+                c.id, c.username, c.name, c.role,
+                (SELECT COUNT(o) FROM Order o WHERE o.customer = c),
+                (SELECT COUNT(i) FROM CartItem i WHERE i.cart.customer = c))
+            FROM Customer c
+            WHERE c.username = :username""")
+    Optional<LoginSummaryDto> findLoginSummaryByUsername(@Param("username") String username);
 }
@@ -0,0 +1,34 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    /*
+     * Reads only the stored response, with one lookup on the (customer_id, idempotency_key) unique index.
+     */
+
+    @Query("""
+            SELECT k.responseBody FROM IdempotencyKey k
+            WHERE k.customerId = :customerId AND k.idempotencyKey = :idempotencyKey""")
+    Optional<String> findResponseBody(@Param("customerId") Long customerId,
+                                      @Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyKey k SET k.responseBody = :responseBody
+            WHERE k.customerId = :customerId AND k.idempotencyKey = :idempotencyKey""")
+    int storeResponseBody(@Param("customerId") Long customerId, @Param("idempotencyKey") String idempotencyKey,
+                          @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
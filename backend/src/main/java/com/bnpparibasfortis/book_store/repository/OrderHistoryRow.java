@@ -0,0 +1,21 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the order history read model.
+ *
+ * @param orderId the ID of the order
+ * @param customerId the ID of the customer who placed the order
+ * @param orderDate the time the order was placed
+ * @param status the current status of the order
+ * @param totalPrice the total price of the order
+ * @param itemCount the number of order lines
+ * @param lineItems the JSON array of the order lines, as snapshotted at checkout
+ */
+public record OrderHistoryRow(Long orderId, Long customerId, LocalDateTime orderDate, OrderStatus status,
+                              BigDecimal totalPrice, int itemCount, String lineItems) {
+}
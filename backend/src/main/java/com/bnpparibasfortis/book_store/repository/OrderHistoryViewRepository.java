@@ -0,0 +1,93 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to the order history read model, a denormalized copy of each order's header and lines.
+ * History reads are served by the (customer_id, order_date, order_id) index of this table alone,
+ * so they never join the order, order item or book tables.
+ * Runs in the caller's transaction, since the JPA transaction manager exposes its connection to JdbcTemplate.
+ */
+@Repository
+public class OrderHistoryViewRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO order_history_view (order_id, customer_id, order_date, status, total_price, item_count, line_items)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE order_history_view SET status = :target
+            WHERE order_id IN (:ids) AND status IN (:sources)""";
+    private static final String FIND_BY_CUSTOMER_SQL = """
+            SELECT order_id, customer_id, order_date, status, total_price, item_count, line_items
+            FROM order_history_view
+            WHERE customer_id = ?
+            ORDER BY order_date DESC, order_id DESC""";
+
+    private static final RowMapper<OrderHistoryRow> ROW_MAPPER = (rs, rowNum) -> new OrderHistoryRow(
+            rs.getLong("order_id"),
+            rs.getLong("customer_id"),
+            rs.getTimestamp("order_date").toLocalDateTime(),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getBigDecimal("total_price"),
+            rs.getInt("item_count"),
+            rs.getString("line_items"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Constructs a new OrderHistoryViewRepository.
+     *
+     * @param jdbcTemplate the JDBC template running the read model statements
+     */
+    public OrderHistoryViewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Writes the read model row of a placed order.
+     *
+     * @param row the row to write
+     */
+    public void insert(OrderHistoryRow row) {
+        jdbcTemplate.update(INSERT_SQL, row.orderId(), row.customerId(), Timestamp.valueOf(row.orderDate()),
+                row.status().name(), row.totalPrice(), row.itemCount(), row.lineItems());
+    }
+
+    /**
+     * Moves the read model rows of the given orders to the target status.
+     * Mirrors the status update of the orders themselves, so it matches the same rows.
+     *
+     * @param ids the IDs of the orders to move
+     * @param sources the statuses the orders may currently have
+     * @param target the target status
+     * @return the number of updated rows
+     */
+    public int updateStatus(Collection<Long> ids, Collection<OrderStatus> sources, OrderStatus target) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("sources", sources.stream().map(OrderStatus::name).toList())
+                .addValue("target", target.name());
+        return namedParameterJdbcTemplate.update(UPDATE_STATUS_SQL, params);
+    }
+
+    /**
+     * Reads the order history of one customer, newest first.
+     *
+     * @param customerId the customer ID
+     * @return the read model rows of the customer's orders
+     */
+    public List<OrderHistoryRow> findByCustomerId(Long customerId) {
+        return jdbcTemplate.query(FIND_BY_CUSTOMER_SQL, ROW_MAPPER, customerId);
+    }
+}
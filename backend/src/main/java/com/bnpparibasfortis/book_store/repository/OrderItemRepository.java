@@ -2,6 +2,24 @@ package com.bnpparibasfortis.book_store.repository;
 
 import com.bnpparibasfortis.book_store.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {}
+import java.util.Collection;
+import java.util.List;
 
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    /*
+     * Total ordered quantity per book over a set of orders, in book ID order, so stock can be
+     * restored with one update per distinct book however many orders and lines are involved.
+     */
+    @Query("""
+            SELECT new com.bnpparibasfortis.book_store.repository.StockAdjustment(
+                oi.book.id, CAST(SUM(oi.quantity) AS Integer))
+            FROM OrderItem oi
+            WHERE oi.order.id IN :orderIds
+            GROUP BY oi.book.id
+            ORDER BY oi.book.id""")
+    List<StockAdjustment> sumQuantitiesByBook(@Param("orderIds") Collection<Long> orderIds);
+}
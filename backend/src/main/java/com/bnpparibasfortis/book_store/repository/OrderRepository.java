@@ -1,7 +1,108 @@
 package com.bnpparibasfortis.book_store.repository;
 
+import com.bnpparibasfortis.book_store.dto.AdminOrderSummaryDto;
+import com.bnpparibasfortis.book_store.dto.OrderSummaryDto;
 import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {}
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+
+    /*
+     * Every association of an order is lazy. A single order returned as a DTO is read with its items,
+     * their books and the book publishers in one statement, and the authors with one batch fetch, as
+     * for the cart. Ownership checks read no entity.
+     */
+
+    @EntityGraph(Order.GRAPH_WITH_ITEMS_AND_BOOKS)
+    Optional<Order> findWithItemsById(Long id);
+
+    boolean existsByIdAndCustomerId(Long id, Long customerId);
+
+    /*
+     * ID-only views of a customer's orders for profile and login responses, read from the
+     * orders(customer_id, order_date) index without loading any order.
+     */
+
+    @Query("SELECT o.id FROM Order o WHERE o.customer.id = :customerId ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findIdsByCustomerId(@Param("customerId") Long customerId, Limit limit);
+
+    long countByCustomerId(Long customerId);
+
+    /*
+     * Newest-first order history of one customer, served by the orders(customer_id, order_date) index.
+     * The date range bounds and the keyset cursor are optional and ignored when null.
+     */
+    @Query("""
+            SELECT new com.bnpparibasfortis.book_store.dto.OrderSummaryDto(
+                o.id, o.orderDate, o.status, o.totalPrice, SIZE(o.items))
+            FROM Order o
+            WHERE o.customer.id = :customerId
+              AND (:from IS NULL OR o.orderDate >= :from)
+              AND (:to IS NULL OR o.orderDate < :to)
+              AND (:afterDate IS NULL OR o.orderDate < :afterDate
+                   OR (o.orderDate = :afterDate AND o.id < :afterId))
+            ORDER BY o.orderDate DESC, o.id DESC""")
+    List<OrderSummaryDto> findOrderSummaries(@Param("customerId") Long customerId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("afterDate") LocalDateTime afterDate,
+                                             @Param("afterId") Long afterId,
+                                             Limit limit);
+
+    /*
+     * Administrative listing of all orders, newest first, with optional filters. Pages continue
+     * after the keyset cursor and are served by the orders(order_date) index, or by the
+     * orders(customer_id, order_date) index when filtered by customer.
+     */
+    @Query("""
+            SELECT new com.bnpparibasfortis.book_store.dto.AdminOrderSummaryDto(
+                o.id, o.customer.id, o.orderDate, o.status, o.totalPrice, SIZE(o.items))
+            FROM Order o
+            WHERE (:customerId IS NULL OR o.customer.id = :customerId)
+              AND (:status IS NULL OR o.status = :status)
+              AND (:from IS NULL OR o.orderDate >= :from)
+              AND (:to IS NULL OR o.orderDate < :to)
+              AND (:afterDate IS NULL OR o.orderDate < :afterDate
+                   OR (o.orderDate = :afterDate AND o.id < :afterId))
+            ORDER BY o.orderDate DESC, o.id DESC""")
+    List<AdminOrderSummaryDto> findAdminOrderSummaries(@Param("customerId") Long customerId,
+                                                       @Param("status") OrderStatus status,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to,
+                                                       @Param("afterDate") LocalDateTime afterDate,
+                                                       @Param("afterId") Long afterId,
+                                                       Limit limit);
+
+    /*
+     * Locks the listed orders that are currently in one of the source statuses, in ID order, and
+     * returns their IDs. Concurrent transitions of the same orders wait for the lock and then no
+     * longer see them in a source status.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids AND o.status IN :sources ORDER BY o.id")
+    List<Long> lockIdsInStatus(@Param("ids") Collection<Long> ids,
+                               @Param("sources") Collection<OrderStatus> sources);
+
+    /*
+     * Set-based status transition: moves every listed order currently in one of the source statuses
+     * to the target status in a single UPDATE. Orders in any other status are left unchanged.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :target WHERE o.id IN :ids AND o.status IN :sources")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("sources") Collection<OrderStatus> sources,
+                     @Param("target") OrderStatus target);
+}
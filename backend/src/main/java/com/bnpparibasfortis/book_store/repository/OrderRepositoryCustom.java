@@ -0,0 +1,29 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.dto.AdminOrderSummaryDto;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Order queries of {@link OrderRepository} whose JDBC settings come from the configuration
+ * rather than from a query annotation.
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Walks the filtered orders in ID order for the export.
+     * Rows are projections, so nothing accumulates in the persistence context, and they are fetched with
+     * the configured export fetch size: on MySQL the default streams them from the server one by one
+     * instead of buffering the whole result. Must be closed, within a transaction.
+     *
+     * @param customerId the customer to export the orders of, or null for all customers
+     * @param status the status to export, or null for all statuses
+     * @param from the inclusive lower bound of the order date, or null
+     * @param to the exclusive upper bound of the order date, or null
+     * @return the stream of order summaries
+     */
+    Stream<AdminOrderSummaryDto> streamAdminOrderSummaries(Long customerId, OrderStatus status,
+                                                           LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,50 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.dto.AdminOrderSummaryDto;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * JPA implementation of the {@link OrderRepositoryCustom} export query.
+ * The fetch size is set per query, so only the export streams its rows: with Connector/J a fetch size of
+ * {@link Integer#MIN_VALUE} turns on row streaming for that result set alone, and every other query of the
+ * connection pool keeps the default buffered reads.
+ */
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final String STREAM_ADMIN_ORDER_SUMMARIES_JPQL = """
+            SELECT new com.bnpparibasfortis.book_store.dto.AdminOrderSummaryDto(
+                o.id, o.customer.id, o.orderDate, o.status, o.totalPrice, SIZE(o.items))
+            FROM Order o
+            WHERE (:customerId IS NULL OR o.customer.id = :customerId)
+              AND (:status IS NULL OR o.status = :status)
+              AND (:from IS NULL OR o.orderDate >= :from)
+              AND (:to IS NULL OR o.orderDate < :to)
+            ORDER BY o.id ASC""";
+
+    private final EntityManager entityManager;
+    private final int exportFetchSize;
+
+    OrderRepositoryCustomImpl(EntityManager entityManager,
+                              @Value("${bookstore.orders.export.fetch-size:" + Integer.MIN_VALUE + "}") int exportFetchSize) {
+        this.entityManager = entityManager;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    @Override
+    public Stream<AdminOrderSummaryDto> streamAdminOrderSummaries(Long customerId, OrderStatus status,
+                                                                  LocalDateTime from, LocalDateTime to) {
+        return entityManager.createQuery(STREAM_ADMIN_ORDER_SUMMARIES_JPQL, AdminOrderSummaryDto.class)
+                .setParameter("customerId", customerId)
+                .setParameter("status", status)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .getResultStream();
+    }
+}
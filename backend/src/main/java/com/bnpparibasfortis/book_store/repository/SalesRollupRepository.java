@@ -0,0 +1,231 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.dto.SalesReportGrouping;
+import com.bnpparibasfortis.book_store.dto.SalesReportRowDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to the daily sales rollup tables, their high-water mark and the days marked dirty below it.
+ * A day is rolled up by deleting its rows and aggregating its non-cancelled orders again, so
+ * rebuilding a day is idempotent; every statement is sent as one batch covering all rebuilt days.
+ * Runs in the caller's transaction, since the JPA transaction manager exposes its connection to JdbcTemplate.
+ */
+@Repository
+public class SalesRollupRepository {
+
+    private static final String ROLLUP_NAME = "sales";
+
+    private static final String LOCK_HIGH_WATER_MARK_SQL =
+            "SELECT high_water_mark FROM sales_rollup_state WHERE rollup_name = ? FOR UPDATE";
+    private static final String UPDATE_HIGH_WATER_MARK_SQL =
+            "UPDATE sales_rollup_state SET high_water_mark = ?, refreshed_at = ? WHERE rollup_name = ?";
+    private static final String MAX_ORDER_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM orders";
+    private static final String ORDER_DAYS_SQL =
+            "SELECT DISTINCT CAST(order_date AS DATE) FROM orders WHERE id > ? AND id <= ?";
+    private static final String MARK_ORDER_DAYS_DIRTY_SQL = """
+            INSERT INTO sales_rollup_dirty_day (sales_date)
+            SELECT DISTINCT CAST(order_date AS DATE) FROM orders WHERE id IN (:ids)""";
+    private static final String FIND_DIRTY_DAYS_SQL = "SELECT id, sales_date FROM sales_rollup_dirty_day ORDER BY id";
+    private static final String DELETE_DIRTY_DAYS_SQL = "DELETE FROM sales_rollup_dirty_day WHERE id IN (:ids)";
+
+    private static final List<String> DELETE_DAY_SQL = List.of(
+            "DELETE FROM sales_daily WHERE sales_date = ?",
+            "DELETE FROM sales_daily_book WHERE sales_date = ?",
+            "DELETE FROM sales_daily_publisher WHERE sales_date = ?");
+
+    private static final List<String> INSERT_DAY_SQL = List.of("""
+            INSERT INTO sales_daily (sales_date, order_count, units, revenue)
+            SELECT CAST(o.order_date AS DATE), COUNT(DISTINCT o.id), SUM(oi.quantity), SUM(oi.price * oi.quantity)
+            FROM orders o
+            JOIN order_item oi ON oi.order_id = o.id
+            WHERE o.order_date >= ? AND o.order_date < ? AND o.status <> 'CANCELLED'
+            GROUP BY CAST(o.order_date AS DATE)""", """
+            INSERT INTO sales_daily_book (sales_date, book_id, order_count, units, revenue)
+            SELECT CAST(o.order_date AS DATE), oi.book_id, COUNT(DISTINCT o.id), SUM(oi.quantity), SUM(oi.price * oi.quantity)
+            FROM orders o
+            JOIN order_item oi ON oi.order_id = o.id
+            WHERE o.order_date >= ? AND o.order_date < ? AND o.status <> 'CANCELLED'
+            GROUP BY CAST(o.order_date AS DATE), oi.book_id""", """
+            INSERT INTO sales_daily_publisher (sales_date, publisher_id, order_count, units, revenue)
+            SELECT CAST(o.order_date AS DATE), b.publisher_id, COUNT(DISTINCT o.id), SUM(oi.quantity), SUM(oi.price * oi.quantity)
+            FROM orders o
+            JOIN order_item oi ON oi.order_id = o.id
+            JOIN book b ON b.id = oi.book_id
+            WHERE o.order_date >= ? AND o.order_date < ? AND o.status <> 'CANCELLED' AND b.publisher_id IS NOT NULL
+            GROUP BY CAST(o.order_date AS DATE), b.publisher_id""");
+
+    private static final String DAILY_REPORT_SQL = """
+            SELECT sales_date, NULL AS group_id, NULL AS group_name, order_count, units, revenue
+            FROM sales_daily
+            WHERE sales_date >= ? AND sales_date <= ?
+            ORDER BY sales_date""";
+    private static final String BOOK_REPORT_SQL = """
+            SELECT s.sales_date, s.book_id AS group_id, b.title AS group_name, s.order_count, s.units, s.revenue
+            FROM sales_daily_book s
+            LEFT JOIN book b ON b.id = s.book_id
+            WHERE s.sales_date >= ? AND s.sales_date <= ?
+            ORDER BY s.sales_date, s.book_id""";
+    private static final String PUBLISHER_REPORT_SQL = """
+            SELECT s.sales_date, s.publisher_id AS group_id, p.name AS group_name, s.order_count, s.units, s.revenue
+            FROM sales_daily_publisher s
+            LEFT JOIN publisher p ON p.id = s.publisher_id
+            WHERE s.sales_date >= ? AND s.sales_date <= ?
+            ORDER BY s.sales_date, s.publisher_id""";
+
+    private static final RowMapper<SalesReportRowDto> REPORT_ROW_MAPPER = (rs, rowNum) -> new SalesReportRowDto(
+            rs.getDate("sales_date").toLocalDate(),
+            rs.getObject("group_id") == null ? null : rs.getLong("group_id"),
+            rs.getString("group_name"),
+            rs.getLong("order_count"),
+            rs.getLong("units"),
+            rs.getBigDecimal("revenue"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Constructs a new SalesRollupRepository.
+     *
+     * @param jdbcTemplate the JDBC template running the rollup statements
+     */
+    public SalesRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Locks the rollup state until the end of the current transaction and reads its high-water mark.
+     *
+     * @return the highest order ID already rolled up
+     */
+    public long lockHighWaterMark() {
+        Long highWaterMark = jdbcTemplate.queryForObject(LOCK_HIGH_WATER_MARK_SQL, Long.class, ROLLUP_NAME);
+        return highWaterMark == null ? 0 : highWaterMark;
+    }
+
+    /**
+     * Stores the new high-water mark and the time of the refresh.
+     *
+     * @param highWaterMark the highest order ID rolled up
+     * @param refreshedAt the time of the refresh
+     */
+    public void updateHighWaterMark(long highWaterMark, LocalDateTime refreshedAt) {
+        jdbcTemplate.update(UPDATE_HIGH_WATER_MARK_SQL, highWaterMark, Timestamp.valueOf(refreshedAt), ROLLUP_NAME);
+    }
+
+    /**
+     * Marks the days of the given orders dirty, so the next refresh rebuilds them.
+     * Used when orders already rolled up change in a way that affects the rollups. Only appends rows,
+     * so it neither locks the rollup state nor waits for a running refresh.
+     *
+     * @param orderIds the IDs of the changed orders
+     */
+    public void markOrderDaysDirty(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(MARK_ORDER_DAYS_DIRTY_SQL, new MapSqlParameterSource("ids", orderIds));
+    }
+
+    /**
+     * Reads the days marked dirty and committed so far, oldest mark first.
+     *
+     * @return the dirty day marks, possibly several per day
+     */
+    public List<DirtyDay> findDirtyDays() {
+        return jdbcTemplate.query(FIND_DIRTY_DAYS_SQL,
+                (rs, rowNum) -> new DirtyDay(rs.getLong("id"), rs.getDate("sales_date").toLocalDate()));
+    }
+
+    /**
+     * Removes dirty day marks once their days are rebuilt. Marks added after they were read are kept.
+     *
+     * @param marks the marks read by {@link #findDirtyDays()}
+     */
+    public void clearDirtyDays(Collection<DirtyDay> marks) {
+        if (marks.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(DELETE_DIRTY_DAYS_SQL,
+                new MapSqlParameterSource("ids", marks.stream().map(DirtyDay::id).toList()));
+    }
+
+    /**
+     * Reads the highest order ID.
+     *
+     * @return the highest order ID, or 0 if there are no orders
+     */
+    public long findMaxOrderId() {
+        Long maxOrderId = jdbcTemplate.queryForObject(MAX_ORDER_ID_SQL, Long.class);
+        return maxOrderId == null ? 0 : maxOrderId;
+    }
+
+    /**
+     * Lists the days on which the orders in an ID range were placed.
+     *
+     * @param afterOrderId the exclusive lower bound of the order IDs
+     * @param toOrderId the inclusive upper bound of the order IDs
+     * @return the distinct order days
+     */
+    public List<LocalDate> findOrderDays(long afterOrderId, long toOrderId) {
+        return jdbcTemplate.queryForList(ORDER_DAYS_SQL, Date.class, afterOrderId, toOrderId).stream()
+                .map(Date::toLocalDate)
+                .toList();
+    }
+
+    /**
+     * Rebuilds the rollup rows of the given days from their orders.
+     *
+     * @param days the days to rebuild
+     */
+    public void rebuildDays(Collection<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        List<Object[]> dayArgs = days.stream()
+                .map(day -> new Object[]{Date.valueOf(day)})
+                .toList();
+        List<Object[]> rangeArgs = days.stream()
+                .map(day -> new Object[]{Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay())})
+                .toList();
+        DELETE_DAY_SQL.forEach(sql -> jdbcTemplate.batchUpdate(sql, dayArgs));
+        INSERT_DAY_SQL.forEach(sql -> jdbcTemplate.batchUpdate(sql, rangeArgs));
+    }
+
+    /**
+     * Reads the rollup rows of a grouping over an inclusive range of days.
+     *
+     * @param grouping the grouping of the report
+     * @param from the first day
+     * @param to the last day
+     * @return the rollup rows ordered by day and group ID
+     */
+    public List<SalesReportRowDto> findReport(SalesReportGrouping grouping, LocalDate from, LocalDate to) {
+        String sql = switch (grouping) {
+            case DAY -> DAILY_REPORT_SQL;
+            case BOOK -> BOOK_REPORT_SQL;
+            case PUBLISHER -> PUBLISHER_REPORT_SQL;
+        };
+        return jdbcTemplate.query(sql, REPORT_ROW_MAPPER, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * A day marked dirty below the high-water mark.
+     *
+     * @param id the ID of the mark
+     * @param day the day to rebuild
+     */
+    public record DirtyDay(long id, LocalDate day) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.bnpparibasfortis.book_store.repository;
+
+/**
+ * A stock quantity change for one book, applied by a set-based inventory update.
+ *
+ * @param bookId the ID of the book
+ * @param quantity the number of units to adjust the stock by
+ */
+public record StockAdjustment(Long bookId, int quantity) {
+}
@@ -0,0 +1,16 @@
+package com.bnpparibasfortis.book_store.security;
+
+import com.bnpparibasfortis.book_store.model.Customer;
+
+import java.time.Instant;
+
+/**
+ * Claims carried by a signed access token.
+ *
+ * @param customerId the ID of the authenticated customer
+ * @param username the username of the authenticated customer
+ * @param role the role of the customer when the token was issued
+ * @param expiresAt the instant after which the token is rejected
+ */
+public record AccessToken(Long customerId, String username, Customer.Role role, Instant expiresAt) {
+}
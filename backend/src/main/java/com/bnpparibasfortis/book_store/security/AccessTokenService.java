@@ -0,0 +1,159 @@
+package com.bnpparibasfortis.book_store.security;
+
+import com.bnpparibasfortis.book_store.model.Customer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies short-lived access tokens for stateless authentication.
+ * A token is {@code payload.signature}, both base64url encoded, where the payload holds the customer ID,
+ * role, expiry and username and the signature is an HMAC-SHA256 of the encoded payload.
+ * Verification is pure computation: no database access and no password hashing.
+ * Role and status changes take effect for a customer once their current token expires.
+ */
+@Component
+public class AccessTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+
+    /**
+     * Constructs a new AccessTokenService.
+     * With token mode enabled a secret is required, since a random one would neither survive a restart
+     * nor be accepted by other nodes. With token mode disabled no token is ever issued, and a blank
+     * secret is replaced by a random one.
+     *
+     * @param enabled whether the stateless token mode is enabled
+     * @param secret the shared signing secret, blank only while token mode is disabled
+     * @param ttl the lifetime of issued tokens
+     * @throws IllegalStateException if token mode is enabled without a secret
+     */
+    @Autowired
+    public AccessTokenService(@Value("${bookstore.security.token.enabled:false}") boolean enabled,
+                              @Value("${bookstore.security.token.secret:}") String secret,
+                              @Value("${bookstore.security.token.ttl:15m}") Duration ttl) {
+        this(requireSecretWhenEnabled(enabled, secret), ttl, Clock.systemUTC());
+    }
+
+    AccessTokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(secretBytes(secret), HMAC_ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Issues a token for the given customer.
+     *
+     * @param customer the authenticated customer
+     * @return the signed token
+     */
+    public String issue(Customer customer) {
+        return issue(customer.getId(), customer.getRole(), customer.getUsername());
+    }
+
+    /**
+     * Issues a token for the customer with the given claims.
+     *
+     * @param customerId the ID of the authenticated customer
+     * @param role the role of the customer
+     * @param username the username of the customer
+     * @return the signed token
+     */
+    public String issue(Long customerId, Customer.Role role, String username) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        String payload = customerId + ":" + role.name() + ":"
+                + expiresAt.getEpochSecond() + ":" + username;
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload));
+    }
+
+    /**
+     * Verifies a token and extracts its claims.
+     *
+     * @param token the token presented by the client
+     * @return the claims, or empty if the token is malformed, forged or expired
+     */
+    public Optional<AccessToken> verify(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        String encodedPayload = token.substring(0, separator);
+        try {
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(signature, sign(encodedPayload))) {
+                return Optional.empty();
+            }
+            String[] parts = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length != 4) {
+                return Optional.empty();
+            }
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[2]));
+            if (!clock.instant().isBefore(expiresAt)) {
+                return Optional.empty();
+            }
+            return Optional.of(new AccessToken(Long.valueOf(parts[0]), parts[3],
+                    Customer.Role.valueOf(parts[1]), expiresAt));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the lifetime of issued tokens.
+     *
+     * @return the token lifetime
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+
+    private static String requireSecretWhenEnabled(boolean enabled, String secret) {
+        if (enabled && (secret == null || secret.isBlank())) {
+            throw new IllegalStateException("bookstore.security.token.secret (AUTH_TOKEN_SECRET) must be set "
+                    + "when bookstore.security.token.enabled is true: tokens are verified by every node");
+        }
+        return secret;
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalArgumentException("bookstore.security.token.secret must be at least 32 bytes");
+        }
+        return bytes;
+    }
+}
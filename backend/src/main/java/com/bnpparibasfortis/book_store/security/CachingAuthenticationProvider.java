@@ -0,0 +1,71 @@
+package com.bnpparibasfortis.book_store.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Authentication provider that skips the user lookup and BCrypt match for credentials
+ * verified recently by the delegate provider.
+ * Only successful verifications are cached; failures always reach the delegate.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final CredentialCache credentialCache;
+
+    /**
+     * Constructs a new CachingAuthenticationProvider.
+     *
+     * @param delegate the provider that performs the actual credential verification
+     * @param credentialCache the cache of successful verifications
+     */
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, CredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.credentialCache = credentialCache;
+    }
+
+    /**
+     * Authenticates the request from the cache when the same credentials were verified recently,
+     * otherwise through the delegate, caching the result on success.
+     *
+     * @param authentication the authentication request
+     * @return the authenticated token
+     * @throws AuthenticationException if the delegate rejects the credentials
+     */
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || !(credentials instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        UserDetails cached = credentialCache.get(username, password);
+        if (cached != null) {
+            UsernamePasswordAuthenticationToken result =
+                    UsernamePasswordAuthenticationToken.authenticated(cached, null, cached.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.getPrincipal() instanceof UserDetails user) {
+            credentialCache.put(username, password, user);
+        }
+        return result;
+    }
+
+    /**
+     * Supports the same authentication types as the delegate.
+     *
+     * @param authentication the authentication type
+     * @return true if the delegate supports it
+     */
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
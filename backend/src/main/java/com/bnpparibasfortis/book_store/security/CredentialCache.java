@@ -0,0 +1,113 @@
+package com.bnpparibasfortis.book_store.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Bounded, short-lived cache of successful credential verifications.
+ * Entries are keyed on an HMAC-SHA256 of username and password under a random per-process key,
+ * so neither the password nor a reusable password hash is ever held in memory.
+ * Entries must be invalidated when a customer's status, role or password changes; the TTL bounds
+ * how long a change made outside this process (e.g. on another node) can go unnoticed.
+ */
+@Component
+public class CredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, UserDetails> verified;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Constructs a new CredentialCache with the given bounds.
+     *
+     * @param maxSize the maximum number of cached verifications
+     * @param ttl the time a verification stays valid after it was made
+     */
+    public CredentialCache(@Value("${bookstore.security.credential-cache.max-size:10000}") long maxSize,
+                           @Value("${bookstore.security.credential-cache.ttl:60s}") Duration ttl) {
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    /**
+     * Returns the user verified earlier with exactly these credentials, if still cached.
+     *
+     * @param username the username
+     * @param password the raw password
+     * @return the verified user details, or null if not cached
+     */
+    public UserDetails get(String username, String password) {
+        return verified.getIfPresent(key(username, password));
+    }
+
+    /**
+     * Records a successful verification of the given credentials.
+     *
+     * @param username the username
+     * @param password the raw password
+     * @param user the verified user details, with credentials already erased
+     */
+    public void put(String username, String password, UserDetails user) {
+        verified.put(key(username, password), user);
+    }
+
+    /**
+     * Drops every cached verification of the given user.
+     * Inside a transaction the entries are dropped again after completion, so a verification
+     * made concurrently against the not yet committed row does not survive the change.
+     *
+     * @param username the username whose status, role or password changed
+     */
+    public void invalidate(String username) {
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    private void evict(String username) {
+        verified.asMap().values().removeIf(user -> user.getUsername().equals(username));
+    }
+
+    private String key(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+}
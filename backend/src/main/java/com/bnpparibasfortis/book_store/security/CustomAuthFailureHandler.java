@@ -2,7 +2,7 @@ package com.bnpparibasfortis.book_store.security;
 
 import com.bnpparibasfortis.book_store.dto.ApiResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
@@ -13,7 +13,16 @@ import org.springframework.security.web.authentication.AuthenticationFailureHand
 import java.io.IOException;
 
 public class CustomAuthFailureHandler implements AuthenticationFailureHandler {
-    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ObjectWriter responseWriter;
+
+    /**
+     * Constructs a new CustomAuthFailureHandler.
+     *
+     * @param objectMapper the application object mapper, used for the error response
+     */
+    public CustomAuthFailureHandler(ObjectMapper objectMapper) {
+        this.responseWriter = objectMapper.writerFor(ApiResponse.class);
+    }
 
     @Override
     public void onAuthenticationFailure(
@@ -25,6 +34,6 @@ public class CustomAuthFailureHandler implements AuthenticationFailureHandler {
 
         response.setStatus(HttpStatus.UNAUTHORIZED.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        objectMapper.writeValue(response.getWriter(), errorResponse);
+        responseWriter.writeValue(response.getWriter(), errorResponse);
     }
 }
@@ -1,12 +1,11 @@
 package com.bnpparibasfortis.book_store.security;
 
+import com.bnpparibasfortis.book_store.dto.AccessTokenDto;
 import com.bnpparibasfortis.book_store.dto.ApiResponse;
-import com.bnpparibasfortis.book_store.dto.CustomerDto;
-import com.bnpparibasfortis.book_store.mapper.CustomerMapper;
+import com.bnpparibasfortis.book_store.dto.LoginSummaryDto;
 import com.bnpparibasfortis.book_store.service.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
@@ -18,12 +17,21 @@ import java.io.IOException;
 
 public class CustomAuthSuccessHandler implements AuthenticationSuccessHandler {
     private final CustomerService customerService;
-    private final CustomerMapper customerMapper;
-    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AccessTokenService accessTokenService;
+    private final ObjectWriter responseWriter;
 
-    public CustomAuthSuccessHandler(CustomerService customerService, CustomerMapper customerMapper) {
+    /**
+     * Constructs a new CustomAuthSuccessHandler.
+     *
+     * @param customerService the service loading the login summary of the customer
+     * @param objectMapper the application object mapper, used for the login response
+     * @param accessTokenService the service issuing access tokens, or null when the token mode is disabled
+     */
+    public CustomAuthSuccessHandler(CustomerService customerService, ObjectMapper objectMapper,
+                                    AccessTokenService accessTokenService) {
         this.customerService = customerService;
-        this.customerMapper = customerMapper;
+        this.accessTokenService = accessTokenService;
+        this.responseWriter = objectMapper.writerFor(ApiResponse.class);
     }
 
     @Override
@@ -31,15 +39,16 @@ public class CustomAuthSuccessHandler implements AuthenticationSuccessHandler {
             HttpServletRequest request,
             HttpServletResponse response,
             Authentication authentication) throws IOException {
-        String username = authentication.getName();
-        var customer = customerService.getCustomerWithOrdersByUsername(username);
-        CustomerDto dto = customerMapper.toDto(customer);
+        LoginSummaryDto summary = customerService.getLoginSummary(authentication.getName());
 
-        var authResponse = ApiResponse.success("Login successful", dto);
+        var authResponse = accessTokenService == null
+                ? ApiResponse.success("Login successful", summary)
+                : ApiResponse.success("Login successful", new AccessTokenDto(
+                        accessTokenService.issue(summary.getId(), summary.getRole(), summary.getUsername()),
+                        "Bearer", accessTokenService.getTtl().toSeconds(), summary));
 
         response.setStatus(HttpStatus.OK.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.writeValue(response.getWriter(), authResponse);
+        responseWriter.writeValue(response.getWriter(), authResponse);
     }
 }
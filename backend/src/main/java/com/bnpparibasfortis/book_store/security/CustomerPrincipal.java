@@ -0,0 +1,114 @@
+package com.bnpparibasfortis.book_store.security;
+
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Authenticated customer as seen by Spring Security.
+ * Carries the customer ID and role so that controllers and services can act on the
+ * current customer without looking it up by username on every request.
+ * Like Spring Security's {@code User}, principals are equal when their usernames are, which is
+ * what the session registry relies on to limit the sessions per customer.
+ */
+public class CustomerPrincipal implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String username;
+    private String password;
+    private final Customer.Role role;
+    private final boolean active;
+
+    /**
+     * Constructs a new CustomerPrincipal.
+     *
+     * @param id the customer ID
+     * @param username the username
+     * @param password the encoded password, or null once erased or when authenticated by token
+     * @param role the customer role
+     * @param active whether the customer account is active
+     */
+    public CustomerPrincipal(Long id, String username, String password, Customer.Role role, boolean active) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.active = active;
+    }
+
+    /**
+     * Creates the principal of a customer loaded from the database.
+     *
+     * @param customer the customer
+     * @return the principal
+     */
+    public static CustomerPrincipal from(Customer customer) {
+        return new CustomerPrincipal(customer.getId(), customer.getUsername(), customer.getPassword(),
+                customer.getRole(), customer.getStatus() == CustomerStatus.ACTIVE);
+    }
+
+    /**
+     * Creates the principal of a customer authenticated by a verified access token.
+     *
+     * @param token the verified token claims
+     * @return the principal
+     */
+    public static CustomerPrincipal from(AccessToken token) {
+        return new CustomerPrincipal(token.customerId(), token.username(), null, token.role(), true);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Customer.Role getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return active;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CustomerPrincipal principal && Objects.equals(username, principal.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(username);
+    }
+}
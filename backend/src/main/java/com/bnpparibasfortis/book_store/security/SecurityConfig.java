@@ -1,13 +1,19 @@
 package com.bnpparibasfortis.book_store.security;
 
-import com.bnpparibasfortis.book_store.mapper.CustomerMapper;
+import com.bnpparibasfortis.book_store.repository.CustomerRepository;
+import com.bnpparibasfortis.book_store.service.CustomUserDetailsService;
 import com.bnpparibasfortis.book_store.service.CustomerService;
 import com.bnpparibasfortis.book_store.util.AppConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -15,6 +21,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,36 +32,75 @@ import java.util.Arrays;
 /**
  * Security configuration for the Bookstore API.
  * Configures HTTP security with basic authentication and session management.
+ * With {@code bookstore.security.token.enabled} the API is stateless instead: login issues a signed
+ * access token and requests authenticate with it, so no HttpSession is created on any node.
+ * Anonymous catalog reads are served by a separate, session-free chain ahead of the main one.
  */
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    /**
+     * Defines the security filter chain for public catalog reads, matched before the main chain.
+     * Catalog reads need no authentication, so this chain skips the session lookup, the security
+     * context persistence, the request cache and every authentication filter.
+     *
+     * @param http the HttpSecurity to modify
+     * @return the configured SecurityFilterChain
+     * @throws Exception on configuration error
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicCatalogFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, AppConstants.CATALOG_URL))
+                .cors(AbstractHttpConfigurer::disable)
+                .csrf(AbstractHttpConfigurer::disable)
+                .securityContext(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(AbstractHttpConfigurer::disable)
+                .anonymous(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+        return http.build();
+    }
+
     /**
      * Defines the security filter chain for the application.
      *
      * @param http the HttpSecurity to modify
+     * @param authenticationManager the authentication manager verifying credentials
+     * @param tokenEnabled whether the stateless token mode is enabled
+     * @param accessTokenService the service verifying access tokens
      * @return the configured SecurityFilterChain
      * @throws Exception on configuration error
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http,
                                                    CustomAuthSuccessHandler customAuthSuccessHandler,
-                                                   CustomAuthFailureHandler customAuthFailureHandler) throws Exception {
+                                                   CustomAuthFailureHandler customAuthFailureHandler,
+                                                   AuthenticationManager authenticationManager,
+                                                   @Value("${bookstore.security.token.enabled:false}") boolean tokenEnabled,
+                                                   AccessTokenService accessTokenService) throws Exception {
         http
+                .authenticationManager(authenticationManager)
                 .cors(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(HttpMethod.GET, "/api/books/**").permitAll()
                         .requestMatchers(AppConstants.REGISTER_URL, AppConstants.LOGIN_URL).permitAll()
                         .requestMatchers("/api/admin/**").hasRole(AppConstants.ADMIN)
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole(AppConstants.ADMIN)
                         .anyRequest().authenticated()
                 )
-                .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
-                        .maximumSessions(1)
-                        .maxSessionsPreventsLogin(false)
-                )
+                .sessionManagement(session -> {
+                    if (tokenEnabled) {
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+                    } else {
+                        session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
+                                .maximumSessions(1)
+                                .maxSessionsPreventsLogin(false);
+                    }
+                })
                 .httpBasic(httpBasic -> {})
                 .formLogin(form -> form
                         .loginProcessingUrl(AppConstants.LOGIN_URL)
@@ -66,27 +113,35 @@ public class SecurityConfig {
                         .invalidateHttpSession(true)
                         .deleteCookies("JSESSIONID")
                 );
+        if (tokenEnabled) {
+            http.addFilterBefore(new TokenAuthenticationFilter(accessTokenService), UsernamePasswordAuthenticationFilter.class);
+        }
         return http.build();
     }
 
     /**
      * customAuthFailureHandler bean for handling failed authentication.
      *
+     * @param objectMapper the application object mapper
      * @return customAuthFailureHandler instance
      */
     @Bean
-    public CustomAuthFailureHandler customAuthFailureHandler() {
-        return new CustomAuthFailureHandler();
+    public CustomAuthFailureHandler customAuthFailureHandler(ObjectMapper objectMapper) {
+        return new CustomAuthFailureHandler(objectMapper);
     }
 
     /**
      * customAuthSuccessHandler bean for handling successful authentication.
      *
+     * @param objectMapper the application object mapper
+     * @param tokenEnabled whether login responses carry an access token
      * @return CustomAuthSuccessHandler instance
      */
     @Bean
-    public CustomAuthSuccessHandler customAuthSuccessHandler(CustomerService customerService, CustomerMapper customerMapper) {
-        return new CustomAuthSuccessHandler(customerService, customerMapper);
+    public CustomAuthSuccessHandler customAuthSuccessHandler(CustomerService customerService, ObjectMapper objectMapper,
+                                                             AccessTokenService accessTokenService,
+                                                             @Value("${bookstore.security.token.enabled:false}") boolean tokenEnabled) {
+        return new CustomAuthSuccessHandler(customerService, objectMapper, tokenEnabled ? accessTokenService : null);
     }
 
 
@@ -101,15 +156,33 @@ public class SecurityConfig {
     }
 
     /**
-     * Authentication manager bean for handling authentication.
+     * Authentication provider bean verifying credentials against the customer table.
+     * Successful verifications are cached briefly so that HTTP Basic clients, which send
+     * their credentials on every request, do not pay a BCrypt match per request.
+     *
+     * @param customerRepository the repository the customers are loaded from
+     * @param passwordEncoder the encoder verifying passwords
+     * @param credentialCache the cache of successful verifications
+     * @return AuthenticationProvider instance
+     */
+    @Bean
+    public AuthenticationProvider authenticationProvider(CustomerRepository customerRepository,
+                                                         PasswordEncoder passwordEncoder,
+                                                         CredentialCache credentialCache) {
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider(new CustomUserDetailsService(customerRepository));
+        daoProvider.setPasswordEncoder(passwordEncoder);
+        return new CachingAuthenticationProvider(daoProvider, credentialCache);
+    }
+
+    /**
+     * Authentication manager bean for handling authentication, with the caching provider as its only provider.
      *
-     * @param config the authentication configuration
+     * @param authenticationProvider the caching authentication provider
      * @return AuthenticationManager instance
-     * @throws Exception on configuration error
      */
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(AuthenticationProvider authenticationProvider) {
+        return new ProviderManager(authenticationProvider);
     }
 
     @Bean
@@ -117,7 +190,7 @@ public class SecurityConfig {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOrigins(Arrays.asList("http://localhost:3000"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type"));
+        config.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type", AppConstants.IDEMPOTENCY_KEY_HEADER));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
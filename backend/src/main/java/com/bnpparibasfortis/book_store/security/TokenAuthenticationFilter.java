@@ -0,0 +1,64 @@
+package com.bnpparibasfortis.book_store.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying an {@code Authorization: Bearer} access token.
+ * Requests without a valid token pass through unauthenticated and are handled by the
+ * remaining authentication mechanisms and the authorization rules.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AccessTokenService accessTokenService;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    /**
+     * Constructs a new TokenAuthenticationFilter.
+     *
+     * @param accessTokenService the service verifying access tokens
+     */
+    public TokenAuthenticationFilter(AccessTokenService accessTokenService) {
+        this.accessTokenService = accessTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            accessTokenService.verify(header.substring(BEARER_PREFIX.length()).trim())
+                    .ifPresent(token -> authenticate(request, token));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Stores an authentication built from the token claims in the security context.
+     *
+     * @param request the current request
+     * @param token the verified token claims
+     */
+    private void authenticate(HttpServletRequest request, AccessToken token) {
+        CustomerPrincipal principal = CustomerPrincipal.from(token);
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        authentication.setDetails(detailsSource.buildDetails(request));
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+}
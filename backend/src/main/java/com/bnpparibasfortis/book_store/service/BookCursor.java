@@ -0,0 +1,87 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.BookSortField;
+import com.bnpparibasfortis.book_store.model.Book;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset cursor for the paginated book catalog.
+ * A cursor holds the sort key, the sort value and the ID of the last book of a page,
+ * encoded as an opaque URL-safe string.
+ *
+ * @param sort the sort key the cursor was issued for
+ * @param value the sort value of the last book, may be null
+ * @param id the ID of the last book
+ */
+record BookCursor(BookSortField sort, String value, Long id) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Builds the cursor pointing after the given book.
+     *
+     * @param sort the sort key of the listing
+     * @param book the last book of the current page
+     * @return the cursor for the next page
+     */
+    static BookCursor after(BookSortField sort, Book book) {
+        Object value = switch (sort) {
+            case TITLE -> book.getTitle();
+            case PRICE -> book.getPrice();
+            case PUBLISHED_DATE -> book.getPublishedDate();
+            case ID -> null;
+        };
+        return new BookCursor(sort, value == null ? null : value.toString(), book.getId());
+    }
+
+    /**
+     * Encodes the cursor into an opaque URL-safe string.
+     *
+     * @return the encoded cursor
+     */
+    String encode() {
+        String payload = sort.getParam() + SEPARATOR + id + (value == null ? "" : SEPARATOR + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously issued for the given sort key.
+     *
+     * @param encoded the encoded cursor
+     * @param expectedSort the sort key of the current request
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort key
+     */
+    static BookCursor decode(String encoded, BookSortField expectedSort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + encoded);
+        }
+        if (parts.length < 2 || !expectedSort.getParam().equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor for sort key: " + expectedSort.getParam());
+        }
+        try {
+            BookCursor cursor = new BookCursor(expectedSort, parts.length == 3 ? parts[2] : null, Long.valueOf(parts[1]));
+            cursor.priceValue();
+            cursor.publishedDateValue();
+            return cursor;
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + encoded);
+        }
+    }
+
+    BigDecimal priceValue() {
+        return sort != BookSortField.PRICE || value == null ? null : new BigDecimal(value);
+    }
+
+    LocalDate publishedDateValue() {
+        return sort != BookSortField.PUBLISHED_DATE || value == null ? null : LocalDate.parse(value);
+    }
+}
@@ -1,5 +1,8 @@
 package com.bnpparibasfortis.book_store.service;
 
+import com.bnpparibasfortis.book_store.dto.BookSearchHitDto;
+import com.bnpparibasfortis.book_store.dto.BookSortField;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
 import com.bnpparibasfortis.book_store.exception.BookNotFoundException;
 import com.bnpparibasfortis.book_store.model.Author;
 import com.bnpparibasfortis.book_store.model.Book;
@@ -7,6 +10,8 @@ import com.bnpparibasfortis.book_store.model.Publisher;
 import com.bnpparibasfortis.book_store.repository.AuthorRepository;
 import com.bnpparibasfortis.book_store.repository.BookRepository;
 import com.bnpparibasfortis.book_store.repository.PublisherRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +29,7 @@ public class BookService {
     private final BookRepository bookRepository;
     private final PublisherRepository publisherRepository;
     private final AuthorRepository authorRepository;
+    private final CatalogSearchIndex catalogSearchIndex;
 
     /**
      * Constructs a new BookService with the required repository dependencies.
@@ -31,25 +37,66 @@ public class BookService {
      * @param bookRepository the repository for book data access
      * @param publisherRepository the repository for publisher data access
      * @param authorRepository the repository for author data access
+     * @param catalogSearchIndex the full-text index kept up to date with catalog changes
      */
-    public BookService(BookRepository bookRepository, PublisherRepository publisherRepository, AuthorRepository authorRepository) {
+    public BookService(BookRepository bookRepository, PublisherRepository publisherRepository, AuthorRepository authorRepository,
+                       CatalogSearchIndex catalogSearchIndex) {
         this.bookRepository = bookRepository;
         this.publisherRepository = publisherRepository;
         this.authorRepository = authorRepository;
+        this.catalogSearchIndex = catalogSearchIndex;
     }
 
     /**
-     * Retrieves all books from the catalog.
+     * Retrieves all books from the catalog with their publisher and authors.
      *
      * @return list of all books
      */
     @Transactional(readOnly = true)
     public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+        return bookRepository.findAllWithDetails();
     }
 
     /**
-     * Retrieves a book by its ID.
+     * Retrieves one page of the catalog using keyset pagination.
+     * Each page is read with an indexed range scan starting after the cursor,
+     * so its cost does not depend on how deep into the catalog the page is.
+     *
+     * @param sort the sort key of the listing
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of books on the page
+     * @return the page of books with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is invalid for the sort key
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Book> getBooksPage(BookSortField sort, String after, int limit) {
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Book> books = after == null || after.isBlank()
+                ? bookRepository.findAllBy(firstPageSort(sort), fetchLimit)
+                : findPageAfter(BookCursor.decode(after, sort), fetchLimit);
+
+        boolean hasMore = books.size() > limit;
+        List<Book> pageItems = hasMore ? books.subList(0, limit) : books;
+        String nextCursor = hasMore ? BookCursor.after(sort, pageItems.get(limit - 1)).encode() : null;
+        return new CursorPage<>(pageItems, nextCursor, hasMore);
+    }
+
+    /**
+     * Searches the catalog by title, description, author names and publisher name, best matches first.
+     * Served from the in-process search index without querying the database.
+     *
+     * @param query the free-text query
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of hits on the page
+     * @return the page of ranked hits with the cursor for the next page
+     * @throws IllegalArgumentException if the query has no searchable term or the cursor is invalid
+     */
+    public CursorPage<BookSearchHitDto> searchBooks(String query, String after, int limit) {
+        return catalogSearchIndex.search(query, after, limit);
+    }
+
+    /**
+     * Retrieves a book by its ID with its publisher and authors.
      *
      * @param id the book ID
      * @return the book
@@ -57,7 +104,7 @@ public class BookService {
      */
     @Transactional(readOnly = true)
     public Book getBookById(Long id) {
-        return bookRepository.findById(id)
+        return bookRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
     }
 
@@ -89,7 +136,9 @@ public class BookService {
             book.setAuthors(validatedAuthors);
         }
         book.setTitle(ServiceHelper.capitalizeWords(book.getTitle()));
-        return bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
+        catalogSearchIndex.index(savedBook);
+        return savedBook;
     }
 
     /**
@@ -132,7 +181,9 @@ public class BookService {
             existingBook.setAuthors(validatedAuthors);
         }
 
-        return bookRepository.save(existingBook);
+        Book savedBook = bookRepository.save(existingBook);
+        catalogSearchIndex.index(savedBook);
+        return savedBook;
     }
 
     /**
@@ -147,6 +198,35 @@ public class BookService {
             throw new IllegalArgumentException("Book not found with ID: " + id);
         }
         bookRepository.deleteById(id);
+        catalogSearchIndex.remove(id);
+    }
+
+    /**
+     * Builds the ordering of the first catalog page for the given sort key.
+     *
+     * @param sort the sort key of the listing
+     * @return the sort key ordering with the book ID as tie-breaker
+     */
+    private Sort firstPageSort(BookSortField sort) {
+        return sort == BookSortField.ID
+                ? Sort.by("id")
+                : Sort.by(sort.getParam()).and(Sort.by("id"));
+    }
+
+    /**
+     * Reads the catalog page following the given cursor.
+     *
+     * @param cursor the decoded cursor of the previous page
+     * @param limit the maximum number of books to read
+     * @return the books following the cursor
+     */
+    private List<Book> findPageAfter(BookCursor cursor, Limit limit) {
+        return switch (cursor.sort()) {
+            case TITLE -> bookRepository.findPageAfterTitle(cursor.value(), cursor.id(), limit);
+            case PRICE -> bookRepository.findPageAfterPrice(cursor.priceValue(), cursor.id(), limit);
+            case PUBLISHED_DATE -> bookRepository.findPageAfterPublishedDate(cursor.publishedDateValue(), cursor.id(), limit);
+            case ID -> bookRepository.findPageAfterId(cursor.id(), limit);
+        };
     }
 
     /**
@@ -1,21 +1,19 @@
 package com.bnpparibasfortis.book_store.service;
 
-import com.bnpparibasfortis.book_store.model.Book;
 import com.bnpparibasfortis.book_store.model.Cart;
 import com.bnpparibasfortis.book_store.model.CartItem;
 import com.bnpparibasfortis.book_store.model.Customer;
-import com.bnpparibasfortis.book_store.repository.BookRepository;
 import com.bnpparibasfortis.book_store.repository.CartItemRepository;
 import com.bnpparibasfortis.book_store.repository.CartRepository;
 import com.bnpparibasfortis.book_store.repository.CustomerRepository;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * Service class for managing shopping cart operations.
@@ -26,7 +24,6 @@ public class CartService {
 
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
-    private final BookRepository bookRepository;
     private final CustomerRepository customerRepository;
 
     /**
@@ -34,80 +31,98 @@ public class CartService {
      *
      * @param cartRepository the repository for cart data access
      * @param cartItemRepository the repository for cart item data access
-     * @param bookRepository the repository for book data access
      * @param customerRepository the repository for customer data access
      */
     public CartService(CartRepository cartRepository, CartItemRepository cartItemRepository,
-                       BookRepository bookRepository, CustomerRepository customerRepository) {
+                       CustomerRepository customerRepository) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
-        this.bookRepository = bookRepository;
         this.customerRepository = customerRepository;
     }
 
     /**
-     * Retrieves or creates a shopping cart for the specified user.
+     * Retrieves or creates a shopping cart for the specified customer.
+     * The cart, its items and their books are read with a single statement, and the book authors with one batch fetch.
+     * The customer comes from the security principal, so it is only referenced, never loaded.
      *
-     * @param username the username of the customer
+     * @param customerId the ID of the authenticated customer
      * @return the customer's cart
-     * @throws IllegalArgumentException if customer is not found
+     * @throws IllegalArgumentException if the customer ID is missing
      */
     @Transactional
-    public Cart getCartForUser(String username) {
-        Customer customer = customerRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + username));
-
-        return cartRepository.findByCustomer(customer)
-                .orElseGet(() -> createNewCart(customer));
+    public Cart getCartForUser(Long customerId) {
+        if (customerId == null) {
+            throw new IllegalArgumentException("Customer ID must be provided");
+        }
+        return cartRepository.findWithItemsByCustomerId(customerId)
+                .orElseGet(() -> createNewCart(customerRepository.getReferenceById(customerId)));
     }
 
     /**
      * Adds an item to the user's shopping cart.
-     * If the book is already in the cart, increases the quantity.
+     * If the book is already in the cart, increases the quantity; the line is written with a
+     * single upsert, so concurrent adds of the same book end up in one line.
      *
-     * @param username the username of the customer
+     * @param customerId the ID of the authenticated customer
      * @param bookId the ID of the book to add
      * @param quantity the quantity to add
      * @return the updated cart
-     * @throws IllegalArgumentException if customer or book is not found, or if validation fails
+     * @throws IllegalArgumentException if book is not found, or if validation fails
      */
     @Transactional
-    public Cart addItem(String username, 
+    public Cart addItem(Long customerId,
                        @NotNull(message = "Book ID must be provided") Long bookId, 
                        @Min(value = 1, message = "Quantity must be at least 1") int quantity) {
 
         validateQuantity(quantity);
 
-        Cart cart = getCartForUser(username);
-        Book book = findBookById(bookId);
+        Long cartId = getCartIdForUser(customerId);
+        upsertLine(bookId, () -> cartItemRepository.addQuantity(cartId, bookId, quantity));
 
-        Optional<CartItem> existingItem = findExistingCartItem(cart, bookId);
+        return getCartForUser(customerId);
+    }
 
-        if (existingItem.isPresent()) {
-            updateExistingItem(existingItem.get(), quantity);
-        } else {
-            addNewItemToCart(cart, book, quantity);
-        }
+    /**
+     * Sets the quantity of a book in the user's shopping cart, adding the book if it is not in the cart yet.
+     * The line is written with a single upsert, whatever the size of the cart.
+     *
+     * @param customerId the ID of the authenticated customer
+     * @param bookId the ID of the book
+     * @param quantity the new quantity of the book
+     * @return the updated cart
+     * @throws IllegalArgumentException if book is not found, or if validation fails
+     */
+    @Transactional
+    public Cart setItemQuantity(Long customerId,
+                                @NotNull(message = "Book ID must be provided") Long bookId,
+                                @Min(value = 1, message = "Quantity must be at least 1") int quantity) {
 
-        return cartRepository.save(cart);
+        validateQuantity(quantity);
+
+        Long cartId = getCartIdForUser(customerId);
+        upsertLine(bookId, () -> cartItemRepository.setQuantity(cartId, bookId, quantity));
+
+        return getCartForUser(customerId);
     }
 
     /**
      * Removes an item from the user's shopping cart.
-     * Validates that the item belongs to the user's cart for security.
+     * The item is taken from the loaded cart; only an item outside the cart is looked up,
+     * to tell a missing item from one belonging to another cart.
      *
-     * @param username the username of the customer
+     * @param customerId the ID of the authenticated customer
      * @param itemId the ID of the cart item to remove
      * @return the updated cart
-     * @throws IllegalArgumentException if customer or cart item is not found
+     * @throws IllegalArgumentException if cart item is not found
      * @throws SecurityException if the item doesn't belong to the user's cart
      */
     @Transactional
-    public Cart removeItem(String username, Long itemId) {
-        Cart cart = getCartForUser(username);
-        CartItem itemToRemove = findCartItemById(itemId);
-
-        validateItemOwnership(cart, itemToRemove);
+    public Cart removeItem(Long customerId, Long itemId) {
+        Cart cart = getCartForUser(customerId);
+        CartItem itemToRemove = cart.getItems().stream()
+                .filter(item -> item.getId().equals(itemId))
+                .findFirst()
+                .orElseGet(() -> findOwnedCartItem(cart, itemId));
 
         cart.getItems().remove(itemToRemove);
         cartItemRepository.delete(itemToRemove);
@@ -115,6 +130,37 @@ public class CartService {
         return cart;
     }
 
+    /**
+     * Retrieves the ID of the user's cart, creating the cart if the customer has none yet.
+     *
+     * @param customerId the ID of the authenticated customer
+     * @return the cart ID
+     * @throws IllegalArgumentException if the customer ID is missing
+     */
+    private Long getCartIdForUser(Long customerId) {
+        if (customerId == null) {
+            throw new IllegalArgumentException("Customer ID must be provided");
+        }
+        return cartRepository.findIdByCustomerId(customerId)
+                .orElseGet(() -> createNewCart(customerRepository.getReferenceById(customerId)).getId());
+    }
+
+    /**
+     * Runs a cart line upsert, reporting a book that does not exist as not found.
+     * The only foreign key the upsert can violate is the book, as the cart ID was just read.
+     *
+     * @param bookId the ID of the book of the line
+     * @param upsert the upsert statement
+     * @throws IllegalArgumentException if book is not found
+     */
+    private void upsertLine(Long bookId, Runnable upsert) {
+        try {
+            upsert.run();
+        } catch (DataIntegrityViolationException ex) {
+            throw new IllegalArgumentException("Book not found with ID: " + bookId, ex);
+        }
+    }
+
     /**
      * Creates a new cart for the specified customer.
      *
@@ -128,18 +174,6 @@ public class CartService {
         return cartRepository.save(cart);
     }
 
-    /**
-     * Finds a book by its ID.
-     *
-     * @param bookId the book ID
-     * @return the book
-     * @throws IllegalArgumentException if book is not found
-     */
-    private Book findBookById(Long bookId) {
-        return bookRepository.findById(bookId)
-                .orElseThrow(() -> new IllegalArgumentException("Book not found with ID: " + bookId));
-    }
-
     /**
      * Finds a cart item by its ID.
      *
@@ -153,44 +187,18 @@ public class CartService {
     }
 
     /**
-     * Finds an existing cart item for the specified book in the cart.
+     * Finds a cart item outside the loaded cart items and validates that it belongs to the cart.
      *
-     * @param cart the cart to search in
-     * @param bookId the book ID to search for
-     * @return optional containing the cart item if found
-     */
-    private Optional<CartItem> findExistingCartItem(Cart cart, Long bookId) {
-        return cart.getItems().stream()
-                .filter(item -> item.getBook().getId().equals(bookId))
-                .findFirst();
-    }
-
-    /**
-     * Updates the quantity of an existing cart item.
-     *
-     * @param existingItem the cart item to update
-     * @param additionalQuantity the quantity to add
-     */
-    private void updateExistingItem(CartItem existingItem, int additionalQuantity) {
-        existingItem.setQuantity(existingItem.getQuantity() + additionalQuantity);
-        cartItemRepository.save(existingItem);
-    }
-
-    /**
-     * Adds a new item to the cart.
-     *
-     * @param cart the cart to add the item to
-     * @param book the book to add
-     * @param quantity the quantity to add
+     * @param cart the user's cart
+     * @param itemId the cart item ID
+     * @return the cart item
+     * @throws IllegalArgumentException if cart item is not found
+     * @throws SecurityException if the item doesn't belong to the user's cart
      */
-    private void addNewItemToCart(Cart cart, Book book, int quantity) {
-        CartItem newItem = new CartItem();
-        newItem.setCart(cart);
-        newItem.setBook(book);
-        newItem.setQuantity(quantity);
-        CartItem savedItem = cartItemRepository.save(newItem);
-        cart.getItems().add(savedItem);
-        cartRepository.save(cart);
+    private CartItem findOwnedCartItem(Cart cart, Long itemId) {
+        CartItem item = findCartItemById(itemId);
+        validateItemOwnership(cart, item);
+        return item;
     }
 
     /**
@@ -0,0 +1,336 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.BookSearchHitDto;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
+import com.bnpparibasfortis.book_store.model.Author;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.repository.BookRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process full-text index of the catalog, ranking books with BM25.
+ * A book is indexed on its title, description, author full names and publisher name, with title
+ * terms weighted double. The index is built from the database once at startup and then kept up to
+ * date by {@link BookService}, so searches never touch the database. Changes made inside a
+ * transaction are applied only after it commits.
+ */
+@Component
+public class CatalogSearchIndex implements SmartInitializingSingleton {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Comparator<Map.Entry<Long, Double>> RANKING =
+            Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey());
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Constructs a new CatalogSearchIndex.
+     *
+     * @param bookRepository the repository the index is built from
+     * @param transactionManager the transaction manager running the read-only build transaction
+     */
+    public CatalogSearchIndex(BookRepository bookRepository, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Builds the index once every bean is ready, before the application serves requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Replaces the whole index with the current catalog, read in ID order in batches.
+     *
+     * @return the number of indexed books
+     */
+    public int rebuild() {
+        List<IndexedBook> catalog = readOnlyTransaction.execute(status -> readCatalog());
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            books.clear();
+            totalLength = 0;
+            catalog.forEach(this::addEntry);
+            return books.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a book to the index or replaces its previous entry.
+     * The indexed fields are captured immediately, so the associations must be loadable.
+     *
+     * @param book the created or updated book
+     */
+    public void index(Book book) {
+        IndexedBook indexed = IndexedBook.of(book);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeEntry(indexed.id());
+                addEntry(indexed);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes a book from the index.
+     *
+     * @param bookId the ID of the deleted book
+     */
+    public void remove(long bookId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeEntry(bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Searches the catalog, best matches first. A book matches when it contains any query term;
+     * books with equal scores are ordered by ID.
+     *
+     * @param query the free-text query
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of hits on the page
+     * @return the page of hits with the cursor for the next page
+     * @throws IllegalArgumentException if the query has no searchable term or the cursor is invalid
+     */
+    public CursorPage<BookSearchHitDto> search(String query, String after, int limit) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        int offset = after == null || after.isBlank() ? 0 : decodeOffset(after);
+
+        lock.readLock().lock();
+        try {
+            int count = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit + 1);
+            List<Map.Entry<Long, Double>> ranked = top(score(terms), count).stream()
+                    .skip(offset)
+                    .toList();
+            boolean hasMore = ranked.size() > limit;
+            List<BookSearchHitDto> hits = ranked.stream()
+                    .limit(limit)
+                    .map(entry -> books.get(entry.getKey()).toHit(entry.getValue()))
+                    .toList();
+            return new CursorPage<>(hits, hasMore ? encodeOffset(offset + limit) : null, hasMore);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed books.
+     *
+     * @return the indexed book count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-case terms of letters and digits, with diacritics removed.
+     *
+     * @param text the text to tokenize, may be null
+     * @return the terms in text order, with repetitions
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : NON_WORD.split(folded)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private List<IndexedBook> readCatalog() {
+        List<IndexedBook> catalog = new ArrayList<>();
+        Limit batch = Limit.of(REBUILD_BATCH_SIZE);
+        List<Book> page = bookRepository.findAllBy(Sort.by("id"), batch);
+        while (!page.isEmpty()) {
+            page.stream().map(IndexedBook::of).forEach(catalog::add);
+            if (page.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+            page = bookRepository.findPageAfterId(page.get(page.size() - 1).getId(), batch);
+        }
+        return catalog;
+    }
+
+    private Map<Long, Double> score(List<String> terms) {
+        Map<Long, Double> scores = new HashMap<>();
+        int bookCount = books.size();
+        double averageLength = bookCount == 0 ? 1 : (double) totalLength / bookCount;
+        for (String term : terms) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            int documentFrequency = termPostings.size();
+            double idf = Math.log(1 + (bookCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            termPostings.forEach((bookId, frequency) -> {
+                double lengthNorm = 1 - B + B * books.get(bookId).length() / averageLength;
+                double termScore = idf * frequency * (K1 + 1) / (frequency + K1 * lengthNorm);
+                scores.merge(bookId, termScore, Double::sum);
+            });
+        }
+        return scores;
+    }
+
+    private static List<Map.Entry<Long, Double>> top(Map<Long, Double> scores, int count) {
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(RANKING.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > count) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        return ranked;
+    }
+
+    private void addEntry(IndexedBook book) {
+        book.frequencies().forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(book.id(), frequency));
+        books.put(book.id(), book);
+        totalLength += book.length();
+    }
+
+    private void removeEntry(Long bookId) {
+        IndexedBook previous = books.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length();
+        for (String term : previous.frequencies().keySet()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(bookId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Integer.toString(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeOffset(String encoded) {
+        int offset;
+        try {
+            offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            offset = -1;
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + encoded);
+        }
+        return offset;
+    }
+
+    /**
+     * Indexed snapshot of a book: its term frequencies, its weighted length and the fields
+     * returned with a hit.
+     */
+    private record IndexedBook(Long id, String title, List<String> authorNames, String publisherName,
+                               BigDecimal price, Map<String, Integer> frequencies, int length) {
+
+        static IndexedBook of(Book book) {
+            List<String> authorNames = book.getAuthors() == null ? List.of()
+                    : book.getAuthors().stream().map(Author::getFullName).sorted().toList();
+            String publisherName = book.getPublisher() == null ? null : book.getPublisher().getName();
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = count(frequencies, tokenize(book.getTitle()), TITLE_WEIGHT)
+                    + count(frequencies, tokenize(book.getDescription()), 1)
+                    + count(frequencies, tokenize(publisherName), 1);
+            for (String authorName : authorNames) {
+                length += count(frequencies, tokenize(authorName), 1);
+            }
+            return new IndexedBook(book.getId(), book.getTitle(), authorNames, publisherName, book.getPrice(),
+                    Map.copyOf(frequencies), length);
+        }
+
+        BookSearchHitDto toHit(double score) {
+            return new BookSearchHitDto(id, title, authorNames, publisherName, price, score);
+        }
+
+        private static int count(Map<String, Integer> frequencies, List<String> terms, int weight) {
+            terms.forEach(term -> frequencies.merge(term, weight, Integer::sum));
+            return terms.size() * weight;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.OrderDto;
+import com.bnpparibasfortis.book_store.exception.CheckoutInProgressException;
+import com.bnpparibasfortis.book_store.exception.InsufficientStockException;
+import com.bnpparibasfortis.book_store.mapper.OrderMapper;
+import com.bnpparibasfortis.book_store.model.IdempotencyKey;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Service making checkouts idempotent with client-supplied idempotency keys.
+ * The first checkout with a key claims it at the start of the checkout transaction, before the
+ * cart is read, and stores its response at the end; any later checkout of the same customer with
+ * the same key returns the stored response without placing another order. Keys are purged once
+ * they are older than the configured time-to-live.
+ */
+@Service
+public class CheckoutIdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final OrderMapper orderMapper;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    /**
+     * Constructs a new CheckoutIdempotencyService with the required dependencies.
+     *
+     * @param orderService the service placing the orders
+     * @param orderMapper the mapper for converting orders to the checkout response
+     * @param idempotencyKeyRepository the repository for idempotency key data access
+     * @param objectMapper the mapper storing the checkout response as JSON
+     * @param ttl how long a key is remembered after its checkout
+     */
+    public CheckoutIdempotencyService(OrderService orderService, OrderMapper orderMapper,
+                                      IdempotencyKeyRepository idempotencyKeyRepository, ObjectMapper objectMapper,
+                                      @Value("${bookstore.checkout.idempotency.ttl:24h}") Duration ttl) {
+        this.orderService = orderService;
+        this.orderMapper = orderMapper;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Places an order for the specified customer, unless the idempotency key was already used.
+     * A new key costs one indexed read before the checkout. When two requests with the same key
+     * race, the unique index holds the second claim until the first checkout ends: the second request
+     * then returns the first one's response, or places the order itself if the first rolled back.
+     *
+     * @param customerId the ID of the customer placing the order
+     * @param idempotencyKey the client-supplied key of the request, or null to always place an order
+     * @return the placed order, or the stored order of the earlier request with the same key
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws IllegalStateException if the cart is empty
+     * @throws InsufficientStockException if stock is insufficient for any cart item
+     * @throws CheckoutInProgressException if the key is claimed by a checkout still in progress
+     */
+    public CheckoutResult placeOrder(Long customerId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return new CheckoutResult(orderMapper.toDto(orderService.placeOrder(customerId)), false);
+        }
+        validateKey(idempotencyKey);
+
+        Optional<OrderDto> storedResponse = findStoredResponse(customerId, idempotencyKey);
+        if (storedResponse.isPresent()) {
+            return new CheckoutResult(storedResponse.get(), true);
+        }
+        try {
+            OrderDto order = orderService.placeOrder(customerId,
+                    () -> claimKey(customerId, idempotencyKey),
+                    placed -> storeResponse(customerId, idempotencyKey, placed));
+            return new CheckoutResult(order, false);
+        } catch (KeyClaimedException e) {
+            // A concurrent request with the same key claimed it first; its order is the one to return
+            return findStoredResponse(customerId, idempotencyKey)
+                    .map(order -> new CheckoutResult(order, true))
+                    .orElseThrow(CheckoutInProgressException::new);
+        }
+    }
+
+    /**
+     * Deletes the idempotency keys older than the time-to-live.
+     *
+     * @return the number of deleted keys
+     */
+    @Scheduled(fixedDelayString = "${bookstore.checkout.idempotency.purge-interval:1h}")
+    @Transactional
+    public int purgeExpiredKeys() {
+        return idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    /**
+     * Validates a client-supplied idempotency key.
+     *
+     * @param idempotencyKey the key to validate
+     * @throws IllegalArgumentException if the key is blank or too long
+     */
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("Idempotency key must not be blank");
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * Retrieves the response stored for a customer's idempotency key.
+     *
+     * @param customerId the customer ID
+     * @param idempotencyKey the idempotency key
+     * @return the stored order, or empty if the key was not used
+     */
+    private Optional<OrderDto> findStoredResponse(Long customerId, String idempotencyKey) {
+        return idempotencyKeyRepository.findResponseBody(customerId, idempotencyKey).map(this::readResponse);
+    }
+
+    /**
+     * Claims an idempotency key at the start of the checkout transaction, before the cart is read.
+     * The row is flushed at once, so its unique index entry is locked until the checkout ends.
+     *
+     * @param customerId the customer ID
+     * @param idempotencyKey the idempotency key
+     * @throws KeyClaimedException if the key was claimed by a concurrent request
+     */
+    private void claimKey(Long customerId, String idempotencyKey) {
+        try {
+            idempotencyKeyRepository.saveAndFlush(new IdempotencyKey(null, customerId, idempotencyKey,
+                    null, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            throw new KeyClaimedException(e);
+        }
+    }
+
+    /**
+     * Stores the response of a checkout under its claimed idempotency key, in the checkout transaction.
+     *
+     * @param customerId the customer ID
+     * @param idempotencyKey the idempotency key
+     * @param order the placed order
+     * @return the checkout response
+     */
+    private OrderDto storeResponse(Long customerId, String idempotencyKey, Order order) {
+        OrderDto response = orderMapper.toDto(order);
+        idempotencyKeyRepository.storeResponseBody(customerId, idempotencyKey, writeResponse(response));
+        return response;
+    }
+
+    /**
+     * Serializes a checkout response for storage.
+     *
+     * @param response the checkout response
+     * @return the response as JSON
+     */
+    private String writeResponse(OrderDto response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store checkout response", e);
+        }
+    }
+
+    /**
+     * Deserializes a stored checkout response.
+     *
+     * @param responseBody the response as JSON
+     * @return the checkout response
+     */
+    private OrderDto readResponse(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, OrderDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored checkout response", e);
+        }
+    }
+
+    /**
+     * Thrown in the checkout transaction when the idempotency key is already claimed,
+     * so that the checkout is rolled back before the cart is read.
+     */
+    static class KeyClaimedException extends RuntimeException {
+        KeyClaimedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
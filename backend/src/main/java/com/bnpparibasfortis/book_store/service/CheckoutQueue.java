@@ -0,0 +1,289 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.CheckoutState;
+import com.bnpparibasfortis.book_store.dto.CheckoutStatusDto;
+import com.bnpparibasfortis.book_store.exception.CheckoutQueueFullException;
+import com.bnpparibasfortis.book_store.exception.InsufficientStockException;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-process queue of asynchronous checkouts, drained by a pool of worker threads.
+ * A checkout request only enqueues the customer and returns a reference; each worker takes up to
+ * a batch of queued checkouts and places them in one transaction, so a burst of checkouts costs
+ * far fewer transactions, request threads and connections than synchronous checkouts.
+ * A batch that fails is placed again one checkout at a time, so one empty cart or sold-out book
+ * only fails its own checkout.
+ * Checkout statuses are kept in memory by the node that accepted the checkout, for a limited time.
+ */
+@Component
+public class CheckoutQueue implements SmartLifecycle {
+
+    private static final long MAX_TRACKED_CHECKOUTS = 100_000;
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final OrderService orderService;
+    private final boolean enabled;
+    private final int workerCount;
+    private final int batchSize;
+    private final BlockingQueue<QueuedCheckout> queue;
+    private final Cache<String, TrackedCheckout> checkouts;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * Constructs a new CheckoutQueue and registers its metrics.
+     *
+     * @param orderService the service placing the queued orders
+     * @param meterRegistry the registry of the queue depth, drain rate and batch metrics
+     * @param enabled whether checkouts are queued instead of placed synchronously
+     * @param capacity the maximum number of queued checkouts
+     * @param workerCount the number of worker threads draining the queue
+     * @param batchSize the maximum number of checkouts placed in one transaction
+     * @param statusTtl how long the status of a checkout can be polled after its last change
+     * @throws IllegalArgumentException if the capacity, worker count or batch size is not positive
+     */
+    public CheckoutQueue(OrderService orderService, MeterRegistry meterRegistry,
+                         @Value("${bookstore.checkout.async.enabled:false}") boolean enabled,
+                         @Value("${bookstore.checkout.async.queue-capacity:1000}") int capacity,
+                         @Value("${bookstore.checkout.async.workers:2}") int workerCount,
+                         @Value("${bookstore.checkout.async.batch-size:20}") int batchSize,
+                         @Value("${bookstore.checkout.async.status-ttl:15m}") Duration statusTtl) {
+        if (capacity < 1 || workerCount < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Checkout queue capacity, workers and batch size must be positive");
+        }
+        this.orderService = orderService;
+        this.enabled = enabled;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.checkouts = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CHECKOUTS)
+                .expireAfterWrite(statusTtl)
+                .build();
+
+        Gauge.builder("bookstore.checkout.queue.depth", queue, BlockingQueue::size)
+                .description("Checkouts waiting in the queue")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("bookstore.checkout.processed")
+                .description("Queued checkouts drained from the queue")
+                .tag("outcome", "completed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("bookstore.checkout.processed")
+                .description("Queued checkouts drained from the queue")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("bookstore.checkout.rejected")
+                .description("Checkouts rejected because the queue was full")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("bookstore.checkout.batch")
+                .description("Time to place one batch of queued checkouts")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("bookstore.checkout.batch.size")
+                .description("Number of queued checkouts taken in one batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tells whether checkouts are queued instead of placed synchronously.
+     *
+     * @return true if asynchronous checkout is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a checkout of the customer's cart.
+     *
+     * @param customerId the ID of the customer placing the order
+     * @return the status of the queued checkout, with the reference to poll it by
+     * @throws IllegalStateException if asynchronous checkout is disabled
+     * @throws CheckoutQueueFullException if the queue is full
+     */
+    public CheckoutStatusDto enqueue(Long customerId) {
+        if (!enabled) {
+            throw new IllegalStateException("Asynchronous checkout is disabled");
+        }
+        String reference = UUID.randomUUID().toString();
+        TrackedCheckout tracked = new TrackedCheckout(customerId,
+                new CheckoutStatusDto(reference, CheckoutState.QUEUED, null, null));
+        checkouts.put(reference, tracked);
+        if (!queue.offer(new QueuedCheckout(reference, customerId))) {
+            checkouts.invalidate(reference);
+            rejectedCounter.increment();
+            throw new CheckoutQueueFullException();
+        }
+        return tracked.status();
+    }
+
+    /**
+     * Retrieves the status of one of the customer's checkouts.
+     *
+     * @param customerId the ID of the customer polling the status
+     * @param reference the reference returned when the checkout was queued
+     * @return the status of the checkout
+     * @throws IllegalArgumentException if no checkout of the customer has this reference
+     */
+    public CheckoutStatusDto getStatus(Long customerId, String reference) {
+        TrackedCheckout tracked = checkouts.getIfPresent(reference);
+        if (tracked == null || !tracked.customerId().equals(customerId)) {
+            throw new IllegalArgumentException("Checkout not found with reference: " + reference);
+        }
+        return tracked.status();
+    }
+
+    /**
+     * Places a batch of queued checkouts in one transaction. When the batch fails, each checkout
+     * is placed again in its own transaction, so only the failing checkouts are reported as failed.
+     *
+     * @param batch the queued checkouts
+     */
+    void process(List<QueuedCheckout> batch) {
+        batch.forEach(checkout -> update(checkout, CheckoutState.PROCESSING, null, null));
+        List<Order> orders;
+        try {
+            orders = batchTimer.record(() -> orderService.placeOrders(batch.stream()
+                    .map(QueuedCheckout::customerId)
+                    .toList()));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                update(batch.get(0), CheckoutState.FAILED, null, failureMessage(e));
+                failedCounter.increment();
+            } else {
+                batch.forEach(checkout -> process(List.of(checkout)));
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            update(batch.get(i), CheckoutState.COMPLETED, orders.get(i).getId(), null);
+        }
+        completedCounter.increment(batch.size());
+    }
+
+    /**
+     * Starts the worker threads, if asynchronous checkout is enabled.
+     */
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(this::drain, "checkout-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Stops taking new batches once the queue is empty and waits for the workers to finish.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+    }
+
+    /**
+     * Tells whether the worker threads are running.
+     *
+     * @return true between start and stop
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Worker loop: takes up to a batch of queued checkouts at a time until stopped and drained.
+     */
+    private void drain() {
+        List<QueuedCheckout> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedCheckout first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batchSizeSummary.record(batch.size());
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Replaces the status of a queued checkout.
+     *
+     * @param checkout the queued checkout
+     * @param state the new state
+     * @param orderId the ID of the placed order, or null
+     * @param message the reason of a failure, or null
+     */
+    private void update(QueuedCheckout checkout, CheckoutState state, Long orderId, String message) {
+        checkouts.put(checkout.reference(), new TrackedCheckout(checkout.customerId(),
+                new CheckoutStatusDto(checkout.reference(), state, orderId, message)));
+    }
+
+    /**
+     * Describes why a checkout failed, without exposing unexpected internal errors.
+     *
+     * @param failure the exception the checkout failed with
+     * @return the failure message for the customer
+     */
+    private String failureMessage(RuntimeException failure) {
+        if (failure instanceof InsufficientStockException
+                || failure instanceof IllegalStateException
+                || failure instanceof IllegalArgumentException) {
+            return failure.getMessage();
+        }
+        return "Checkout could not be completed, please try again";
+    }
+
+    record QueuedCheckout(String reference, Long customerId) {
+    }
+
+    private record TrackedCheckout(Long customerId, CheckoutStatusDto status) {
+    }
+}
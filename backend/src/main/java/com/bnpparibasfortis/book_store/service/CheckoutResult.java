@@ -0,0 +1,12 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.OrderDto;
+
+/**
+ * The response of a checkout.
+ *
+ * @param order the placed order
+ * @param replayed true if the order was placed by an earlier request with the same idempotency key
+ */
+public record CheckoutResult(OrderDto order, boolean replayed) {
+}
@@ -1,9 +1,13 @@
 package com.bnpparibasfortis.book_store.service;
 
+import com.bnpparibasfortis.book_store.dto.LoginSummaryDto;
 import com.bnpparibasfortis.book_store.model.Customer;
 import com.bnpparibasfortis.book_store.model.CustomerStatus;
 import com.bnpparibasfortis.book_store.repository.CustomerRepository;
+import com.bnpparibasfortis.book_store.repository.OrderRepository;
+import com.bnpparibasfortis.book_store.security.CredentialCache;
 import com.bnpparibasfortis.book_store.util.AppConstants;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,32 +24,52 @@ import java.util.Optional;
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final OrderRepository orderRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CredentialCache credentialCache;
 
     /**
      * Constructs a new CustomerService with the required dependencies.
      *
      * @param customerRepository the repository for customer data access
+     * @param orderRepository the repository for order data access
      * @param passwordEncoder the encoder for password hashing
+     * @param credentialCache the cache of verified credentials, invalidated on role and status changes
      */
-    public CustomerService(CustomerRepository customerRepository, 
-                          PasswordEncoder passwordEncoder) {
+    public CustomerService(CustomerRepository customerRepository,
+                          OrderRepository orderRepository,
+                          PasswordEncoder passwordEncoder,
+                          CredentialCache credentialCache) {
         this.customerRepository = customerRepository;
+        this.orderRepository = orderRepository;
         this.passwordEncoder = passwordEncoder;
+        this.credentialCache = credentialCache;
     }
 
     /**
-     * Retrieves a customer with their orders by username.
+     * Retrieves the IDs of the most recent orders of a customer, newest first.
+     * The list is bounded by {@link AppConstants#MAX_EMBEDDED_IDS}, so responses embedding it
+     * do not grow with the number of orders the customer has ever placed.
      *
-     * @param username the username to search for
-     * @return the customer with orders
-     * @throws IllegalArgumentException if customer is not found
+     * @param customerId the customer ID
+     * @return the IDs of the most recent orders
      */
-    @Transactional
-    public Customer getCustomerWithOrdersByUsername(String username) {
-        return customerRepository.findByUsernameWithOrders(username)
-                .orElseThrow(() -> new IllegalArgumentException("CUSTOMER_NOT_FOUND for username: " + username));
+    @Transactional(readOnly = true)
+    public List<Long> getRecentOrderIds(Long customerId) {
+        return orderRepository.findIdsByCustomerId(customerId, Limit.of(AppConstants.MAX_EMBEDDED_IDS));
     }
+
+    /**
+     * Counts all orders of a customer.
+     *
+     * @param customerId the customer ID
+     * @return the number of orders
+     */
+    @Transactional(readOnly = true)
+    public long countOrders(Long customerId) {
+        return orderRepository.countByCustomerId(customerId);
+    }
+
     /**
      * Register a new user with encoded password.
      *
@@ -79,7 +103,9 @@ public class CustomerService {
         Customer customer = customerRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException(AppConstants.CUSTOMER_NOT_FOUND));
         customer.setRole(Customer.Role.ADMIN);
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        credentialCache.invalidate(saved.getUsername());
+        return saved;
     }
 
     /**
@@ -141,6 +167,19 @@ public class CustomerService {
                 .orElseThrow(() -> new IllegalArgumentException("CUSTOMER_NOT_FOUND for username: " + username));
     }
 
+    /**
+     * Retrieves the compact login payload of a customer by username.
+     *
+     * @param username the username of the authenticated customer
+     * @return the login summary with the order and cart item counts
+     * @throws IllegalArgumentException if customer is not found
+     */
+    @Transactional(readOnly = true)
+    public LoginSummaryDto getLoginSummary(String username) {
+        return customerRepository.findLoginSummaryByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("CUSTOMER_NOT_FOUND for username: " + username));
+    }
+
     /**
      * Finds a customer by username (returns Optional).
      *
@@ -223,5 +262,6 @@ public class CustomerService {
         Customer customer = customerRepository.findCustomerById(id);
         customer.setStatus(CustomerStatus.DELETED);
         customerRepository.save(customer);
+        credentialCache.invalidate(customer.getUsername());
     }
 }
@@ -0,0 +1,62 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Outbox sink appending every event as one JSON line to a local file, for local runs.
+ */
+public class FileOutboxEventSink implements OutboxEventSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new FileOutboxEventSink.
+     *
+     * @param path the file the events are appended to, created if missing
+     * @param objectMapper the application object mapper
+     */
+    public FileOutboxEventSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(toJson(event)));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Builds the JSON line of an event, with its payload embedded as JSON.
+     *
+     * @param event the event
+     * @return the JSON object of the event
+     * @throws IOException if the payload is not valid JSON
+     */
+    private ObjectNode toJson(OutboxEvent event) throws IOException {
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("id", event.getId());
+        json.put("eventType", event.getEventType());
+        json.put("aggregateType", event.getAggregateType());
+        json.put("aggregateId", event.getAggregateId());
+        json.put("createdAt", event.getCreatedAt().toString());
+        json.set("payload", objectMapper.readTree(event.getPayload()));
+        return json;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.model.OutboxEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Outbox sink keeping the most recently published events in memory, for local runs and tests.
+ */
+public class InMemoryOutboxEventSink implements OutboxEventSink {
+
+    private final int capacity;
+    private final Deque<OutboxEvent> events = new ArrayDeque<>();
+
+    /**
+     * Constructs a new InMemoryOutboxEventSink.
+     *
+     * @param capacity the number of most recent events kept
+     */
+    public InMemoryOutboxEventSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        for (OutboxEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    /**
+     * Returns the kept events, oldest first.
+     *
+     * @return a snapshot of the kept events
+     */
+    public synchronized List<OutboxEvent> getEvents() {
+        return List.copyOf(events);
+    }
+}
@@ -0,0 +1,18 @@
+package com.bnpparibasfortis.book_store.service;
+
+/**
+ * How checkout protects book stock against concurrent orders.
+ */
+public enum InventoryLockingMode {
+
+    /**
+     * Each stock decrement is a single guarded UPDATE, so no row is read before it is written.
+     */
+    GUARDED_UPDATE,
+
+    /**
+     * All cart books are locked up front with one {@code SELECT ... FOR UPDATE} in book ID order,
+     * and the stock is checked against the locked rows before it is decremented.
+     */
+    PESSIMISTIC
+}
@@ -0,0 +1,46 @@
+package com.bnpparibasfortis.book_store.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset cursor for order listings ordered by newest first.
+ * A cursor holds the order date and ID of the last order of a page,
+ * encoded as an opaque URL-safe string.
+ *
+ * @param orderDate the order date of the last order
+ * @param id the ID of the last order
+ */
+record OrderCursor(LocalDateTime orderDate, Long id) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Encodes the cursor into an opaque URL-safe string.
+     *
+     * @return the encoded cursor
+     */
+    String encode() {
+        String payload = id + SEPARATOR + orderDate;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously issued for an order listing.
+     *
+     * @param encoded the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static OrderCursor decode(String encoded) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 2);
+            return new OrderCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[0]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + encoded);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.model.OutboxEvent;
+import com.bnpparibasfortis.book_store.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends order events to the transactional outbox, in the transaction of the order change.
+ */
+@Component
+public class OrderEventOutbox {
+
+    static final String AGGREGATE_TYPE = "Order";
+    static final String ORDER_PLACED = "OrderPlaced";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new OrderEventOutbox with the required dependencies.
+     *
+     * @param outboxEventRepository the repository for outbox events
+     * @param objectMapper the application object mapper, used for event payloads
+     */
+    public OrderEventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends the OrderPlaced event of a saved order, carrying its header and lines.
+     *
+     * @param order the placed order, with its ID assigned
+     */
+    public void orderPlaced(Order order) {
+        List<OrderPlacedEvent.Line> lines = order.getItems().stream()
+                .map(item -> new OrderPlacedEvent.Line(item.getBook().getId(), item.getQuantity(), item.getPrice()))
+                .toList();
+        OrderPlacedEvent event = new OrderPlacedEvent(order.getId(), order.getCustomer().getId(),
+                order.getOrderDate(), order.getTotalPrice(), lines);
+        append(ORDER_PLACED, order.getId(), event);
+    }
+
+    /**
+     * Writes one event to the outbox.
+     *
+     * @param eventType the type of the event
+     * @param orderId the ID of the order the event is about
+     * @param payload the event payload, serialized as JSON
+     */
+    private void append(String eventType, Long orderId, Object payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(null, AGGREGATE_TYPE, orderId, eventType,
+                    objectMapper.writeValueAsString(payload), LocalDateTime.now()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event of order " + orderId, ex);
+        }
+    }
+
+    /**
+     * Payload of the OrderPlaced event.
+     *
+     * @param orderId the ID of the order
+     * @param customerId the ID of the customer who placed it
+     * @param orderDate the time the order was placed
+     * @param totalPrice the total price of the order
+     * @param lines the ordered books
+     */
+    record OrderPlacedEvent(Long orderId, Long customerId, LocalDateTime orderDate, BigDecimal totalPrice,
+                            List<Line> lines) {
+
+        /**
+         * One ordered book.
+         *
+         * @param bookId the ID of the book
+         * @param quantity the number of units ordered
+         * @param price the unit price paid
+         */
+        record Line(Long bookId, int quantity, BigDecimal price) {
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.AdminOrderSummaryDto;
+import com.bnpparibasfortis.book_store.dto.OrderExportFormat;
+import com.bnpparibasfortis.book_store.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting orders.
+ * Walks the filtered orders with a forward-only cursor and writes each row to the output as soon as
+ * it is read, so memory use does not depend on the number of exported orders.
+ */
+@Service
+public class OrderExportService {
+
+    private static final String CSV_HEADER = "id,customer_id,order_date,status,total_price,item_count";
+
+    private final OrderRepository orderRepository;
+    private final ObjectWriter rowWriter;
+
+    /**
+     * Constructs a new OrderExportService with the required dependencies.
+     *
+     * @param orderRepository the repository for order data access
+     * @param objectMapper the application object mapper, used for NDJSON rows
+     */
+    public OrderExportService(OrderRepository orderRepository, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.rowWriter = objectMapper.writerFor(AdminOrderSummaryDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Writes all orders matching the filter to the output, in order ID order.
+     * The output is flushed but not closed.
+     *
+     * @param filter the order filter
+     * @param format the export format
+     * @param output the stream receiving the export
+     * @return the number of exported orders
+     * @throws IOException if writing to the output fails
+     */
+    @Transactional(readOnly = true)
+    public long exportOrders(OrderFilter filter, OrderExportFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == OrderExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<AdminOrderSummaryDto> orders = orderRepository.streamAdminOrderSummaries(
+                filter.customerId(), filter.status(), filter.from(), filter.to())) {
+            Iterator<AdminOrderSummaryDto> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                writeRow(writer, format, iterator.next());
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Writes one order as a line of the export.
+     *
+     * @param writer the export writer
+     * @param format the export format
+     * @param order the order to write
+     * @throws IOException if writing fails
+     */
+    private void writeRow(Writer writer, OrderExportFormat format, AdminOrderSummaryDto order) throws IOException {
+        if (format == OrderExportFormat.NDJSON) {
+            rowWriter.writeValue(writer, order);
+        } else {
+            writer.write(String.valueOf(order.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(order.getCustomerId()));
+            writer.write(',');
+            writer.write(order.getOrderDate() == null ? "" : order.getOrderDate().toString());
+            writer.write(',');
+            writer.write(order.getStatus() == null ? "" : order.getStatus().name());
+            writer.write(',');
+            writer.write(order.getTotalPrice() == null ? "" : order.getTotalPrice().toPlainString());
+            writer.write(',');
+            writer.write(String.valueOf(order.getItemCount()));
+        }
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,16 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters of the administrative order listing and export; null fields do not filter.
+ *
+ * @param customerId the customer who placed the orders
+ * @param status the order status
+ * @param from the inclusive lower bound of the order date
+ * @param to the exclusive upper bound of the order date
+ */
+public record OrderFilter(Long customerId, OrderStatus status, LocalDateTime from, LocalDateTime to) {
+}
@@ -0,0 +1,98 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.OrderHistoryDto;
+import com.bnpparibasfortis.book_store.dto.OrderHistoryLineDto;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import com.bnpparibasfortis.book_store.repository.OrderHistoryRow;
+import com.bnpparibasfortis.book_store.repository.OrderHistoryViewRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the order history read model in step with the orders, in the transaction of each order change,
+ * and serves the order history from it.
+ */
+@Component
+public class OrderHistoryProjection {
+
+    private static final TypeReference<List<OrderHistoryLineDto>> LINES_TYPE = new TypeReference<>() {
+    };
+
+    private final OrderHistoryViewRepository orderHistoryViewRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new OrderHistoryProjection with the required dependencies.
+     *
+     * @param orderHistoryViewRepository the repository for the order history read model
+     * @param objectMapper the application object mapper, used for the line snapshots
+     */
+    public OrderHistoryProjection(OrderHistoryViewRepository orderHistoryViewRepository, ObjectMapper objectMapper) {
+        this.orderHistoryViewRepository = orderHistoryViewRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the read model row of a placed order, snapshotting the title and price of each line.
+     *
+     * @param order the placed order, with its ID assigned and its books loaded
+     */
+    public void orderPlaced(Order order) {
+        List<OrderHistoryLineDto> lines = order.getItems().stream()
+                .map(item -> new OrderHistoryLineDto(item.getBook().getId(), item.getBook().getTitle(),
+                        item.getQuantity(), item.getPrice()))
+                .toList();
+        String lineItems;
+        try {
+            lineItems = objectMapper.writeValueAsString(lines);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize the lines of order " + order.getId(), ex);
+        }
+        orderHistoryViewRepository.insert(new OrderHistoryRow(order.getId(), order.getCustomer().getId(),
+                order.getOrderDate(), order.getStatus(), order.getTotalPrice(), lines.size(), lineItems));
+    }
+
+    /**
+     * Applies a status change already made to the orders to their read model rows.
+     *
+     * @param orderIds the IDs of the moved orders
+     * @param sources the statuses the orders could be moved from
+     * @param target the target status
+     */
+    public void statusChanged(Collection<Long> orderIds, Collection<OrderStatus> sources, OrderStatus target) {
+        orderHistoryViewRepository.updateStatus(orderIds, sources, target);
+    }
+
+    /**
+     * Reads the order history of one customer, newest first, from the read model.
+     *
+     * @param customerId the customer ID
+     * @return the customer's orders with their line snapshots
+     */
+    public List<OrderHistoryDto> getOrderHistory(Long customerId) {
+        return orderHistoryViewRepository.findByCustomerId(customerId).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Converts a read model row, parsing its line snapshot.
+     *
+     * @param row the read model row
+     * @return the order history entry
+     */
+    private OrderHistoryDto toDto(OrderHistoryRow row) {
+        try {
+            return new OrderHistoryDto(row.orderId(), row.orderDate(), row.status(), row.totalPrice(),
+                    row.customerId(), row.itemCount(), objectMapper.readValue(row.lineItems(), LINES_TYPE));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read the lines of order " + row.orderId(), ex);
+        }
+    }
+}
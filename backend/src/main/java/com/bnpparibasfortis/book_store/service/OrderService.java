@@ -1,22 +1,42 @@
 package com.bnpparibasfortis.book_store.service;
 
-import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.dto.AdminOrderSummaryDto;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
+import com.bnpparibasfortis.book_store.dto.OrderHistoryDto;
+import com.bnpparibasfortis.book_store.dto.OrderStatusUpdateDto;
+import com.bnpparibasfortis.book_store.dto.OrderSummaryDto;
+import com.bnpparibasfortis.book_store.exception.InsufficientStockException;
+import com.bnpparibasfortis.book_store.exception.OrderNotCancellableException;
 import com.bnpparibasfortis.book_store.model.Cart;
 import com.bnpparibasfortis.book_store.model.CartItem;
 import com.bnpparibasfortis.book_store.model.Customer;
 import com.bnpparibasfortis.book_store.model.Order;
 import com.bnpparibasfortis.book_store.model.OrderItem;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
 import com.bnpparibasfortis.book_store.repository.BookRepository;
+import com.bnpparibasfortis.book_store.repository.CartItemRepository;
 import com.bnpparibasfortis.book_store.repository.CartRepository;
 import com.bnpparibasfortis.book_store.repository.CustomerRepository;
+import com.bnpparibasfortis.book_store.repository.OrderItemRepository;
 import com.bnpparibasfortis.book_store.repository.OrderRepository;
+import com.bnpparibasfortis.book_store.repository.SalesRollupRepository;
+import com.bnpparibasfortis.book_store.repository.StockAdjustment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service class for managing order operations.
@@ -29,6 +49,13 @@ public class OrderService {
     private final BookRepository bookRepository;
     private final CustomerRepository customerRepository;
     private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final SalesRollupRepository salesRollupRepository;
+    private final OrderEventOutbox orderEventOutbox;
+    private final OrderHistoryProjection orderHistoryProjection;
+    private final TransactionRetryTemplate transactionRetryTemplate;
+    private final InventoryLockingMode inventoryLockingMode;
 
     /**
      * Constructs a new OrderService with the required repository dependencies.
@@ -37,101 +64,301 @@ public class OrderService {
      * @param bookRepository the repository for book data access
      * @param customerRepository the repository for customer data access
      * @param cartRepository the repository for cart data access
+     * @param cartItemRepository the repository for cart item data access
+     * @param orderItemRepository the repository for order item data access
+     * @param salesRollupRepository the repository for the sales rollups, rebuilt for cancelled orders
+     * @param orderEventOutbox the outbox receiving the events of placed orders
+     * @param orderHistoryProjection the order history read model, kept in step with every order change
+     * @param transactionRetryTemplate the template running checkouts with retries on lock conflicts
+     * @param inventoryLockingMode how checkout protects book stock against concurrent orders
      */
-    public OrderService(OrderRepository orderRepository, BookRepository bookRepository, CustomerRepository customerRepository, CartRepository cartRepository) {
+    public OrderService(OrderRepository orderRepository, BookRepository bookRepository, CustomerRepository customerRepository,
+                        CartRepository cartRepository, CartItemRepository cartItemRepository,
+                        OrderItemRepository orderItemRepository, SalesRollupRepository salesRollupRepository,
+                        OrderEventOutbox orderEventOutbox, OrderHistoryProjection orderHistoryProjection,
+                        TransactionRetryTemplate transactionRetryTemplate,
+                        @Value("${bookstore.checkout.inventory-locking:guarded-update}") InventoryLockingMode inventoryLockingMode) {
         this.orderRepository = orderRepository;
         this.bookRepository = bookRepository;
         this.customerRepository = customerRepository;
         this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.salesRollupRepository = salesRollupRepository;
+        this.orderEventOutbox = orderEventOutbox;
+        this.orderHistoryProjection = orderHistoryProjection;
+        this.transactionRetryTemplate = transactionRetryTemplate;
+        this.inventoryLockingMode = inventoryLockingMode;
     }
 
     /**
      * Places an order for the specified customer.
      * Converts the customer's cart items into order items, updates stock quantities,
      * calculates the total price, and clears the cart.
+     * The statement count does not grow with the cart: the cart is read in one query, the stock
+     * updates and the order item inserts are each sent as a JDBC batch, and the cart is cleared
+     * with one bulk delete. A checkout that loses a lock conflict is rolled back and retried.
      *
      * @param customerId the ID of the customer placing the order
      * @return the created order
-     * @throws IllegalArgumentException if customer is not found
-     * @throws IllegalStateException if the cart is empty or stock is insufficient
+     * @throws IllegalStateException if the cart is empty
+     * @throws InsufficientStockException if stock is insufficient for any cart item
+     * @throws org.springframework.dao.PessimisticLockingFailureException if every attempt loses a lock conflict
      */
-    @Transactional
     public Order placeOrder(Long customerId) {
-        Customer customer = findCustomerById(customerId);
-        Cart cart = validateAndGetCart(customer);
+        return placeOrder(customerId, () -> { }, Function.identity());
+    }
+
+    /**
+     * Places an order for the specified customer between a claim and a completion, all in the checkout transaction.
+     * The claim runs before the cart is read, so a checkout it rejects never sees the cart; the completion
+     * runs after the order is saved and before the transaction commits. Any write either of them makes is
+     * committed or rolled back together with the order.
+     *
+     * @param customerId the ID of the customer placing the order
+     * @param claim the work run in the checkout transaction before the cart is read
+     * @param completion the function applied to the placed order in the checkout transaction
+     * @param <T> the result type of the completion
+     * @return the result of the completion
+     * @throws IllegalStateException if the cart is empty
+     * @throws InsufficientStockException if stock is insufficient for any cart item
+     * @throws org.springframework.dao.PessimisticLockingFailureException if every attempt loses a lock conflict
+     */
+    public <T> T placeOrder(Long customerId, Runnable claim, Function<Order, T> completion) {
+        return runCheckout(() -> {
+            claim.run();
+            return completion.apply(placeOrderOnce(customerId));
+        });
+    }
+
+    /**
+     * Places the orders of several customers in one transaction, in the given order.
+     * Used to drain queued checkouts in micro-batches. The batch commits or rolls back as a whole,
+     * so a caller whose batch fails can place the orders again one by one to find the failing checkout.
+     *
+     * @param customerIds the IDs of the customers placing an order
+     * @return the created orders, in the order of the customer IDs
+     * @throws IllegalStateException if any cart is empty
+     * @throws InsufficientStockException if stock is insufficient for any cart item
+     * @throws org.springframework.dao.PessimisticLockingFailureException if every attempt loses a lock conflict
+     */
+    public List<Order> placeOrders(List<Long> customerIds) {
+        return runCheckout(() -> customerIds.stream().map(this::placeOrderOnce).toList());
+    }
+
+    /**
+     * Runs checkout work in a transaction retried on lock conflicts.
+     *
+     * @param checkout the checkout work
+     * @param <T> the result type
+     * @return the result of the checkout work
+     */
+    private <T> T runCheckout(Supplier<T> checkout) {
+        return transactionRetryTemplate.execute(checkout);
+    }
+
+    /**
+     * Places an order for the specified customer in the current transaction.
+     *
+     * @param customerId the ID of the customer placing the order
+     * @return the created order
+     * @throws IllegalStateException if the cart is empty
+     * @throws InsufficientStockException if stock is insufficient for any cart item
+     */
+    private Order placeOrderOnce(Long customerId) {
+        Cart cart = findNonEmptyCart(customerId);
 
-        Order order = createNewOrder(customer);
+        Order order = createNewOrder(customerRepository.getReferenceById(customerId));
         List<OrderItem> orderItems = new ArrayList<>();
         BigDecimal totalPrice = BigDecimal.ZERO;
 
         for (CartItem cartItem : cart.getItems()) {
-            validateStockAvailability(cartItem);
-
             OrderItem orderItem = createOrderItem(cartItem, order);
             orderItems.add(orderItem);
-
-            updateBookStock(cartItem);
             totalPrice = totalPrice.add(calculateItemTotal(orderItem));
         }
 
         order.setItems(orderItems);
         order.setTotalPrice(totalPrice);
+        // Allocates the IDs and writes the outbox event and the history
+        // row before any stock row is locked; all roll back with the order if the stock reservation fails
         Order savedOrder = orderRepository.save(order);
+        orderEventOutbox.orderPlaced(savedOrder);
+        orderHistoryProjection.orderPlaced(savedOrder);
 
+        reserveStock(cart.getItems());
         clearCart(cart);
         return savedOrder;
     }
 
     /**
-     * Retrieves all orders for a specific customer.
+     * Retrieves all orders for a specific customer, newest first.
+     * Served by the order history read model alone, with the line snapshots taken at checkout,
+     * so the cost does not grow with the catalog or with the orders of other customers.
      *
      * @param customerId the customer ID
      * @return list of orders for the customer
-     * @throws IllegalArgumentException if customer is not found
      */
     @Transactional(readOnly = true)
-    public List<Order> getOrdersForCustomer(Long customerId) {
-        Customer customer = findCustomerById(customerId);
-        return orderRepository.findAll().stream()
-                .filter(order -> order.getCustomer().getId().equals(customerId))
-                .toList();
+    public List<OrderHistoryDto> getOrdersForCustomer(Long customerId) {
+        return orderHistoryProjection.getOrderHistory(customerId);
     }
 
     /**
-     * Retrieves all orders in the system.
+     * Retrieves one page of a customer's order history as lightweight summaries, newest first.
+     * Only the order headers are read; order items are counted but never loaded.
      *
-     * @return list of all orders
+     * @param customerId the customer ID
+     * @param from the inclusive lower bound of the order date, or null for no bound
+     * @param to the exclusive upper bound of the order date, or null for no bound
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of orders on the page
+     * @return the page of order summaries with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is invalid
      */
     @Transactional(readOnly = true)
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public CursorPage<OrderSummaryDto> getOrderHistory(Long customerId, LocalDateTime from, LocalDateTime to,
+                                                       String after, int limit) {
+        OrderCursor cursor = after == null || after.isBlank() ? null : OrderCursor.decode(after);
+        List<OrderSummaryDto> orders = orderRepository.findOrderSummaries(customerId, from, to,
+                cursor == null ? null : cursor.orderDate(),
+                cursor == null ? null : cursor.id(),
+                Limit.of(limit + 1));
+
+        boolean hasMore = orders.size() > limit;
+        List<OrderSummaryDto> pageItems = hasMore ? orders.subList(0, limit) : orders;
+        String nextCursor = null;
+        if (hasMore) {
+            OrderSummaryDto last = pageItems.get(limit - 1);
+            nextCursor = new OrderCursor(last.getOrderDate(), last.getId()).encode();
+        }
+        return new CursorPage<>(pageItems, nextCursor, hasMore);
     }
 
     /**
-     * Finds a customer by ID.
+     * Retrieves one page of all orders in the system as lightweight summaries, newest first.
+     * Only the order headers are read; customers and order items are never loaded.
      *
-     * @param customerId the customer ID
-     * @return the customer
-     * @throws IllegalArgumentException if customer is not found
+     * @param filter the order filter
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of orders on the page
+     * @return the page of order summaries with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is invalid
      */
-    private Customer findCustomerById(Long customerId) {
-        return customerRepository.findById(customerId)
-                .orElseThrow(() -> new IllegalArgumentException("Customer not found with ID: " + customerId));
+    @Transactional(readOnly = true)
+    public CursorPage<AdminOrderSummaryDto> getAllOrders(OrderFilter filter, String after, int limit) {
+        OrderCursor cursor = after == null || after.isBlank() ? null : OrderCursor.decode(after);
+        List<AdminOrderSummaryDto> orders = orderRepository.findAdminOrderSummaries(
+                filter.customerId(), filter.status(), filter.from(), filter.to(),
+                cursor == null ? null : cursor.orderDate(),
+                cursor == null ? null : cursor.id(),
+                Limit.of(limit + 1));
+
+        boolean hasMore = orders.size() > limit;
+        List<AdminOrderSummaryDto> pageItems = hasMore ? orders.subList(0, limit) : orders;
+        String nextCursor = null;
+        if (hasMore) {
+            AdminOrderSummaryDto last = pageItems.get(limit - 1);
+            nextCursor = new OrderCursor(last.getOrderDate(), last.getId()).encode();
+        }
+        return new CursorPage<>(pageItems, nextCursor, hasMore);
     }
 
     /**
-     * Validates and retrieves the customer's cart.
+     * Moves the given orders to the target status with a single set-based UPDATE.
+     * Only orders whose current status allows the transition are updated; the others are skipped.
+     * Moving orders to CANCELLED cancels them, which also returns their stock.
      *
-     * @param customer the customer
-     * @return the customer's cart
-     * @throws IllegalStateException if cart is empty
+     * @param orderIds the IDs of the orders to move
+     * @param target the target status
+     * @return the number of requested and updated orders
+     * @throws IllegalArgumentException if no status can move to the target status
      */
-    private Cart validateAndGetCart(Customer customer) {
-        Cart cart = customer.getCart();
-        if (cart == null || cart.getItems().isEmpty()) {
-            throw new IllegalStateException("Cannot place order: cart is empty");
+    @Transactional
+    public OrderStatusUpdateDto transitionOrders(Collection<Long> orderIds, OrderStatus target) {
+        if (target == OrderStatus.CANCELLED) {
+            return cancelOrders(orderIds);
+        }
+        Set<OrderStatus> sources = OrderStatus.sourcesOf(target);
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("Orders cannot be moved to status " + target);
         }
-        return cart;
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        int updated = orderRepository.updateStatus(ids, sources, target);
+        orderHistoryProjection.statusChanged(ids, sources, target);
+        return new OrderStatusUpdateDto(target, ids.size(), updated);
+    }
+
+    /**
+     * Cancels one order of a customer and returns its units to stock.
+     * The cancelled order is returned with its items and their books, read in one statement.
+     *
+     * @param customerId the ID of the customer who placed the order
+     * @param orderId the ID of the order to cancel
+     * @return the cancelled order
+     * @throws IllegalArgumentException if the customer has no order with this ID
+     * @throws OrderNotCancellableException if the order can no longer be cancelled
+     */
+    public Order cancelOrder(Long customerId, Long orderId) {
+        return transactionRetryTemplate.execute(() -> {
+            if (!orderRepository.existsByIdAndCustomerId(orderId, customerId)) {
+                throw new IllegalArgumentException("Order not found with ID: " + orderId);
+            }
+            if (cancelOrdersOnce(List.of(orderId)).isEmpty()) {
+                throw new OrderNotCancellableException(orderId);
+            }
+            return orderRepository.findWithItemsById(orderId).orElseThrow();
+        });
+    }
+
+    /**
+     * Cancels the given orders and returns their units to stock, with a fixed number of statements.
+     * Orders that do not exist or can no longer be cancelled are skipped. The cancellable orders are
+     * locked and moved to CANCELLED with one update each, and the stock of every book they contain
+     * is restored by one batch holding a single update per distinct book. The days of the cancelled
+     * orders are marked dirty, so the sales rollups drop them on their next refresh.
+     *
+     * @param orderIds the IDs of the orders to cancel
+     * @return the number of requested and cancelled orders
+     * @throws org.springframework.dao.PessimisticLockingFailureException if every attempt loses a lock conflict
+     */
+    public OrderStatusUpdateDto cancelOrders(Collection<Long> orderIds) {
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        List<Long> cancelled = transactionRetryTemplate.execute(() -> cancelOrdersOnce(ids));
+        return new OrderStatusUpdateDto(OrderStatus.CANCELLED, ids.size(), cancelled.size());
+    }
+
+    /**
+     * Runs one cancellation attempt in the current transaction.
+     *
+     * @param orderIds the IDs of the orders to cancel
+     * @return the IDs of the cancelled orders
+     */
+    private List<Long> cancelOrdersOnce(Collection<Long> orderIds) {
+        Set<OrderStatus> sources = OrderStatus.sourcesOf(OrderStatus.CANCELLED);
+        List<Long> cancellable = orderRepository.lockIdsInStatus(orderIds, sources);
+        if (cancellable.isEmpty()) {
+            return cancellable;
+        }
+        orderRepository.updateStatus(cancellable, sources, OrderStatus.CANCELLED);
+        orderHistoryProjection.statusChanged(cancellable, sources, OrderStatus.CANCELLED);
+        bookRepository.incrementStock(orderItemRepository.sumQuantitiesByBook(cancellable));
+        // Cancelled orders leave the sales rollups: the next refresh rebuilds their days
+        salesRollupRepository.markOrderDaysDirty(cancellable);
+        return cancellable;
+    }
+
+    /**
+     * Retrieves the customer's cart with its items and their books in one query.
+     *
+     * @param customerId the customer ID
+     * @return the customer's cart
+     * @throws IllegalStateException if the customer has no cart or the cart is empty
+     */
+    private Cart findNonEmptyCart(Long customerId) {
+        return cartRepository.findWithItemsByCustomerId(customerId)
+                .filter(cart -> !cart.getItems().isEmpty())
+                .orElseThrow(() -> new IllegalStateException("Cannot place order: cart is empty"));
     }
 
     /**
@@ -144,21 +371,52 @@ public class OrderService {
         Order order = new Order();
         order.setCustomer(customer);
         order.setOrderDate(LocalDateTime.now());
-        order.setStatus("NEW");
+        order.setStatus(OrderStatus.NEW);
         return order;
     }
 
     /**
-     * Validates that sufficient stock is available for the cart item.
+     * Decrements the stock of every cart line with one guarded UPDATE per line, sent as a single batch.
+     * Lines are applied in book ID order so concurrent checkouts lock rows in the same order.
+     * A line whose update matches no row had insufficient stock, which rolls back the whole checkout.
+     * In pessimistic mode all cart books are locked first, so the updates only touch rows already held.
+     *
+     * @param cartItems the cart items to reserve stock for
+     * @throws InsufficientStockException if any book has insufficient stock
+     */
+    private void reserveStock(List<CartItem> cartItems) {
+        List<CartItem> lines = cartItems.stream()
+                .sorted(Comparator.comparing(item -> item.getBook().getId()))
+                .toList();
+        if (inventoryLockingMode == InventoryLockingMode.PESSIMISTIC) {
+            checkLockedStock(lines);
+        }
+        boolean[] decremented = bookRepository.decrementStock(lines.stream()
+                .map(item -> new StockAdjustment(item.getBook().getId(), item.getQuantity()))
+                .toList());
+
+        for (int i = 0; i < lines.size(); i++) {
+            if (!decremented[i]) {
+                CartItem line = lines.get(i);
+                throw new InsufficientStockException(line.getBook().getTitle(), line.getQuantity());
+            }
+        }
+    }
+
+    /**
+     * Locks the books of all cart lines in one statement and checks their stock against the locked rows.
      *
-     * @param cartItem the cart item to validate
-     * @throws IllegalStateException if insufficient stock
+     * @param lines the cart lines, in book ID order
+     * @throws InsufficientStockException if any book has insufficient stock
      */
-    private void validateStockAvailability(CartItem cartItem) {
-        Book book = cartItem.getBook();
-        if (book.getStockQuantity() < cartItem.getQuantity()) {
-            throw new IllegalStateException("Insufficient stock for book: " + book.getTitle() + 
-                    ". Available: " + book.getStockQuantity() + ", Requested: " + cartItem.getQuantity());
+    private void checkLockedStock(List<CartItem> lines) {
+        Map<Long, Integer> stock = bookRepository.lockStock(lines.stream()
+                .map(item -> item.getBook().getId())
+                .toList());
+        for (CartItem line : lines) {
+            if (stock.getOrDefault(line.getBook().getId(), 0) < line.getQuantity()) {
+                throw new InsufficientStockException(line.getBook().getTitle(), line.getQuantity());
+            }
         }
     }
 
@@ -178,17 +436,6 @@ public class OrderService {
         return orderItem;
     }
 
-    /**
-     * Updates the book stock quantity after order placement.
-     *
-     * @param cartItem the cart item containing book and quantity information
-     */
-    private void updateBookStock(CartItem cartItem) {
-        Book book = cartItem.getBook();
-        book.setStockQuantity(book.getStockQuantity() - cartItem.getQuantity());
-        bookRepository.save(book);
-    }
-
     /**
      * Calculates the total price for an order item.
      *
@@ -200,12 +447,12 @@ public class OrderService {
     }
 
     /**
-     * Clears all items from the cart after successful order placement.
+     * Clears all items from the cart after successful order placement, with one bulk delete.
      *
      * @param cart the cart to clear
      */
     private void clearCart(Cart cart) {
+        cartItemRepository.deleteByCartId(cart.getId());
         cart.getItems().clear();
-        cartRepository.save(cart);
     }
 }
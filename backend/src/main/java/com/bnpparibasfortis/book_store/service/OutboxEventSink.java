@@ -0,0 +1,21 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the events drained from the transactional outbox, such as a message broker.
+ * Delivery is at least once: a batch whose publication fails, or whose relay transaction does not
+ * commit afterwards, is published again, so consumers must tolerate duplicate event IDs.
+ */
+public interface OutboxEventSink {
+
+    /**
+     * Publishes a batch of events, in outbox ID order.
+     *
+     * @param events the events to publish
+     * @throws Exception if the batch could not be published; the events stay in the outbox
+     */
+    void publish(List<OutboxEvent> events) throws Exception;
+}
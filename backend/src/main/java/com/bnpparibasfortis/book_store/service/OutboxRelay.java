@@ -0,0 +1,115 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.model.OutboxEvent;
+import com.bnpparibasfortis.book_store.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Relays the events of the transactional outbox to the configured sink.
+ * Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, published and deleted in one transaction,
+ * so relays on several nodes share the work without publishing the same batch concurrently.
+ * A batch whose publication fails is rolled back and published again on a later run.
+ */
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventSink outboxEventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter publishedCounter;
+
+    /**
+     * Constructs a new OutboxRelay and registers its metrics.
+     *
+     * @param outboxEventRepository the repository for outbox events
+     * @param outboxEventSink the sink the events are published to
+     * @param transactionManager the transaction manager running one transaction per batch
+     * @param meterRegistry the registry of the published events counter
+     * @param enabled whether this node relays outbox events
+     * @param batchSize the maximum number of events published in one batch
+     * @param maxBatchesPerRun the maximum number of batches published in one run
+     * @throws IllegalArgumentException if the batch size or batch count is not positive
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxEventSink outboxEventSink,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                       @Value("${bookstore.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${bookstore.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${bookstore.outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun) {
+        if (batchSize < 1 || maxBatchesPerRun < 1) {
+            throw new IllegalArgumentException("Outbox relay batch size and batches per run must be positive");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxEventSink = outboxEventSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.publishedCounter = Counter.builder("bookstore.outbox.published")
+                .description("Outbox events published to the sink")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes waiting outbox events, batch by batch, until the outbox is drained or the
+     * run has published its maximum number of batches.
+     *
+     * @return the number of published events
+     */
+    @Scheduled(fixedDelayString = "${bookstore.outbox.relay.interval:1s}")
+    public int relay() {
+        if (!enabled) {
+            return 0;
+        }
+        int published = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer count = transactionTemplate.execute(status -> relayBatch());
+            published += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return published;
+    }
+
+    /**
+     * Locks, publishes and deletes one batch of events in the current transaction.
+     *
+     * @return the number of published events
+     * @throws OutboxPublishException if the sink fails to publish the batch
+     */
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        try {
+            outboxEventSink.publish(events);
+        } catch (Exception ex) {
+            throw new OutboxPublishException("Could not publish " + events.size() + " outbox events starting at "
+                    + events.get(0).getId(), ex);
+        }
+        outboxEventRepository.deleteAllInBatch(events);
+        publishedCounter.increment(events.size());
+        return events.size();
+    }
+
+    /**
+     * Raised when the sink fails to publish a batch, rolling the batch back into the outbox.
+     */
+    static class OutboxPublishException extends RuntimeException {
+        OutboxPublishException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
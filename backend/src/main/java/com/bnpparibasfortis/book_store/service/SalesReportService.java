@@ -0,0 +1,99 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.SalesReportGrouping;
+import com.bnpparibasfortis.book_store.dto.SalesReportRowDto;
+import com.bnpparibasfortis.book_store.repository.SalesRollupRepository;
+import com.bnpparibasfortis.book_store.repository.SalesRollupRepository.DirtyDay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Service maintaining and serving the daily sales rollups.
+ * A scheduled refresh rebuilds only the days of the orders placed since the last refresh, found from
+ * the high-water mark on the order ID, so reports read a few aggregate rows instead of every order item.
+ * Order IDs are handed out in blocks, so an order can commit with an ID below the mark;
+ * the days within the settle window are therefore rebuilt on every refresh as well.
+ * Changes to orders below the mark, such as cancellations, mark their days dirty, and the next
+ * refresh rebuilds just those days.
+ */
+@Service
+public class SalesReportService {
+
+    static final int MAX_REPORT_DAYS = 366;
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final Duration settleWindow;
+
+    /**
+     * Constructs a new SalesReportService with the required dependencies.
+     *
+     * @param salesRollupRepository the repository for the sales rollups
+     * @param settleWindow how far back every refresh rebuilds the rollups regardless of the high-water mark
+     */
+    public SalesReportService(SalesRollupRepository salesRollupRepository,
+                              @Value("${bookstore.reporting.rollup.settle-window:1h}") Duration settleWindow) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.settleWindow = settleWindow;
+    }
+
+    /**
+     * Brings the sales rollups up to date with the orders.
+     * Rebuilds the days of the orders above the high-water mark, the days marked dirty and the settle window.
+     * The rollup state stays locked until commit, so refreshes on several nodes run one after another;
+     * transactions marking days dirty never touch it.
+     * Read committed isolation keeps the rollup queries from locking the order rows they read.
+     *
+     * @return the number of rebuilt days
+     */
+    @Scheduled(fixedDelayString = "${bookstore.reporting.rollup.refresh-interval:5m}",
+            initialDelayString = "${bookstore.reporting.rollup.refresh-interval:5m}")
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int refreshRollups() {
+        LocalDateTime now = LocalDateTime.now();
+        long highWaterMark = salesRollupRepository.lockHighWaterMark();
+        long maxOrderId = salesRollupRepository.findMaxOrderId();
+        List<DirtyDay> dirtyDays = salesRollupRepository.findDirtyDays();
+
+        SortedSet<LocalDate> days = new TreeSet<>(salesRollupRepository.findOrderDays(highWaterMark, maxOrderId));
+        dirtyDays.forEach(dirtyDay -> days.add(dirtyDay.day()));
+        for (LocalDate day = now.minus(settleWindow).toLocalDate(); !day.isAfter(now.toLocalDate()); day = day.plusDays(1)) {
+            days.add(day);
+        }
+
+        salesRollupRepository.rebuildDays(days);
+        salesRollupRepository.clearDirtyDays(dirtyDays);
+        salesRollupRepository.updateHighWaterMark(Math.max(highWaterMark, maxOrderId), now);
+        return days.size();
+    }
+
+    /**
+     * Retrieves the sales of an inclusive range of days from the rollups.
+     *
+     * @param grouping whether to report per day, or per book or publisher and day
+     * @param from the first day
+     * @param to the last day
+     * @return the report rows ordered by day and group ID
+     * @throws IllegalArgumentException if the range is reversed or longer than a year
+     */
+    @Transactional(readOnly = true)
+    public List<SalesReportRowDto> getSalesReport(SalesReportGrouping grouping, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Report start date must not be after its end date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new IllegalArgumentException("Report range must not exceed " + MAX_REPORT_DAYS + " days");
+        }
+        return salesRollupRepository.findReport(grouping, from, to);
+    }
+}
@@ -0,0 +1,91 @@
+package com.bnpparibasfortis.book_store.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and runs it again when it loses a lock conflict,
+ * i.e. a lock wait timeout or a deadlock reported as a {@link PessimisticLockingFailureException}.
+ * Attempts are bounded and separated by an exponential backoff with full jitter, so transactions
+ * that collided once do not collide again in lockstep.
+ */
+@Component
+public class TransactionRetryTemplate {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    /**
+     * Constructs a new TransactionRetryTemplate.
+     *
+     * @param transactionManager the transaction manager each attempt runs in
+     * @param maxAttempts the maximum number of attempts, including the first one
+     * @param initialBackoff the upper bound of the wait before the second attempt
+     * @param maxBackoff the upper bound of the wait before any attempt
+     * @throws IllegalArgumentException if maxAttempts is less than one
+     */
+    public TransactionRetryTemplate(PlatformTransactionManager transactionManager,
+                                    @Value("${bookstore.transaction.retry.max-attempts:4}") int maxAttempts,
+                                    @Value("${bookstore.transaction.retry.initial-backoff:20ms}") Duration initialBackoff,
+                                    @Value("${bookstore.transaction.retry.max-backoff:200ms}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Transaction retry max attempts must be at least 1");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Runs the action in a new transaction, retrying it when it fails on a lock conflict.
+     * When a transaction is already active the action joins it and runs once, since only
+     * the owner of the transaction can roll it back and start over.
+     *
+     * @param action the unit of work
+     * @param <T> the result type
+     * @return the result of the first successful attempt
+     * @throws PessimisticLockingFailureException if the last attempt fails on a lock conflict
+     */
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Waits a random time between zero and the exponential backoff of the given attempt.
+     *
+     * @param attempt the number of the attempt that failed
+     * @param failure the lock conflict, rethrown if the wait is interrupted
+     */
+    private void backOff(int attempt, PessimisticLockingFailureException failure) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+}
@@ -10,7 +10,13 @@ public final class AppConstants {
     public static final String LOGIN_URL = "/api/auth/login";
     public static final String LOGOUT_URL = "/api/auth/logout";
     public static final String REGISTER_URL = "/api/auth/register";
+    public static final String CATALOG_URL = "/api/books/**";
     public static final String ADMIN = "ADMIN";
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Maximum number of related IDs embedded in a single-entity response; the rest is reached through paged queries. */
+    public static final int MAX_EMBEDDED_IDS = 20;
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
 
 
 }
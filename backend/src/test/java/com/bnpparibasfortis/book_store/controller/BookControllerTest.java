@@ -1,6 +1,9 @@
 package com.bnpparibasfortis.book_store.controller;
 
 import com.bnpparibasfortis.book_store.dto.BookDto;
+import com.bnpparibasfortis.book_store.dto.BookSearchHitDto;
+import com.bnpparibasfortis.book_store.dto.BookSortField;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
 import com.bnpparibasfortis.book_store.exception.BookNotFoundException;
 import com.bnpparibasfortis.book_store.mapper.BookMapper;
 import com.bnpparibasfortis.book_store.model.Author;
@@ -164,6 +167,70 @@ class BookControllerTest {
         verify(bookService).getAllBooks();
     }
 
+    @Test
+    @DisplayName("Should return a keyset page of books when limit is given")
+    void shouldReturnKeysetPageOfBooksWhenLimitIsGiven() throws Exception {
+
+        CursorPage<Book> page = new CursorPage<>(List.of(testBook), "next-cursor", true);
+
+        when(bookService.getBooksPage(BookSortField.TITLE, null, 1)).thenReturn(page);
+        when(bookMapper.toDto(testBook)).thenReturn(testBookDto);
+
+
+        mockMvc.perform(get("/api/books").param("limit", "1").param("sort", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Books retrieved successfully"))
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(1))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+
+        verify(bookService).getBooksPage(BookSortField.TITLE, null, 1);
+    }
+
+    @Test
+    @DisplayName("Should return ranked search hits for a query")
+    void shouldReturnRankedSearchHitsForQuery() throws Exception {
+
+        BookSearchHitDto hit = new BookSearchHitDto(1L, "Test Book", List.of("John Doe"), "Test Publisher",
+                new BigDecimal("29.99"), 2.5);
+        when(bookService.searchBooks("test book", null, 20))
+                .thenReturn(new CursorPage<>(List.of(hit), null, false));
+
+
+        mockMvc.perform(get("/api/books/search").param("q", "test book"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.items[0].id").value(1))
+                .andExpect(jsonPath("$.data.items[0].score").value(2.5))
+                .andExpect(jsonPath("$.data.hasMore").value(false));
+
+        verify(bookService).searchBooks("test book", null, 20);
+    }
+
+    @Test
+    @DisplayName("Should return bad request for a query without searchable terms")
+    void shouldReturnBadRequestForQueryWithoutSearchableTerms() throws Exception {
+
+        when(bookService.searchBooks("?!", null, 20))
+                .thenThrow(new IllegalArgumentException("Search query must contain at least one letter or digit"));
+
+
+        mockMvc.perform(get("/api/books/search").param("q", "?!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("Should return bad request for unsupported sort key")
+    void shouldReturnBadRequestForUnsupportedSortKey() throws Exception {
+
+        mockMvc.perform(get("/api/books").param("limit", "10").param("sort", "isbn"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
     @Test
     @DisplayName("Should get book by ID successfully")
     void shouldGetBookByIdSuccessfully() throws Exception {
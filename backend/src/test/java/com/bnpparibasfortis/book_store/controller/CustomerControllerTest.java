@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
@@ -92,7 +93,7 @@ class CustomerControllerTest {
         
         when(customerMapper.toEntity(any(RegisterRequest.class))).thenReturn(testCustomer);
         when(customerService.registerUser(any(Customer.class))).thenReturn(testCustomer);
-        when(customerMapper.toDto(any(Customer.class))).thenReturn(testCustomerDto);
+        when(customerMapper.toDto(any(Customer.class), anyList(), anyLong())).thenReturn(testCustomerDto);
 
         mockMvc.perform(post("/api/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -106,7 +107,7 @@ class CustomerControllerTest {
 
         verify(customerMapper).toEntity(any(RegisterRequest.class));
         verify(customerService).registerUser(any(Customer.class));
-        verify(customerMapper).toDto(any(Customer.class));
+        verify(customerMapper).toDto(any(Customer.class), anyList(), anyLong());
     }
 
     @Test
@@ -130,7 +131,7 @@ class CustomerControllerTest {
         upgradedCustomer.setRole(Customer.Role.ADMIN);
 
         when(customerService.upgradeToAdmin(1L)).thenReturn(upgradedCustomer);
-        when(customerMapper.toDto(any(Customer.class))).thenReturn(testCustomerDto);
+        when(customerMapper.toDto(any(Customer.class), anyList(), anyLong())).thenReturn(testCustomerDto);
 
         mockMvc.perform(post("/api/upgrade-to-admin/1"))
                 .andExpect(status().isOk())
@@ -138,7 +139,7 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.message").value("User upgraded to admin successfully"));
 
         verify(customerService).upgradeToAdmin(1L);
-        verify(customerMapper).toDto(any(Customer.class));
+        verify(customerMapper).toDto(any(Customer.class), anyList(), anyLong());
     }
 
     @Test
@@ -150,7 +151,7 @@ class CustomerControllerTest {
 
         when(customerMapper.toEntity(any(RegisterRequest.class))).thenReturn(testCustomer);
         when(customerService.createAdmin(any(Customer.class))).thenReturn(adminCustomer);
-        when(customerMapper.toDto(any(Customer.class))).thenReturn(testCustomerDto);
+        when(customerMapper.toDto(any(Customer.class), anyList(), anyLong())).thenReturn(testCustomerDto);
 
         mockMvc.perform(post("/api/create-admin")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -161,7 +162,7 @@ class CustomerControllerTest {
 
         verify(customerMapper).toEntity(any(RegisterRequest.class));
         verify(customerService).createAdmin(any(Customer.class));
-        verify(customerMapper).toDto(any(Customer.class));
+        verify(customerMapper).toDto(any(Customer.class), anyList(), anyLong());
     }
 
     @Test
@@ -187,7 +188,7 @@ class CustomerControllerTest {
     void shouldGetCustomerByIdSuccessfully() throws Exception {
         
         when(customerService.getCustomerById(1L)).thenReturn(testCustomer);
-        when(customerMapper.toDto(any(Customer.class))).thenReturn(testCustomerDto);
+        when(customerMapper.toDto(any(Customer.class), anyList(), anyLong())).thenReturn(testCustomerDto);
 
         mockMvc.perform(get("/api/admin/customers/1"))
                 .andExpect(status().isOk())
@@ -196,7 +197,7 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.data.id").value(1));
 
         verify(customerService).getCustomerById(1L);
-        verify(customerMapper).toDto(any(Customer.class));
+        verify(customerMapper).toDto(any(Customer.class), anyList(), anyLong());
     }
 
     @Test
@@ -1,6 +1,10 @@
 package com.bnpparibasfortis.book_store.controller;
 
 import com.bnpparibasfortis.book_store.dto.ApiResponse;
+import com.bnpparibasfortis.book_store.exception.CheckoutInProgressException;
+import com.bnpparibasfortis.book_store.exception.CheckoutQueueFullException;
+import com.bnpparibasfortis.book_store.exception.InsufficientStockException;
+import com.bnpparibasfortis.book_store.exception.OrderNotCancellableException;
 import com.bnpparibasfortis.book_store.util.AppConstants;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -135,6 +139,70 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
     }
 
+    @Test
+    @DisplayName("Should handle InsufficientStockException with CONFLICT status")
+    void shouldHandleInsufficientStockExceptionWithConflictStatus() {
+
+        InsufficientStockException exception = new InsufficientStockException("Dune", 3);
+
+
+        ResponseEntity<ApiResponse<Object>> response = globalExceptionHandler.handleInsufficientStock(exception);
+
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().isSuccess()).isFalse();
+        assertThat(response.getBody().getMessage()).isEqualTo("Insufficient stock for book: Dune. Requested: 3");
+    }
+
+    @Test
+    @DisplayName("Should handle CheckoutInProgressException with CONFLICT status")
+    void shouldHandleCheckoutInProgressExceptionWithConflictStatus() {
+
+        CheckoutInProgressException exception = new CheckoutInProgressException();
+
+
+        ResponseEntity<ApiResponse<Object>> response = globalExceptionHandler.handleCheckoutInProgress(exception);
+
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().isSuccess()).isFalse();
+        assertThat(response.getBody().getMessage()).isEqualTo("A checkout with this idempotency key is still in progress");
+    }
+
+    @Test
+    @DisplayName("Should handle CheckoutQueueFullException with SERVICE_UNAVAILABLE status")
+    void shouldHandleCheckoutQueueFullExceptionWithServiceUnavailableStatus() {
+
+        CheckoutQueueFullException exception = new CheckoutQueueFullException();
+
+
+        ResponseEntity<ApiResponse<Object>> response = globalExceptionHandler.handleCheckoutQueueFull(exception);
+
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().isSuccess()).isFalse();
+        assertThat(response.getBody().getMessage()).isEqualTo("Checkout queue is full, please retry later");
+    }
+
+    @Test
+    @DisplayName("Should handle OrderNotCancellableException with CONFLICT status")
+    void shouldHandleOrderNotCancellableExceptionWithConflictStatus() {
+
+        OrderNotCancellableException exception = new OrderNotCancellableException(10L);
+
+
+        ResponseEntity<ApiResponse<Object>> response = globalExceptionHandler.handleOrderNotCancellable(exception);
+
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().isSuccess()).isFalse();
+        assertThat(response.getBody().getMessage()).startsWith("Order 10 cannot be cancelled");
+    }
+
     @Test
     @DisplayName("Should handle AuthenticationException")
     void shouldHandleAuthenticationException() {
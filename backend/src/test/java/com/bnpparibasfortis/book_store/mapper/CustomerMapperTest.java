@@ -5,7 +5,6 @@ import com.bnpparibasfortis.book_store.dto.RegisterRequest;
 import com.bnpparibasfortis.book_store.model.Cart;
 import com.bnpparibasfortis.book_store.model.Customer;
 import com.bnpparibasfortis.book_store.model.CustomerStatus;
-import com.bnpparibasfortis.book_store.model.Order;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,8 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,12 +45,6 @@ class CustomerMapperTest {
         testCart.setId(10L);
         testCustomer.setCart(testCart);
 
-        Order order1 = new Order();
-        order1.setId(100L);
-        Order order2 = new Order();
-        order2.setId(200L);
-        testCustomer.setOrders(Arrays.asList(order1, order2));
-
         testCustomerDto = new CustomerDto();
         testCustomerDto.setId(1L);
         testCustomerDto.setName("John Doe");
@@ -92,7 +83,8 @@ class CustomerMapperTest {
         assertThat(result.getRole()).isEqualTo(testCustomer.getRole());
         assertThat(result.getStatus()).isEqualTo(testCustomer.getStatus().name());
         assertThat(result.getCartId()).isEqualTo(10L);
-        assertThat(result.getOrderIds()).containsExactly(100L, 200L);
+        assertThat(result.getOrderIds()).isNull();
+        assertThat(result.getOrderCount()).isNull();
     }
 
     @Test
@@ -107,36 +99,33 @@ class CustomerMapperTest {
 
         assertThat(result).isNotNull();
         assertThat(result.getCartId()).isNull();
-        assertThat(result.getOrderIds()).containsExactly(100L, 200L);
     }
 
     @Test
-    @DisplayName("Should convert Customer to CustomerDto with null orders")
-    void shouldConvertCustomerToCustomerDtoWithNullOrders() {
-
-        testCustomer.setOrders(null);
+    @DisplayName("Should convert Customer to CustomerDto with recent order IDs and order count")
+    void shouldConvertCustomerToCustomerDtoWithRecentOrderIdsAndOrderCount() {
 
-
-        CustomerDto result = customerMapper.toDto(testCustomer);
+        CustomerDto result = customerMapper.toDto(testCustomer, List.of(200L, 100L), 35L);
 
 
         assertThat(result).isNotNull();
+        assertThat(result.getId()).isEqualTo(testCustomer.getId());
+        assertThat(result.getUsername()).isEqualTo(testCustomer.getUsername());
         assertThat(result.getCartId()).isEqualTo(10L);
-        assertThat(result.getOrderIds()).isEmpty();
+        assertThat(result.getOrderIds()).containsExactly(200L, 100L);
+        assertThat(result.getOrderCount()).isEqualTo(35L);
     }
 
     @Test
-    @DisplayName("Should convert Customer to CustomerDto with empty orders")
-    void shouldConvertCustomerToCustomerDtoWithEmptyOrders() {
-
-        testCustomer.setOrders(new ArrayList<>());
+    @DisplayName("Should convert Customer to CustomerDto with no orders")
+    void shouldConvertCustomerToCustomerDtoWithNoOrders() {
 
-
-        CustomerDto result = customerMapper.toDto(testCustomer);
+        CustomerDto result = customerMapper.toDto(testCustomer, List.of(), 0L);
 
 
         assertThat(result).isNotNull();
         assertThat(result.getOrderIds()).isEmpty();
+        assertThat(result.getOrderCount()).isZero();
     }
 
     @Test
@@ -166,7 +155,6 @@ class CustomerMapperTest {
         assertThat(result.getRegisteredDate()).isEqualTo(testCustomerDto.getRegisteredDate());
         assertThat(result.getRole()).isEqualTo(testCustomerDto.getRole());
         assertThat(result.getStatus()).isEqualTo(CustomerStatus.valueOf(testCustomerDto.getStatus()));
-        assertThat(result.getOrders()).isNotNull().isEmpty();
         assertThat(result.getCart()).isNull();
     }
 
@@ -199,7 +187,6 @@ class CustomerMapperTest {
         assertThat(result.getRegisteredDate()).isNull();
         assertThat(result.getRole()).isEqualTo(Customer.Role.USER);
         assertThat(result.getStatus()).isNull();
-        assertThat(result.getOrders()).isNotNull().isEmpty();
         assertThat(result.getCart()).isNull();
     }
 
@@ -231,7 +218,6 @@ class CustomerMapperTest {
         assertThat(result.getId()).isNull();
         assertThat(result.getRegisteredDate()).isNull();
         assertThat(result.getRole()).isEqualTo(Customer.Role.USER);
-        assertThat(result.getOrders()).isNotNull().isEmpty();
         assertThat(result.getCart()).isNull();
     }
 
@@ -245,67 +231,6 @@ class CustomerMapperTest {
         assertThat(result).isNull();
     }
 
-    @Test
-    @DisplayName("Should convert orders to IDs correctly")
-    void shouldConvertOrdersToIdsCorrectly() {
-
-        Order order1 = new Order();
-        order1.setId(1L);
-        Order order2 = new Order();
-        order2.setId(2L);
-        Order order3 = new Order();
-        order3.setId(3L);
-        List<Order> orders = Arrays.asList(order1, order2, order3);
-
-
-        List<Long> result = customerMapper.ordersToIds(orders);
-
-
-        assertThat(result).isNotNull().containsExactly(1L, 2L, 3L);
-    }
-
-    @Test
-    @DisplayName("Should handle null orders in ordersToIds")
-    void shouldHandleNullOrdersInOrdersToIds() {
-
-        List<Long> result = customerMapper.ordersToIds(null);
-
-
-        assertThat(result).isNotNull().isEmpty();
-    }
-
-    @Test
-    @DisplayName("Should handle empty orders in ordersToIds")
-    void shouldHandleEmptyOrdersInOrdersToIds() {
-
-        List<Order> emptyOrders = new ArrayList<>();
-
-
-        List<Long> result = customerMapper.ordersToIds(emptyOrders);
-
-
-        assertThat(result).isNotNull().isEmpty();
-    }
-
-    @Test
-    @DisplayName("Should handle orders with null IDs in ordersToIds")
-    void shouldHandleOrdersWithNullIdsInOrdersToIds() {
-
-        Order order1 = new Order();
-        order1.setId(1L);
-        Order order2 = new Order();
-        order2.setId(null);
-        Order order3 = new Order();
-        order3.setId(3L);
-        List<Order> orders = Arrays.asList(order1, order2, order3);
-
-
-        List<Long> result = customerMapper.ordersToIds(orders);
-
-
-        assertThat(result).isNotNull().containsExactly(1L, null, 3L);
-    }
-
     @Test
     @DisplayName("Should preserve all customer roles in mapping")
     void shouldPreserveAllCustomerRolesInMapping() {
@@ -0,0 +1,103 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(CacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("BookRepository Stock Tests")
+class BookRepositoryStockTest {
+
+    private static final int INITIAL_STOCK = 7;
+    private static final int ATTEMPTS = 6;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Book hotTitle;
+
+    @AfterEach
+    void tearDown() {
+        if (hotTitle != null) {
+            bookRepository.deleteById(hotTitle.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should decrement stock only when enough units are available")
+    void shouldDecrementStockOnlyWhenEnoughUnitsAreAvailable() {
+
+        hotTitle = bookRepository.save(newBook(3));
+
+
+        boolean[] decremented = bookRepository.decrementStock(List.of(
+                new StockAdjustment(hotTitle.getId(), 2),
+                new StockAdjustment(hotTitle.getId(), 2)));
+
+
+        assertThat(decremented).containsExactly(true, false);
+        assertThat(bookRepository.findById(hotTitle.getId()).orElseThrow().getStockQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should lock and read the stock of existing books only")
+    void shouldLockAndReadStockOfExistingBooksOnly() {
+
+        hotTitle = bookRepository.save(newBook(3));
+
+
+        Map<Long, Integer> stock = bookRepository.lockStock(List.of(hotTitle.getId(), Long.MAX_VALUE));
+
+
+        assertThat(stock).containsExactly(Map.entry(hotTitle.getId(), 3));
+        assertThat(bookRepository.lockStock(List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should never oversell when more units are requested than in stock")
+    void shouldNeverOversellWhenMoreUnitsAreRequestedThanInStock() {
+
+        hotTitle = bookRepository.save(newBook(INITIAL_STOCK));
+        Long bookId = hotTitle.getId();
+
+
+        int sold = 0;
+        for (int i = 0; i < ATTEMPTS; i++) {
+            if (bookRepository.decrementStock(List.of(new StockAdjustment(bookId, 2)))[0]) {
+                sold += 2;
+            }
+            assertThat(bookRepository.findById(bookId).orElseThrow().getStockQuantity()).isNotNegative();
+        }
+
+
+        assertThat(sold).isEqualTo(INITIAL_STOCK - 1);
+        assertThat(bookRepository.findById(bookId).orElseThrow().getStockQuantity()).isEqualTo(INITIAL_STOCK - sold);
+    }
+
+    private Book newBook(int stock) {
+        Book book = new Book();
+        book.setTitle("Hot Title");
+        book.setPrice(new BigDecimal("9.99"));
+        book.setStockQuantity(stock);
+        return book;
+    }
+}
@@ -0,0 +1,206 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.dto.BookDto;
+import com.bnpparibasfortis.book_store.dto.BookSortField;
+import com.bnpparibasfortis.book_store.mapper.BookMapper;
+import com.bnpparibasfortis.book_store.mapper.BookMapperImpl;
+import com.bnpparibasfortis.book_store.model.Author;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Publisher;
+import com.bnpparibasfortis.book_store.service.BookService;
+import com.bnpparibasfortis.book_store.service.CatalogSearchIndex;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CacheConfig.class, BookService.class, CatalogSearchIndex.class, BookMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Book Second-Level Cache Tests")
+class BookSecondLevelCacheTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PublisherRepository publisherRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterBinder secondLevelCacheMetrics;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Publisher publisher;
+    private Author author;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Publisher newPublisher = new Publisher();
+        newPublisher.setName("Cached Publisher");
+        publisher = publisherRepository.save(newPublisher);
+
+        Author newAuthor = new Author();
+        newAuthor.setFirstName("Cached");
+        newAuthor.setLastName("Author");
+        author = authorRepository.save(newAuthor);
+
+        Book newBook = new Book();
+        newBook.setTitle("Cached Title");
+        newBook.setPrice(new BigDecimal("12.50"));
+        newBook.setStockQuantity(5);
+        newBook.setPublisher(publisher);
+        newBook.setAuthors(Set.of(author));
+        book = bookRepository.save(newBook);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteById(book.getId());
+        authorRepository.deleteById(author.getId());
+        publisherRepository.deleteById(publisher.getId());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated book reads from the second-level cache")
+    void shouldServeRepeatedBookReadsFromSecondLevelCache() {
+
+        bookRepository.findById(book.getId());
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+        bookRepository.findById(book.getId());
+
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstRead);
+        assertThat(statistics.getDomainDataRegionStatistics(CacheConfig.BOOK_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated book detail reads without any statement")
+    void shouldServeRepeatedBookDetailReadsWithoutStatements() {
+
+        BookDto firstRead = readInTransaction(() -> bookMapper.toDto(bookService.getBookById(book.getId())));
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+        BookDto secondRead = readInTransaction(() -> bookMapper.toDto(bookService.getBookById(book.getId())));
+
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstRead);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(secondRead).isEqualTo(firstRead);
+        assertThat(secondRead.getPublisherName()).isEqualTo("Cached Publisher");
+        assertThat(secondRead.getAuthorNames()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated catalog listings without any statement")
+    void shouldServeRepeatedCatalogListingsWithoutStatements() {
+
+        List<BookDto> firstListing = readInTransaction(() -> bookService.getAllBooks().stream()
+                .map(bookMapper::toDto).toList());
+        long statementsAfterFirstListing = statistics.getPrepareStatementCount();
+        List<BookDto> secondListing = readInTransaction(() -> bookService.getAllBooks().stream()
+                .map(bookMapper::toDto).toList());
+
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstListing);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(secondListing).isEqualTo(firstListing);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated catalog pages without any statement")
+    void shouldServeRepeatedCatalogPagesWithoutStatements() {
+
+        List<BookDto> firstPage = readInTransaction(() -> bookService.getBooksPage(BookSortField.TITLE, null, 20)
+                .getItems().stream().map(bookMapper::toDto).toList());
+        long statementsAfterFirstPage = statistics.getPrepareStatementCount();
+        List<BookDto> secondPage = readInTransaction(() -> bookService.getBooksPage(BookSortField.TITLE, null, 20)
+                .getItems().stream().map(bookMapper::toDto).toList());
+
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstPage);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(secondPage).isEqualTo(firstPage);
+    }
+
+    @Test
+    @DisplayName("Should evict cached book when stock is decremented through JDBC")
+    void shouldEvictCachedBookWhenStockIsDecremented() {
+
+        bookRepository.findById(book.getId());
+        assertThat(entityManagerFactory.getCache().contains(Book.class, book.getId())).isTrue();
+
+
+        bookRepository.decrementStock(List.of(new StockAdjustment(book.getId(), 2)));
+
+
+        assertThat(entityManagerFactory.getCache().contains(Book.class, book.getId())).isFalse();
+        assertThat(bookRepository.findById(book.getId()).orElseThrow().getStockQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should publish hit and miss metrics for every cache region")
+    void shouldPublishHitAndMissMetricsForEveryRegion() {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+
+        bookRepository.findById(book.getId());
+        bookRepository.findById(book.getId());
+
+
+        assertThat(registry.get("cache.gets").tag("cache", CacheConfig.BOOK_REGION).tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", CacheConfig.AUTHOR_REGION).tag("result", "miss")
+                .functionCounter()).isNotNull();
+    }
+
+    private <T> T readInTransaction(Supplier<T> read) {
+        return transactionTemplate.execute(status -> read.get());
+    }
+}
@@ -0,0 +1,142 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Cart;
+import com.bnpparibasfortis.book_store.model.CartItem;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(CacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("CartItemRepository Upsert Tests")
+class CartItemRepositoryUpsertTest {
+
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 50;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Customer customer;
+    private Cart cart;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        customer = new Customer();
+        customer.setName("Cart Owner");
+        customer.setEmail("upsert@example.com");
+        customer.setUsername("upsert");
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        customer = customerRepository.save(customer);
+
+        cart = new Cart();
+        cart.setCustomer(customer);
+        cart.setCreatedAt(LocalDateTime.now());
+        cart = cartRepository.save(cart);
+
+        book = new Book();
+        book.setTitle("Popular Title");
+        book.setPrice(new BigDecimal("9.99"));
+        book.setStockQuantity(10);
+        book = bookRepository.save(book);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartItemRepository.deleteAll();
+        cartRepository.deleteById(cart.getId());
+        customerRepository.deleteById(customer.getId());
+        bookRepository.deleteById(book.getId());
+    }
+
+    @Test
+    @DisplayName("Should insert a line and then add to and set its quantity")
+    void shouldInsertThenUpdateLine() {
+
+        transactionTemplate.executeWithoutResult(status -> cartItemRepository.addQuantity(cart.getId(), book.getId(), 2));
+        transactionTemplate.executeWithoutResult(status -> cartItemRepository.addQuantity(cart.getId(), book.getId(), 3));
+
+        assertThat(lines()).singleElement().extracting(CartItem::getQuantity).isEqualTo(5);
+
+        transactionTemplate.executeWithoutResult(status -> cartItemRepository.setQuantity(cart.getId(), book.getId(), 1));
+
+        assertThat(lines()).singleElement().extracting(CartItem::getQuantity).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a single line under concurrent adds of the same book")
+    void shouldKeepSingleLineUnderConcurrentAdds() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(() -> {
+                for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            cartItemRepository.addQuantity(cart.getId(), book.getId(), 1));
+                }
+                return null;
+            });
+        }
+        for (Future<Void> result : executor.invokeAll(workers)) {
+            result.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+
+        assertThat(lines()).singleElement().extracting(CartItem::getQuantity).isEqualTo(THREADS * ADDS_PER_THREAD);
+    }
+
+    private List<CartItem> lines() {
+        return cartItemRepository.findAll().stream()
+                .filter(item -> item.getCart().getId().equals(cart.getId()))
+                .toList();
+    }
+}
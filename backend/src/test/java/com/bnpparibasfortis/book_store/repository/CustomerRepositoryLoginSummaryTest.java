@@ -0,0 +1,123 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.dto.LoginSummaryDto;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Cart;
+import com.bnpparibasfortis.book_store.model.CartItem;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(CacheConfig.class)
+@DisplayName("CustomerRepository Login Summary Tests")
+class CustomerRepositoryLoginSummaryTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Should project the login summary with order and cart item counts")
+    void shouldProjectLoginSummaryWithCounts() {
+
+        Customer buyer = customer("buyer");
+        Customer other = customer("other");
+        order(buyer);
+        order(buyer);
+        order(other);
+        Cart cart = cart(buyer);
+        cartItem(cart, book("First Title"));
+        cartItem(cart, book("Second Title"));
+        entityManager.flush();
+        entityManager.clear();
+
+
+        LoginSummaryDto summary = customerRepository.findLoginSummaryByUsername("buyer").orElseThrow();
+
+
+        assertThat(summary.getId()).isEqualTo(buyer.getId());
+        assertThat(summary.getUsername()).isEqualTo("buyer");
+        assertThat(summary.getName()).isEqualTo("Login Customer");
+        assertThat(summary.getRole()).isEqualTo(Customer.Role.USER);
+        assertThat(summary.getOrderCount()).isEqualTo(2L);
+        assertThat(summary.getCartItemCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should report zero counts for a customer without orders or cart")
+    void shouldReportZeroCountsWithoutOrdersOrCart() {
+
+        customer("newcomer");
+        entityManager.flush();
+
+
+        LoginSummaryDto summary = customerRepository.findLoginSummaryByUsername("newcomer").orElseThrow();
+
+
+        assertThat(summary.getOrderCount()).isZero();
+        assertThat(summary.getCartItemCount()).isZero();
+        assertThat(customerRepository.findLoginSummaryByUsername("unknown")).isEmpty();
+    }
+
+    private Customer customer(String username) {
+        Customer customer = new Customer();
+        customer.setName("Login Customer");
+        customer.setEmail(username + "@example.com");
+        customer.setUsername(username);
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        return entityManager.persist(customer);
+    }
+
+    private void order(Customer customer) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.PAID);
+        order.setTotalPrice(new BigDecimal("10.00"));
+        entityManager.persist(order);
+    }
+
+    private Cart cart(Customer customer) {
+        Cart cart = new Cart();
+        cart.setCustomer(customer);
+        cart.setCreatedAt(LocalDateTime.now());
+        return entityManager.persist(cart);
+    }
+
+    private Book book(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setPrice(new BigDecimal("9.99"));
+        book.setStockQuantity(10);
+        return entityManager.persist(book);
+    }
+
+    private void cartItem(Cart cart, Book book) {
+        CartItem item = new CartItem();
+        item.setCart(cart);
+        item.setBook(book);
+        item.setQuantity(1);
+        entityManager.persist(item);
+    }
+}
@@ -0,0 +1,87 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.model.IdempotencyKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(CacheConfig.class)
+@DisplayName("IdempotencyKeyRepository Tests")
+class IdempotencyKeyRepositoryTest {
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Test
+    @DisplayName("Should find the stored response of a customer's key only")
+    void shouldFindStoredResponseOfCustomersKeyOnly() {
+
+        idempotencyKeyRepository.save(key(1L, "key-1", LocalDateTime.now()));
+
+
+        assertThat(idempotencyKeyRepository.findResponseBody(1L, "key-1")).contains("{\"id\":1}");
+        assertThat(idempotencyKeyRepository.findResponseBody(2L, "key-1")).isEmpty();
+        assertThat(idempotencyKeyRepository.findResponseBody(1L, "key-2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a second use of the same key by the same customer")
+    void shouldRejectSecondUseOfSameKey() {
+
+        idempotencyKeyRepository.save(key(1L, "key-1", LocalDateTime.now()));
+        idempotencyKeyRepository.save(key(2L, "key-1", LocalDateTime.now()));
+
+
+        assertThatThrownBy(() -> idempotencyKeyRepository.save(key(1L, "key-1", LocalDateTime.now())))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Should store the response of a claimed key")
+    void shouldStoreResponseOfClaimedKey() {
+
+        idempotencyKeyRepository.saveAndFlush(new IdempotencyKey(null, 1L, "key-1", null, LocalDateTime.now()));
+
+
+        int updated = idempotencyKeyRepository.storeResponseBody(1L, "key-1", "{\"id\":2}");
+
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(idempotencyKeyRepository.findResponseBody(1L, "key-1")).contains("{\"id\":2}");
+    }
+
+    @Test
+    @DisplayName("Should purge keys created before the cutoff")
+    void shouldPurgeKeysCreatedBeforeCutoff() {
+
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.save(key(1L, "expired", now.minusDays(2)));
+        idempotencyKeyRepository.save(key(1L, "recent", now.minusHours(1)));
+
+
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(now.minusDays(1));
+
+
+        assertThat(purged).isEqualTo(1);
+        assertThat(idempotencyKeyRepository.findResponseBody(1L, "expired")).isEmpty();
+        assertThat(idempotencyKeyRepository.findResponseBody(1L, "recent")).isPresent();
+    }
+
+    private IdempotencyKey key(Long customerId, String idempotencyKey, LocalDateTime createdAt) {
+        return new IdempotencyKey(null, customerId, idempotencyKey, "{\"id\":1}", createdAt);
+    }
+}
@@ -0,0 +1,146 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.dto.AdminOrderSummaryDto;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(CacheConfig.class)
+@DisplayName("OrderRepository Admin Query Tests")
+class OrderRepositoryAdminQueryTest {
+
+    private static final LocalDateTime SAME_DATE = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Customer firstCustomer;
+    private Customer secondCustomer;
+
+    @BeforeEach
+    void setUp() {
+        firstCustomer = customer("first");
+        secondCustomer = customer("second");
+    }
+
+    @Test
+    @DisplayName("Should page all orders newest first across equal order dates")
+    void shouldPageAllOrdersNewestFirst() {
+
+        Order oldest = order(firstCustomer, SAME_DATE.minusDays(1), OrderStatus.PAID);
+        Order lower = order(secondCustomer, SAME_DATE, OrderStatus.PAID);
+        Order higher = order(firstCustomer, SAME_DATE, OrderStatus.PAID);
+        entityManager.flush();
+
+
+        List<AdminOrderSummaryDto> firstPage = orderRepository.findAdminOrderSummaries(
+                null, null, null, null, null, null, Limit.of(1));
+        List<AdminOrderSummaryDto> secondPage = orderRepository.findAdminOrderSummaries(
+                null, null, null, null, SAME_DATE, higher.getId(), Limit.of(5));
+
+
+        assertThat(firstPage).extracting(AdminOrderSummaryDto::getId).containsExactly(higher.getId());
+        assertThat(secondPage).extracting(AdminOrderSummaryDto::getId).containsExactly(lower.getId(), oldest.getId());
+        assertThat(secondPage.get(0).getCustomerId()).isEqualTo(secondCustomer.getId());
+    }
+
+    @Test
+    @DisplayName("Should filter the listing by customer, status and date range")
+    void shouldFilterListingByCustomerStatusAndDateRange() {
+
+        Order match = order(firstCustomer, SAME_DATE, OrderStatus.SHIPPED);
+        order(firstCustomer, SAME_DATE, OrderStatus.PAID);
+        order(secondCustomer, SAME_DATE, OrderStatus.SHIPPED);
+        order(firstCustomer, SAME_DATE.plusDays(1), OrderStatus.SHIPPED);
+        entityManager.flush();
+
+
+        List<AdminOrderSummaryDto> orders = orderRepository.findAdminOrderSummaries(firstCustomer.getId(), OrderStatus.SHIPPED,
+                SAME_DATE, SAME_DATE.plusDays(1), null, null, Limit.of(10));
+
+
+        assertThat(orders).extracting(AdminOrderSummaryDto::getId).containsExactly(match.getId());
+    }
+
+    @Test
+    @DisplayName("Should move only orders in a source status with one update")
+    void shouldMoveOnlyOrdersInSourceStatus() {
+
+        Order paid = order(firstCustomer, SAME_DATE, OrderStatus.PAID);
+        Order delivered = order(firstCustomer, SAME_DATE, OrderStatus.DELIVERED);
+        entityManager.flush();
+
+
+        int updated = orderRepository.updateStatus(List.of(paid.getId(), delivered.getId()),
+                OrderStatus.sourcesOf(OrderStatus.SHIPPED), OrderStatus.SHIPPED);
+
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(orderRepository.findById(paid.getId())).get()
+                .extracting(Order::getStatus).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(orderRepository.findById(delivered.getId())).get()
+                .extracting(Order::getStatus).isEqualTo(OrderStatus.DELIVERED);
+    }
+
+    @Test
+    @DisplayName("Should read a bounded list of the most recent order IDs of a customer")
+    void shouldReadBoundedRecentOrderIdsOfCustomer() {
+
+        order(firstCustomer, SAME_DATE.minusDays(1), OrderStatus.PAID);
+        Order lower = order(firstCustomer, SAME_DATE, OrderStatus.PAID);
+        Order higher = order(firstCustomer, SAME_DATE, OrderStatus.PAID);
+        order(secondCustomer, SAME_DATE.plusDays(1), OrderStatus.PAID);
+        entityManager.flush();
+
+
+        List<Long> recentIds = orderRepository.findIdsByCustomerId(firstCustomer.getId(), Limit.of(2));
+        long orderCount = orderRepository.countByCustomerId(firstCustomer.getId());
+
+
+        assertThat(recentIds).containsExactly(higher.getId(), lower.getId());
+        assertThat(orderCount).isEqualTo(3);
+    }
+
+    private Customer customer(String username) {
+        Customer customer = new Customer();
+        customer.setName("Order Owner");
+        customer.setEmail(username + "@example.com");
+        customer.setUsername(username);
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        return entityManager.persist(customer);
+    }
+
+    private Order order(Customer customer, LocalDateTime orderDate, OrderStatus status) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderDate(orderDate);
+        order.setStatus(status);
+        order.setTotalPrice(new BigDecimal("10.00"));
+        return entityManager.persist(order);
+    }
+}
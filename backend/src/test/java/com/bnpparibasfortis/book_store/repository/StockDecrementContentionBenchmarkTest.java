@@ -0,0 +1,97 @@
+package com.bnpparibasfortis.book_store.repository;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of the guarded stock decrement while many threads buy the same hot title,
+ * with more attempts than units in stock. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(CacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Stock Decrement Contention Benchmark")
+class StockDecrementContentionBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 200;
+    private static final int INITIAL_STOCK = 500;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Book hotTitle;
+
+    @AfterEach
+    void tearDown() {
+        if (hotTitle != null) {
+            bookRepository.deleteById(hotTitle.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should never oversell a hot title under concurrent checkouts")
+    void shouldNeverOversellHotTitleUnderConcurrentCheckouts() throws Exception {
+        Book book = new Book();
+        book.setTitle("Hot Title");
+        book.setPrice(new BigDecimal("9.99"));
+        book.setStockQuantity(INITIAL_STOCK);
+        hotTitle = bookRepository.save(book);
+        Long bookId = hotTitle.getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<Integer>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(() -> {
+                int sold = 0;
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    if (bookRepository.decrementStock(List.of(new StockAdjustment(bookId, 1)))[0]) {
+                        sold++;
+                    }
+                }
+                return sold;
+            });
+        }
+
+        long start = System.nanoTime();
+        int totalSold = 0;
+        for (Future<Integer> result : executor.invokeAll(workers)) {
+            totalSold += result.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        System.out.printf("Stock decrement contention: %d attempts on %d threads, %d sold, %.0f decrements/s%n",
+                attempts, THREADS, totalSold, attempts / (elapsedNanos / 1_000_000_000.0));
+
+        assertThat(totalSold).isEqualTo(INITIAL_STOCK);
+        assertThat(bookRepository.findById(bookId).orElseThrow().getStockQuantity()).isZero();
+    }
+}
@@ -0,0 +1,113 @@
+package com.bnpparibasfortis.book_store.security;
+
+import com.bnpparibasfortis.book_store.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Access Token Service Tests")
+class AccessTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    private AccessTokenService accessTokenService;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        accessTokenService = new AccessTokenService(SECRET, Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+        customer = new Customer();
+        customer.setId(42L);
+        customer.setUsername("john:doe");
+        customer.setRole(Customer.Role.ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should verify an issued token")
+    void shouldVerifyIssuedToken() {
+        String token = accessTokenService.issue(customer);
+
+        AccessToken claims = accessTokenService.verify(token).orElseThrow();
+
+        assertThat(claims.customerId()).isEqualTo(42L);
+        assertThat(claims.username()).isEqualTo("john:doe");
+        assertThat(claims.role()).isEqualTo(Customer.Role.ADMIN);
+        assertThat(claims.expiresAt()).isEqualTo(NOW.plus(Duration.ofMinutes(15)));
+    }
+
+    @Test
+    @DisplayName("Should reject a token with a modified payload")
+    void shouldRejectModifiedPayload() {
+        String token = accessTokenService.issue(customer);
+        customer.setRole(Customer.Role.USER);
+        String otherPayload = accessTokenService.issue(customer).split("\\.")[0];
+
+        String forged = otherPayload + "." + token.split("\\.")[1];
+
+        assertThat(accessTokenService.verify(forged)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another secret")
+    void shouldRejectTokenSignedWithAnotherSecret() {
+        AccessTokenService otherNode = new AccessTokenService("another-secret-of-at-least-32-bytes",
+                Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        String token = otherNode.issue(customer);
+
+        assertThat(accessTokenService.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void shouldRejectExpiredToken() {
+        String token = accessTokenService.issue(customer);
+        AccessTokenService later = new AccessTokenService(SECRET, Duration.ofMinutes(15),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(15)), ZoneOffset.UTC));
+
+        assertThat(later.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens")
+    void shouldRejectMalformedTokens() {
+        assertThat(accessTokenService.verify("")).isEmpty();
+        assertThat(accessTokenService.verify("no-signature")).isEmpty();
+        assertThat(accessTokenService.verify("!!!.???")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse a short secret")
+    void shouldRefuseShortSecret() {
+        assertThatThrownBy(() -> new AccessTokenService(true, "short", Duration.ofMinutes(15)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least 32 bytes");
+    }
+
+    @Test
+    @DisplayName("Should refuse a blank secret when token mode is enabled")
+    void shouldRefuseBlankSecretWhenTokenModeEnabled() {
+        assertThatThrownBy(() -> new AccessTokenService(true, "", Duration.ofMinutes(15)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("bookstore.security.token.secret");
+    }
+
+    @Test
+    @DisplayName("Should generate a secret when token mode is disabled")
+    void shouldGenerateSecretWhenTokenModeDisabled() {
+        AccessTokenService disabled = new AccessTokenService(false, "", Duration.ofMinutes(15));
+
+        String token = disabled.issue(customer);
+
+        assertThat(disabled.verify(token)).isPresent();
+    }
+}
@@ -0,0 +1,104 @@
+package com.bnpparibasfortis.book_store.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Caching Authentication Provider Tests")
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private CredentialCache credentialCache;
+    private CachingAuthenticationProvider provider;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        credentialCache = new CredentialCache(100, Duration.ofMinutes(1));
+        provider = new CachingAuthenticationProvider(delegate, credentialCache);
+        user = User.withUsername("johndoe").password("").roles("USER").build();
+    }
+
+    @Test
+    @DisplayName("Should verify repeated credentials only once")
+    void shouldVerifyRepeatedCredentialsOnlyOnce() {
+        when(delegate.authenticate(any())).thenReturn(authenticated(user));
+
+        provider.authenticate(request("johndoe", "secret"));
+        Authentication result = provider.authenticate(request("johndoe", "secret"));
+
+        assertThat(result.isAuthenticated()).isTrue();
+        assertThat(result.getPrincipal()).isSameAs(user);
+        assertThat(result.getCredentials()).isNull();
+        assertThat(result.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Should verify again when the password differs")
+    void shouldVerifyAgainWhenPasswordDiffers() {
+        when(delegate.authenticate(any()))
+                .thenReturn(authenticated(user))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        provider.authenticate(request("johndoe", "secret"));
+
+        assertThatThrownBy(() -> provider.authenticate(request("johndoe", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Should not cache failed verifications")
+    void shouldNotCacheFailedVerifications() {
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThatThrownBy(() -> provider.authenticate(request("johndoe", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(request("johndoe", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Should verify again after the user is invalidated")
+    void shouldVerifyAgainAfterInvalidation() {
+        when(delegate.authenticate(any())).thenReturn(authenticated(user));
+
+        provider.authenticate(request("johndoe", "secret"));
+        credentialCache.invalidate("johndoe");
+        provider.authenticate(request("johndoe", "secret"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private static Authentication request(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+
+    private static Authentication authenticated(UserDetails user) {
+        return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+    }
+}
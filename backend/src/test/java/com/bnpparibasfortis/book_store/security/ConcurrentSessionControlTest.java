@@ -0,0 +1,82 @@
+package com.bnpparibasfortis.book_store.security;
+
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.repository.CustomerRepository;
+import com.bnpparibasfortis.book_store.util.AppConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@DisplayName("Concurrent Session Control Tests")
+class ConcurrentSessionControlTest {
+
+    private static final String USERNAME = "single.session";
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        if (customerRepository.findByUsername(USERNAME).isEmpty()) {
+            Customer customer = new Customer();
+            customer.setName("Single Session");
+            customer.setEmail("single.session@example.com");
+            customer.setUsername(USERNAME);
+            customer.setPassword(passwordEncoder.encode(PASSWORD));
+            customer.setRegisteredDate(LocalDate.now());
+            customer.setRole(Customer.Role.USER);
+            customer.setStatus(CustomerStatus.ACTIVE);
+            customerRepository.save(customer);
+        }
+    }
+
+    @Test
+    @DisplayName("Should expire the first session when the same customer logs in again")
+    void shouldExpireFirstSessionOnSecondLogin() throws Exception {
+        MockHttpSession firstSession = login();
+
+        MockHttpSession secondSession = login();
+
+
+        mockMvc.perform(get("/api/customers/profile").session(firstSession))
+                .andExpect(content().string(containsString("This session has been expired")));
+        mockMvc.perform(get("/api/customers/profile").session(secondSession))
+                .andExpect(status().isOk());
+    }
+
+    private MockHttpSession login() throws Exception {
+        return (MockHttpSession) mockMvc.perform(post(AppConstants.LOGIN_URL)
+                        .param("username", USERNAME)
+                        .param("password", PASSWORD))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getRequest()
+                .getSession(false);
+    }
+}
@@ -0,0 +1,59 @@
+package com.bnpparibasfortis.book_store.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Single-threaded throughput of HTTP Basic credential verification, i.e. requests per second per core,
+ * with and without the credential cache. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Credential Verification Benchmark")
+class CredentialVerificationBenchmarkTest {
+
+    private static final Duration MEASUREMENT_TIME = Duration.ofSeconds(3);
+
+    @Test
+    @DisplayName("Should verify cached credentials faster than BCrypt")
+    void shouldVerifyCachedCredentialsFasterThanBcrypt() {
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        UserDetails user = User.withUsername("johndoe")
+                .password(passwordEncoder.encode("secret"))
+                .roles("USER")
+                .build();
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider(username -> User.withUserDetails(user).build());
+        daoProvider.setPasswordEncoder(passwordEncoder);
+        CachingAuthenticationProvider cachingProvider =
+                new CachingAuthenticationProvider(daoProvider, new CredentialCache(10_000, Duration.ofMinutes(1)));
+
+        double before = measure(daoProvider);
+        double after = measure(cachingProvider);
+
+        System.out.printf("Credential verification per core: BCrypt %.0f req/s, cached %.0f req/s (x%.0f)%n",
+                before, after, after / before);
+        assertThat(after).isGreaterThan(before * 10);
+    }
+
+    private static double measure(AuthenticationProvider provider) {
+        long deadline = System.nanoTime() + MEASUREMENT_TIME.toNanos();
+        long start = System.nanoTime();
+        long count = 0;
+        while (System.nanoTime() < deadline) {
+            provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("johndoe", "secret"));
+            count++;
+        }
+        return count / ((System.nanoTime() - start) / 1e9);
+    }
+}
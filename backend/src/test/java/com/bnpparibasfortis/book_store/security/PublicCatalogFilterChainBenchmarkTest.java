@@ -0,0 +1,86 @@
+package com.bnpparibasfortis.book_store.security;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Single-threaded throughput of the security filters applied to an anonymous catalog read,
+ * through the main chain and through the dedicated public catalog chain. The controller is
+ * left out, so only the per-request security overhead is measured. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("h2")
+@DisplayName("Public Catalog Filter Chain Benchmark")
+class PublicCatalogFilterChainBenchmarkTest {
+
+    private static final Duration WARMUP_TIME = Duration.ofSeconds(1);
+    private static final Duration MEASUREMENT_TIME = Duration.ofSeconds(3);
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Autowired
+    @Qualifier("securityFilterChain")
+    private SecurityFilterChain mainChain;
+
+    @Autowired
+    @Qualifier("publicCatalogFilterChain")
+    private SecurityFilterChain publicCatalogChain;
+
+    @Test
+    @DisplayName("Should pass anonymous catalog reads through the public chain faster than the main chain")
+    void shouldPassCatalogReadsThroughPublicChainFaster() throws Exception {
+        FilterChainProxy before = new FilterChainProxy(mainChain);
+        FilterChainProxy after = new FilterChainProxy(publicCatalogChain);
+        measure(before, WARMUP_TIME);
+        measure(after, WARMUP_TIME);
+
+        double beforeRate = measure(before, MEASUREMENT_TIME);
+        double afterRate = measure(after, MEASUREMENT_TIME);
+
+        System.out.printf("Anonymous catalog read security overhead per core: main chain (%d filters, session created: %s) "
+                        + "%.0f req/s, public chain (%d filters, session created: %s) %.0f req/s (x%.1f)%n",
+                mainChain.getFilters().size(), createsSession(before), beforeRate,
+                publicCatalogChain.getFilters().size(), createsSession(after), afterRate, afterRate / beforeRate);
+        assertThat(createsSession(after)).isFalse();
+        assertThat(publicCatalogChain.getFilters()).hasSizeLessThan(mainChain.getFilters().size());
+        assertThat(afterRate).isGreaterThan(beforeRate);
+    }
+
+    private static double measure(Filter proxy, Duration duration) throws IOException, ServletException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        long count = 0;
+        while (System.nanoTime() < deadline) {
+            proxy.doFilter(catalogRead(), new MockHttpServletResponse(), NO_OP_CHAIN);
+            count++;
+        }
+        return count / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static boolean createsSession(Filter proxy) throws IOException, ServletException {
+        MockHttpServletRequest request = catalogRead();
+        proxy.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return request.getSession(false) != null;
+    }
+
+    private static MockHttpServletRequest catalogRead() {
+        return new MockHttpServletRequest("GET", "/api/books/1");
+    }
+}
@@ -0,0 +1,48 @@
+package com.bnpparibasfortis.book_store.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@DisplayName("Public Catalog Filter Chain Tests")
+class PublicCatalogFilterChainTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should serve anonymous catalog reads without creating a session")
+    void shouldServeAnonymousCatalogReadsWithoutSession() throws Exception {
+
+        MvcResult result = mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+
+        assertThat(result.getRequest().getSession(false)).isNull();
+        assertThat(result.getResponse().getHeader("Set-Cookie")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep catalog writes and other endpoints on the authenticated chain")
+    void shouldKeepCatalogWritesAndOtherEndpointsAuthenticated() throws Exception {
+
+        mockMvc.perform(delete("/api/books/1"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/customers/profile"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,68 @@
+package com.bnpparibasfortis.book_store.security;
+
+import com.bnpparibasfortis.book_store.model.Customer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Token Authentication Filter Tests")
+class TokenAuthenticationFilterTest {
+
+    private AccessTokenService accessTokenService;
+    private TokenAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        accessTokenService = new AccessTokenService(true, "0123456789abcdef0123456789abcdef", Duration.ofMinutes(15));
+        filter = new TokenAuthenticationFilter(accessTokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate a request with a valid bearer token")
+    void shouldAuthenticateValidBearerToken() throws Exception {
+        Customer customer = new Customer();
+        customer.setId(7L);
+        customer.setUsername("johndoe");
+        customer.setRole(Customer.Role.USER);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + accessTokenService.issue(customer));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("johndoe");
+        assertThat(authentication.getPrincipal()).isInstanceOf(CustomerPrincipal.class);
+        assertThat(((CustomerPrincipal) authentication.getPrincipal()).getId()).isEqualTo(7L);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(request.getSession(false)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should leave a request with an invalid token unauthenticated")
+    void shouldLeaveInvalidTokenUnauthenticated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer forged.token");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+}
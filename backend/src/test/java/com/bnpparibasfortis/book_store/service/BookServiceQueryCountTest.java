@@ -0,0 +1,129 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.dto.BookDto;
+import com.bnpparibasfortis.book_store.dto.BookSortField;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
+import com.bnpparibasfortis.book_store.mapper.BookMapper;
+import com.bnpparibasfortis.book_store.mapper.BookMapperImpl;
+import com.bnpparibasfortis.book_store.model.Author;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Publisher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CacheConfig.class, BookService.class, CatalogSearchIndex.class, BookMapperImpl.class})
+@DisplayName("BookService Query Count Tests")
+class BookServiceQueryCountTest {
+
+    private static final int BOOK_COUNT = 30;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstBookId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Publisher publisher = new Publisher();
+            publisher.setName("Publisher " + i);
+            entityManager.persist(publisher);
+
+            Author firstAuthor = newAuthor("First", i);
+            Author secondAuthor = newAuthor("Second", i);
+
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setPrice(new BigDecimal("10.00"));
+            book.setStockQuantity(5);
+            book.setPublisher(publisher);
+            book.setAuthors(Set.of(firstAuthor, secondAuthor));
+            entityManager.persist(book);
+            if (firstBookId == null) {
+                firstBookId = book.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should list the full catalog with a single statement")
+    void shouldListFullCatalogWithSingleStatement() {
+
+        List<BookDto> books = bookService.getAllBooks().stream().map(bookMapper::toDto).toList();
+
+
+        assertThat(books).hasSize(BOOK_COUNT);
+        assertThat(books).allSatisfy(book -> assertThat(book.getAuthorNames()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should list a catalog page with one page query and one author batch")
+    void shouldListCatalogPageWithConstantStatements() {
+
+        CursorPage<BookDto> page = bookService.getBooksPage(BookSortField.TITLE, null, 20).map(bookMapper::toDto);
+
+
+        assertThat(page.getItems()).hasSize(20);
+        assertThat(page.getItems()).allSatisfy(book -> {
+            assertThat(book.getPublisherName()).isNotNull();
+            assertThat(book.getAuthorNames()).hasSize(2);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should get book details with a single statement")
+    void shouldGetBookDetailsWithSingleStatement() {
+
+        BookDto book = bookMapper.toDto(bookService.getBookById(firstBookId));
+
+
+        assertThat(book.getPublisherName()).isNotNull();
+        assertThat(book.getAuthorNames()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Author newAuthor(String firstName, int index) {
+        Author author = new Author();
+        author.setFirstName(firstName);
+        author.setLastName("Author " + index);
+        entityManager.persist(author);
+        return author;
+    }
+}
@@ -1,5 +1,7 @@
 package com.bnpparibasfortis.book_store.service;
 
+import com.bnpparibasfortis.book_store.dto.BookSortField;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
 import com.bnpparibasfortis.book_store.model.Author;
 import com.bnpparibasfortis.book_store.model.Book;
 import com.bnpparibasfortis.book_store.model.Publisher;
@@ -13,6 +15,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -26,6 +30,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -43,6 +48,9 @@ class BookServiceTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private CatalogSearchIndex catalogSearchIndex;
+
     @InjectMocks
     private BookService bookService;
 
@@ -95,28 +103,90 @@ class BookServiceTest {
         book2.setTitle("Another Book");
         List<Book> books = Arrays.asList(testBook, book2);
 
-        when(bookRepository.findAll()).thenReturn(books);
+        when(bookRepository.findAllWithDetails()).thenReturn(books);
 
         
         List<Book> result = bookService.getAllBooks();
 
         
         assertThat(result).hasSize(2).contains(testBook, book2);
-        verify(bookRepository).findAll();
+        verify(bookRepository).findAllWithDetails();
+    }
+
+    @Test
+    @DisplayName("Should return first catalog page with next cursor when more books exist")
+    void shouldReturnFirstCatalogPageWithNextCursor() {
+
+        Book book2 = new Book();
+        book2.setId(2L);
+        book2.setTitle("Zebra Book");
+
+        when(bookRepository.findAllBy(any(Sort.class), eq(Limit.of(2)))).thenReturn(Arrays.asList(testBook, book2));
+
+
+        CursorPage<Book> page = bookService.getBooksPage(BookSortField.TITLE, null, 1);
+
+
+        assertThat(page.getItems()).containsExactly(testBook);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should continue catalog listing after the cursor of the previous page")
+    void shouldContinueCatalogListingAfterCursor() {
+
+        String cursor = BookCursor.after(BookSortField.TITLE, testBook).encode();
+        when(bookRepository.findPageAfterTitle("Test Book", 1L, Limit.of(3))).thenReturn(List.of());
+
+
+        CursorPage<Book> page = bookService.getBooksPage(BookSortField.TITLE, cursor, 2);
+
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        verify(bookRepository).findPageAfterTitle("Test Book", 1L, Limit.of(3));
+    }
+
+    @Test
+    @DisplayName("Should decode price cursor into a typed keyset query")
+    void shouldDecodePriceCursorIntoTypedKeysetQuery() {
+
+        String cursor = BookCursor.after(BookSortField.PRICE, testBook).encode();
+        when(bookRepository.findPageAfterPrice(new BigDecimal("29.99"), 1L, Limit.of(11))).thenReturn(List.of());
+
+
+        bookService.getBooksPage(BookSortField.PRICE, cursor, 10);
+
+
+        verify(bookRepository).findPageAfterPrice(new BigDecimal("29.99"), 1L, Limit.of(11));
+    }
+
+    @Test
+    @DisplayName("Should reject cursor issued for another sort key")
+    void shouldRejectCursorIssuedForAnotherSortKey() {
+
+        String cursor = BookCursor.after(BookSortField.TITLE, testBook).encode();
+
+
+        assertThatThrownBy(() -> bookService.getBooksPage(BookSortField.PRICE, cursor, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
     }
 
     @Test
     @DisplayName("Should get book by ID successfully")
     void shouldGetBookByIdSuccessfully() {
         
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testBook));
 
         
         Book result = bookService.getBookById(1L);
 
         
         assertThat(result).isEqualTo(testBook);
-        verify(bookRepository).findById(1L);
+        verify(bookRepository).findWithDetailsById(1L);
     }
 
     @Test
@@ -146,6 +216,7 @@ class BookServiceTest {
         verify(authorRepository).findById(1L);
         verify(authorRepository).findById(2L);
         verify(bookRepository).save(newBook);
+        verify(catalogSearchIndex).index(newBook);
     }
 
     @Test
@@ -310,7 +381,7 @@ class BookServiceTest {
         updatedBookDetails.setPublishedDate(LocalDate.of(2024, 1, 1));
         updatedBookDetails.setStockQuantity(20);
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testBook));
         when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
         
@@ -323,7 +394,7 @@ class BookServiceTest {
         assertThat(testBook.getPrice()).isEqualTo(new BigDecimal("39.99"));
         assertThat(testBook.getPublishedDate()).isEqualTo(LocalDate.of(2024, 1, 1));
         assertThat(testBook.getStockQuantity()).isEqualTo(20);
-        verify(bookRepository).findById(1L);
+        verify(bookRepository).findWithDetailsById(1L);
         verify(bookRepository).save(testBook);
     }
 
@@ -338,7 +409,7 @@ class BookServiceTest {
         Book updatedBookDetails = new Book();
         updatedBookDetails.setPublisher(newPublisher);
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testBook));
         when(publisherRepository.findById(2L)).thenReturn(Optional.of(newPublisher));
         when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
@@ -348,7 +419,7 @@ class BookServiceTest {
         
         assertThat(result).isNotNull();
         assertThat(testBook.getPublisher()).isEqualTo(newPublisher);
-        verify(bookRepository).findById(1L);
+        verify(bookRepository).findWithDetailsById(1L);
         verify(publisherRepository).findById(2L);
         verify(bookRepository).save(testBook);
     }
@@ -368,7 +439,7 @@ class BookServiceTest {
         Book updatedBookDetails = new Book();
         updatedBookDetails.setAuthors(newAuthors);
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testBook));
         when(authorRepository.findById(3L)).thenReturn(Optional.of(newAuthor));
         when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
@@ -378,7 +449,7 @@ class BookServiceTest {
         
         assertThat(result).isNotNull();
         assertThat(testBook.getAuthors()).hasSize(1).contains(newAuthor);
-        verify(bookRepository).findById(1L);
+        verify(bookRepository).findWithDetailsById(1L);
         verify(authorRepository).findById(3L);
         verify(bookRepository).save(testBook);
     }
@@ -393,7 +464,7 @@ class BookServiceTest {
         Book updatedBookDetails = new Book();
         updatedBookDetails.setPublisher(invalidPublisher);
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testBook));
         when(publisherRepository.findById(999L)).thenReturn(Optional.empty());
 
         
@@ -401,7 +472,7 @@ class BookServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Publisher not found with ID: 999");
 
-        verify(bookRepository).findById(1L);
+        verify(bookRepository).findWithDetailsById(1L);
         verify(publisherRepository).findById(999L);
         verify(bookRepository, never()).save(any(Book.class));
     }
@@ -419,7 +490,7 @@ class BookServiceTest {
         Book updatedBookDetails = new Book();
         updatedBookDetails.setAuthors(invalidAuthors);
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testBook));
         when(authorRepository.findById(999L)).thenReturn(Optional.empty());
 
         
@@ -427,7 +498,7 @@ class BookServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Author not found with ID: 999");
 
-        verify(bookRepository).findById(1L);
+        verify(bookRepository).findWithDetailsById(1L);
         verify(authorRepository).findById(999L);
         verify(bookRepository, never()).save(any(Book.class));
     }
@@ -444,6 +515,7 @@ class BookServiceTest {
         
         verify(bookRepository).existsById(1L);
         verify(bookRepository).deleteById(1L);
+        verify(catalogSearchIndex).remove(1L);
     }
 
     @Test
@@ -459,5 +531,6 @@ class BookServiceTest {
 
         verify(bookRepository).existsById(1L);
         verify(bookRepository, never()).deleteById(anyLong());
+        verify(catalogSearchIndex, never()).remove(anyLong());
     }
 }
@@ -0,0 +1,166 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.dto.CartDto;
+import com.bnpparibasfortis.book_store.mapper.BookMapperImpl;
+import com.bnpparibasfortis.book_store.mapper.CartItemMapperImpl;
+import com.bnpparibasfortis.book_store.mapper.CartMapper;
+import com.bnpparibasfortis.book_store.mapper.CartMapperImpl;
+import com.bnpparibasfortis.book_store.model.Author;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Cart;
+import com.bnpparibasfortis.book_store.model.CartItem;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.model.Publisher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CacheConfig.class, CartService.class, CartMapperImpl.class, CartItemMapperImpl.class, BookMapperImpl.class})
+@DisplayName("CartService Query Count Tests")
+class CartServiceQueryCountTest {
+
+    private static final int ITEM_COUNT = 5;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartMapper cartMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long customerId;
+    private final List<Long> bookIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Cart Owner");
+        customer.setEmail("owner@example.com");
+        customer.setUsername("owner");
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        entityManager.persist(customer);
+        customerId = customer.getId();
+
+        Cart cart = new Cart();
+        cart.setCustomer(customer);
+        cart.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(cart);
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Publisher publisher = new Publisher();
+            publisher.setName("Publisher " + i);
+            entityManager.persist(publisher);
+
+            Author author = new Author();
+            author.setFirstName("Author");
+            author.setLastName(String.valueOf(i));
+            entityManager.persist(author);
+
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setPrice(new BigDecimal("10.00"));
+            book.setStockQuantity(5);
+            book.setPublisher(publisher);
+            book.setAuthors(Set.of(author));
+            entityManager.persist(book);
+            bookIds.add(book.getId());
+
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setBook(book);
+            item.setQuantity(1);
+            entityManager.persist(item);
+            itemIds.add(item.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load and map the cart with one statement and one author batch fetch")
+    void shouldLoadCartWithOneStatementAndOneAuthorBatch() {
+
+        CartDto cart = cartMapper.toDto(cartService.getCartForUser(customerId));
+
+
+        assertThat(cart.getItems()).hasSize(ITEM_COUNT);
+        assertThat(cart.getItems()).allSatisfy(item -> {
+            assertThat(item.getBook().getPublisherName()).isNotNull();
+            assertThat(item.getBook().getAuthorNames()).hasSize(1);
+        });
+        // The cart with its items, books and publishers, then the authors of all books in one batch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should add to a cart line with one upsert and return the reloaded cart")
+    void shouldAddToCartLineWithOneUpsert() {
+
+        Cart cart = cartService.addItem(customerId, bookIds.get(0), 2);
+
+
+        assertThat(cart.getItems()).hasSize(ITEM_COUNT);
+        assertThat(cart.getItems()).filteredOn(item -> item.getBook().getId().equals(bookIds.get(0)))
+                .singleElement().extracting(CartItem::getQuantity).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should set the quantity of a cart line with one upsert")
+    void shouldSetQuantityWithOneUpsert() {
+
+        Cart cart = cartService.setItemQuantity(customerId, bookIds.get(1), 7);
+
+
+        assertThat(cart.getItems()).filteredOn(item -> item.getBook().getId().equals(bookIds.get(1)))
+                .singleElement().extracting(CartItem::getQuantity).isEqualTo(7);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should remove a cart line without looking it up again")
+    void shouldRemoveItemWithoutLookingItUp() {
+
+        Cart cart = cartService.removeItem(customerId, itemIds.get(0));
+        entityManager.flush();
+
+
+        assertThat(cart.getItems()).hasSize(ITEM_COUNT - 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+    }
+}
@@ -4,7 +4,6 @@ import com.bnpparibasfortis.book_store.model.Book;
 import com.bnpparibasfortis.book_store.model.Cart;
 import com.bnpparibasfortis.book_store.model.CartItem;
 import com.bnpparibasfortis.book_store.model.Customer;
-import com.bnpparibasfortis.book_store.repository.BookRepository;
 import com.bnpparibasfortis.book_store.repository.CartItemRepository;
 import com.bnpparibasfortis.book_store.repository.CartRepository;
 import com.bnpparibasfortis.book_store.repository.CustomerRepository;
@@ -15,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -26,6 +26,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
@@ -42,9 +43,6 @@ class CartServiceTest {
     @Mock
     private CartItemRepository cartItemRepository;
 
-    @Mock
-    private BookRepository bookRepository;
-
     @Mock
     private CustomerRepository customerRepository;
 
@@ -94,18 +92,16 @@ class CartServiceTest {
     @DisplayName("Should get existing cart for user successfully")
     void shouldGetExistingCartForUserSuccessfully() {
         // Arrange
-        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(testCustomer));
-        when(cartRepository.findByCustomer(testCustomer)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(testCart));
 
         // Act
-        Cart result = cartService.getCartForUser("testuser");
+        Cart result = cartService.getCartForUser(1L);
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getCustomer()).isEqualTo(testCustomer);
-        verify(customerRepository).findByUsername("testuser");
-        verify(cartRepository).findByCustomer(testCustomer);
+        verify(cartRepository).findWithItemsByCustomerId(1L);
         verify(cartRepository, never()).save(any(Cart.class));
     }
 
@@ -119,121 +115,111 @@ class CartServiceTest {
         newCart.setCreatedAt(LocalDateTime.now());
         newCart.setItems(new ArrayList<>());
 
-        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(testCustomer));
-        when(cartRepository.findByCustomer(testCustomer)).thenReturn(Optional.empty());
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.empty());
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         when(cartRepository.save(any(Cart.class))).thenReturn(newCart);
 
         // Act
-        Cart result = cartService.getCartForUser("testuser");
+        Cart result = cartService.getCartForUser(1L);
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(2L);
         assertThat(result.getCustomer()).isEqualTo(testCustomer);
-        verify(customerRepository).findByUsername("testuser");
-        verify(cartRepository).findByCustomer(testCustomer);
+        verify(cartRepository).findWithItemsByCustomerId(1L);
         verify(cartRepository).save(any(Cart.class));
+        verify(customerRepository, never()).findByUsername(anyString());
     }
 
     @Test
-    @DisplayName("Should throw exception when user not found")
-    void shouldThrowExceptionWhenUserNotFound() {
+    @DisplayName("Should add item to cart with a single upsert")
+    void shouldAddItemToCartWithSingleUpsert() {
         // Arrange
-        when(customerRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
+        testCart.getItems().add(testCartItem);
 
-        // Act & Assert
-        assertThatThrownBy(() -> cartService.getCartForUser("nonexistent"))
-                .isInstanceOf(IllegalArgumentException.class)
-                .hasMessage("Customer not found: nonexistent");
+        when(cartRepository.findIdByCustomerId(1L)).thenReturn(Optional.of(1L));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(testCart));
+
+        // Act
+        Cart result = cartService.addItem(1L, 1L, 3);
 
-        verify(customerRepository).findByUsername("nonexistent");
-        verify(cartRepository, never()).findByCustomer(any());
+        // Assert
+        assertThat(result).isSameAs(testCart);
+        verify(cartItemRepository).addQuantity(1L, 1L, 3);
+        verify(cartItemRepository, never()).save(any());
+        verify(cartRepository, never()).save(any(Cart.class));
     }
 
     @Test
-    @DisplayName("Should add new item to cart successfully")
-    void shouldAddNewItemToCartSuccessfully() {
+    @DisplayName("Should create the cart before adding the first item")
+    void shouldCreateCartBeforeAddingFirstItem() {
         // Arrange
-        CartItem savedItem = new CartItem();
-        savedItem.setId(2L);
-        savedItem.setCart(testCart);
-        savedItem.setBook(testBook);
-        savedItem.setQuantity(3);
-
-        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(testCustomer));
-        when(cartRepository.findByCustomer(testCustomer)).thenReturn(Optional.of(testCart));
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
-        when(cartItemRepository.save(any(CartItem.class))).thenReturn(savedItem);
-        when(cartRepository.save(any(Cart.class))).thenReturn(testCart);
+        Cart newCart = new Cart();
+        newCart.setId(2L);
+        newCart.setCustomer(testCustomer);
+
+        when(cartRepository.findIdByCustomerId(1L)).thenReturn(Optional.empty());
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
+        when(cartRepository.save(any(Cart.class))).thenReturn(newCart);
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(newCart));
 
         // Act
-        Cart result = cartService.addItem("testuser", 1L, 3);
+        Cart result = cartService.addItem(1L, 1L, 3);
 
         // Assert
-        assertThat(result).isNotNull();
-        assertThat(result.getItems()).hasSize(1);
-        verify(customerRepository).findByUsername("testuser");
-        verify(bookRepository).findById(1L);
-        verify(cartItemRepository).save(any(CartItem.class));
-        verify(cartRepository, org.mockito.Mockito.times(2)).save(any(Cart.class));
+        assertThat(result).isSameAs(newCart);
+        verify(cartItemRepository).addQuantity(2L, 1L, 3);
     }
 
     @Test
-    @DisplayName("Should update existing item quantity when adding same book")
-    void shouldUpdateExistingItemQuantityWhenAddingSameBook() {
+    @DisplayName("Should set item quantity with a single upsert")
+    void shouldSetItemQuantityWithSingleUpsert() {
         // Arrange
         testCart.getItems().add(testCartItem);
 
-        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(testCustomer));
-        when(cartRepository.findByCustomer(testCustomer)).thenReturn(Optional.of(testCart));
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
-        when(cartItemRepository.save(any(CartItem.class))).thenReturn(testCartItem);
-        when(cartRepository.save(any(Cart.class))).thenReturn(testCart);
+        when(cartRepository.findIdByCustomerId(1L)).thenReturn(Optional.of(1L));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(testCart));
 
         // Act
-        Cart result = cartService.addItem("testuser", 1L, 3);
+        Cart result = cartService.setItemQuantity(1L, 1L, 7);
 
         // Assert
-        assertThat(result).isNotNull();
-        assertThat(testCartItem.getQuantity()).isEqualTo(5); // 2 + 3
-        verify(customerRepository).findByUsername("testuser");
-        verify(bookRepository).findById(1L);
-        verify(cartItemRepository).save(testCartItem);
-        verify(cartRepository).save(testCart);
+        assertThat(result).isSameAs(testCart);
+        verify(cartItemRepository).setQuantity(1L, 1L, 7);
+        verify(cartItemRepository, never()).addQuantity(anyLong(), anyLong(), anyInt());
     }
 
     @Test
     @DisplayName("Should throw exception when adding item with invalid quantity")
     void shouldThrowExceptionWhenAddingItemWithInvalidQuantity() {
         // Act & Assert
-        assertThatThrownBy(() -> cartService.addItem("testuser", 1L, 0))
+        assertThatThrownBy(() -> cartService.addItem(1L, 1L, 0))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Quantity must be positive");
 
-        assertThatThrownBy(() -> cartService.addItem("testuser", 1L, -1))
+        assertThatThrownBy(() -> cartService.setItemQuantity(1L, 1L, -1))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Quantity must be positive");
 
-        verify(customerRepository, never()).findByUsername(anyString());
-        verify(bookRepository, never()).findById(anyLong());
-        verify(cartItemRepository, never()).save(any());
+        verify(cartRepository, never()).findIdByCustomerId(anyLong());
+        verify(cartItemRepository, never()).addQuantity(anyLong(), anyLong(), anyInt());
+        verify(cartItemRepository, never()).setQuantity(anyLong(), anyLong(), anyInt());
     }
 
     @Test
     @DisplayName("Should throw exception when adding non-existent book")
     void shouldThrowExceptionWhenAddingNonExistentBook() {
         // Arrange
-        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(testCustomer));
-        when(cartRepository.findByCustomer(testCustomer)).thenReturn(Optional.of(testCart));
-        when(bookRepository.findById(999L)).thenReturn(Optional.empty());
+        when(cartRepository.findIdByCustomerId(1L)).thenReturn(Optional.of(1L));
+        when(cartItemRepository.addQuantity(1L, 999L, 1))
+                .thenThrow(new DataIntegrityViolationException("fk_cart_item_book"));
 
         // Act & Assert
-        assertThatThrownBy(() -> cartService.addItem("testuser", 999L, 1))
+        assertThatThrownBy(() -> cartService.addItem(1L, 999L, 1))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Book not found with ID: 999");
 
-        verify(bookRepository).findById(999L);
-        verify(cartItemRepository, never()).save(any());
+        verify(cartRepository, never()).findWithItemsByCustomerId(anyLong());
     }
 
     @Test
@@ -242,18 +228,16 @@ class CartServiceTest {
         // Arrange
         testCart.getItems().add(testCartItem);
 
-        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(testCustomer));
-        when(cartRepository.findByCustomer(testCustomer)).thenReturn(Optional.of(testCart));
-        when(cartItemRepository.findById(1L)).thenReturn(Optional.of(testCartItem));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(testCart));
 
         // Act
-        Cart result = cartService.removeItem("testuser", 1L);
+        Cart result = cartService.removeItem(1L, 1L);
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getItems()).isEmpty();
-        verify(customerRepository).findByUsername("testuser");
-        verify(cartItemRepository).findById(1L);
+        verify(cartRepository).findWithItemsByCustomerId(1L);
+        verify(cartItemRepository, never()).findById(anyLong());
         verify(cartItemRepository).delete(testCartItem);
         verify(cartRepository, never()).save(any(Cart.class));
     }
@@ -262,12 +246,11 @@ class CartServiceTest {
     @DisplayName("Should throw exception when removing non-existent item")
     void shouldThrowExceptionWhenRemovingNonExistentItem() {
         // Arrange
-        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(testCustomer));
-        when(cartRepository.findByCustomer(testCustomer)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(testCart));
         when(cartItemRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> cartService.removeItem("testuser", 999L))
+        assertThatThrownBy(() -> cartService.removeItem(1L, 999L))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Cart item not found with ID: 999");
 
@@ -293,12 +276,11 @@ class CartServiceTest {
         otherCartItem.setBook(testBook);
         otherCartItem.setQuantity(1);
 
-        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(testCustomer));
-        when(cartRepository.findByCustomer(testCustomer)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(testCart));
         when(cartItemRepository.findById(2L)).thenReturn(Optional.of(otherCartItem));
 
         // Act & Assert
-        assertThatThrownBy(() -> cartService.removeItem("testuser", 2L))
+        assertThatThrownBy(() -> cartService.removeItem(1L, 2L))
                 .isInstanceOf(SecurityException.class)
                 .hasMessage("User does not have permission to remove this item");
 
@@ -312,17 +294,15 @@ class CartServiceTest {
         // Arrange
         testCart.setItems(new ArrayList<>());
 
-        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(testCustomer));
-        when(cartRepository.findByCustomer(testCustomer)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(testCart));
 
         // Act
-        Cart result = cartService.getCartForUser("testuser");
+        Cart result = cartService.getCartForUser(1L);
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getItems()).isEmpty();
-        verify(customerRepository).findByUsername("testuser");
-        verify(cartRepository).findByCustomer(testCustomer);
+        verify(cartRepository).findWithItemsByCustomerId(1L);
     }
 
     @Test
@@ -345,11 +325,10 @@ class CartServiceTest {
         items.add(secondCartItem);
         testCart.setItems(items);
 
-        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(testCustomer));
-        when(cartRepository.findByCustomer(testCustomer)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(testCart));
 
         // Act
-        Cart result = cartService.getCartForUser("testuser");
+        Cart result = cartService.getCartForUser(1L);
 
         // Assert
         assertThat(result).isNotNull();
@@ -358,26 +337,13 @@ class CartServiceTest {
     }
 
     @Test
-    @DisplayName("Should handle null username gracefully")
-    void shouldHandleNullUsernameGracefully() {
+    @DisplayName("Should reject a missing customer ID")
+    void shouldRejectMissingCustomerId() {
         // Act & Assert
         assertThatThrownBy(() -> cartService.getCartForUser(null))
-                .isInstanceOf(IllegalArgumentException.class);
-
-        verify(customerRepository, never()).findByUsername(anyString());
-    }
-
-    @Test
-    @DisplayName("Should handle empty username gracefully")
-    void shouldHandleEmptyUsernameGracefully() {
-        // Arrange
-        when(customerRepository.findByUsername("")).thenReturn(Optional.empty());
-
-        // Act & Assert
-        assertThatThrownBy(() -> cartService.getCartForUser(""))
                 .isInstanceOf(IllegalArgumentException.class)
-                .hasMessage("Customer not found: ");
+                .hasMessage("Customer ID must be provided");
 
-        verify(customerRepository).findByUsername("");
+        verify(cartRepository, never()).findWithItemsByCustomerId(any());
     }
 }
@@ -0,0 +1,82 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.model.Author;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Publisher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Single-threaded latency of catalog searches against the in-process index over a synthetic
+ * catalog. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Catalog Search Benchmark")
+class CatalogSearchBenchmarkTest {
+
+    private static final int BOOKS = 50_000;
+    private static final int VOCABULARY = 5_000;
+    private static final Duration MEASUREMENT_TIME = Duration.ofSeconds(3);
+    private static final String[] QUERIES = {"word17 word4242", "word3", "word999 word1000 word1001", "word4999"};
+
+    @Test
+    @DisplayName("Should answer searches over a large catalog in microseconds")
+    void shouldAnswerSearchesInMicroseconds() {
+        CatalogSearchIndex index = new CatalogSearchIndex(null, mock(PlatformTransactionManager.class));
+        Random random = new Random(42);
+        for (long id = 1; id <= BOOKS; id++) {
+            index.index(book(id, random));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            index.search(QUERIES[i % QUERIES.length], null, 20);
+        }
+
+        long deadline = System.nanoTime() + MEASUREMENT_TIME.toNanos();
+        long start = System.nanoTime();
+        long count = 0;
+        while (System.nanoTime() < deadline) {
+            index.search(QUERIES[(int) (count % QUERIES.length)], null, 20);
+            count++;
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / count;
+
+        System.out.printf("Catalog search over %d books: %.1f us per query (%.0f queries/s per core)%n",
+                BOOKS, micros, 1e6 / micros);
+        assertThat(micros).isLessThan(1_000);
+    }
+
+    private static Book book(long id, Random random) {
+        Publisher publisher = new Publisher();
+        publisher.setName("Publisher " + random.nextInt(200));
+        Author author = new Author();
+        author.setFirstName("First" + random.nextInt(1_000));
+        author.setLastName("Last" + random.nextInt(1_000));
+
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(words(random, 4));
+        book.setDescription(words(random, 30));
+        book.setPrice(new BigDecimal("10.00"));
+        book.setPublisher(publisher);
+        book.setAuthors(Set.of(author));
+        return book;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append("word").append(random.nextInt(VOCABULARY)).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,211 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.BookSearchHitDto;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
+import com.bnpparibasfortis.book_store.model.Author;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Publisher;
+import com.bnpparibasfortis.book_store.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogSearchIndex Tests")
+class CatalogSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        catalogSearchIndex = new CatalogSearchIndex(bookRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above description matches")
+    void shouldRankTitleMatchesAboveDescriptionMatches() {
+
+        catalogSearchIndex.index(book(1L, "Bedtime Tales", "Stories about a dragon", "Ann Lee"));
+        catalogSearchIndex.index(book(2L, "Dragon Tales", "Stories for children", "Ann Lee"));
+        catalogSearchIndex.index(book(3L, "Gardening", "Plants and soil", "Ann Lee"));
+
+
+        List<BookSearchHitDto> hits = catalogSearchIndex.search("dragon", null, 10).getItems();
+
+
+        assertThat(hits).extracting(BookSearchHitDto::getId).containsExactly(2L, 1L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("Should match author names and publisher names case and accent insensitively")
+    void shouldMatchAuthorAndPublisherNames() {
+
+        catalogSearchIndex.index(book(1L, "Les Misérables", "A novel", "Victor Hugo"));
+        catalogSearchIndex.index(book(2L, "Notre-Dame de Paris", "A novel", "Victor Hugo"));
+        catalogSearchIndex.index(book(3L, "Germinal", "A novel", "Émile Zola"));
+
+
+        assertThat(catalogSearchIndex.search("HUGO", null, 10).getItems())
+                .extracting(BookSearchHitDto::getId).containsExactly(1L, 2L);
+        assertThat(catalogSearchIndex.search("emile", null, 10).getItems())
+                .extracting(BookSearchHitDto::getId).containsExactly(3L);
+        assertThat(catalogSearchIndex.search("miserables", null, 10).getItems())
+                .extracting(BookSearchHitDto::getId).containsExactly(1L);
+        assertThat(catalogSearchIndex.search("classics press", null, 10).getItems()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should rank books matching more query terms first")
+    void shouldRankBooksMatchingMoreTermsFirst() {
+
+        catalogSearchIndex.index(book(1L, "Java Concurrency", "Threads and locks", "Brian Goetz"));
+        catalogSearchIndex.index(book(2L, "Effective Java", "Best practices", "Joshua Bloch"));
+        catalogSearchIndex.index(book(3L, "Concurrency in Go", "Goroutines", "Katherine Cox"));
+
+
+        List<BookSearchHitDto> hits = catalogSearchIndex.search("java concurrency", null, 10).getItems();
+
+
+        assertThat(hits).extracting(BookSearchHitDto::getId).startsWith(1L).hasSize(3);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+        assertThat(hits.get(0).getAuthorNames()).containsExactly("Brian Goetz");
+        assertThat(hits.get(0).getPublisherName()).isEqualTo("Classics Press");
+    }
+
+    @Test
+    @DisplayName("Should page through hits with the returned cursor")
+    void shouldPageThroughHitsWithCursor() {
+
+        for (long id = 1; id <= 5; id++) {
+            catalogSearchIndex.index(book(id, "Volume " + id, "Encyclopedia", "Ann Lee"));
+        }
+
+
+        CursorPage<BookSearchHitDto> first = catalogSearchIndex.search("encyclopedia", null, 2);
+        CursorPage<BookSearchHitDto> second = catalogSearchIndex.search("encyclopedia", first.getNextCursor(), 2);
+        CursorPage<BookSearchHitDto> last = catalogSearchIndex.search("encyclopedia", second.getNextCursor(), 2);
+
+
+        assertThat(first.getItems()).extracting(BookSearchHitDto::getId).containsExactly(1L, 2L);
+        assertThat(second.getItems()).extracting(BookSearchHitDto::getId).containsExactly(3L, 4L);
+        assertThat(last.getItems()).extracting(BookSearchHitDto::getId).containsExactly(5L);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(last.isHasMore()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should replace the terms of an updated book and drop a removed book")
+    void shouldReplaceUpdatedBookAndDropRemovedBook() {
+
+        catalogSearchIndex.index(book(1L, "Old Title", "Description", "Ann Lee"));
+        catalogSearchIndex.index(book(1L, "New Title", "Description", "Ann Lee"));
+
+
+        assertThat(catalogSearchIndex.search("old", null, 10).getItems()).isEmpty();
+        assertThat(catalogSearchIndex.search("new", null, 10).getItems())
+                .extracting(BookSearchHitDto::getTitle).containsExactly("New Title");
+
+        catalogSearchIndex.remove(1L);
+
+        assertThat(catalogSearchIndex.search("new", null, 10).getItems()).isEmpty();
+        assertThat(catalogSearchIndex.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply changes made in a transaction only after it commits")
+    void shouldApplyChangesOnlyAfterCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogSearchIndex.index(book(1L, "Pending Title", "Description", "Ann Lee"));
+
+            assertThat(catalogSearchIndex.size()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+
+        assertThat(catalogSearchIndex.search("pending", null, 10).getItems()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index from the catalog in ID order")
+    void shouldRebuildIndexFromCatalog() {
+
+        when(bookRepository.findAllBy(Sort.by("id"), Limit.of(500)))
+                .thenReturn(List.of(book(1L, "First", "Description", "Ann Lee"), book(2L, "Second", "Description", "Ann Lee")));
+
+
+        int indexed = catalogSearchIndex.rebuild();
+
+
+        assertThat(indexed).isEqualTo(2);
+        assertThat(catalogSearchIndex.search("second", null, 10).getItems())
+                .extracting(BookSearchHitDto::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should reject queries without searchable terms and invalid cursors")
+    void shouldRejectQueriesWithoutTermsAndInvalidCursors() {
+
+        assertThatThrownBy(() -> catalogSearchIndex.search(" ?! ", null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> catalogSearchIndex.search("java", "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("Should tokenize text into lower-case terms without diacritics")
+    void shouldTokenizeText() {
+
+        assertThat(CatalogSearchIndex.tokenize("Les Misérables: Tome 1, l'Été"))
+                .containsExactly("les", "miserables", "tome", "1", "l", "ete");
+        assertThat(CatalogSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    private static Book book(Long id, String title, String description, String authorName) {
+        Publisher publisher = new Publisher();
+        publisher.setName("Classics Press");
+        Author author = new Author();
+        String[] names = authorName.split(" ", 2);
+        author.setFirstName(names[0]);
+        author.setLastName(names[1]);
+
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setDescription(description);
+        book.setPrice(new BigDecimal("10.00"));
+        book.setPublisher(publisher);
+        book.setAuthors(Set.of(author));
+        return book;
+    }
+}
@@ -0,0 +1,235 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.OrderDto;
+import com.bnpparibasfortis.book_store.exception.CheckoutInProgressException;
+import com.bnpparibasfortis.book_store.mapper.OrderMapper;
+import com.bnpparibasfortis.book_store.model.IdempotencyKey;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CheckoutIdempotencyService Tests")
+class CheckoutIdempotencyServiceTest {
+
+    private static final String KEY = "3f1c9a4e-checkout";
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private CheckoutIdempotencyService checkoutIdempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        checkoutIdempotencyService = new CheckoutIdempotencyService(orderService, orderMapper,
+                idempotencyKeyRepository, objectMapper, Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Should place order without touching idempotency keys when no key is sent")
+    void shouldPlaceOrderWithoutKey() {
+
+        Order order = new Order();
+        OrderDto orderDto = orderDto(10L);
+        when(orderService.placeOrder(1L)).thenReturn(order);
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
+
+
+        CheckoutResult result = checkoutIdempotencyService.placeOrder(1L, null);
+
+
+        assertThat(result.order()).isSameAs(orderDto);
+        assertThat(result.replayed()).isFalse();
+        verify(idempotencyKeyRepository, never()).findResponseBody(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response without placing another order")
+    void shouldReplayStoredResponse() throws Exception {
+
+        when(idempotencyKeyRepository.findResponseBody(1L, KEY))
+                .thenReturn(Optional.of(objectMapper.writeValueAsString(orderDto(10L))));
+
+
+        CheckoutResult result = checkoutIdempotencyService.placeOrder(1L, KEY);
+
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.order().getId()).isEqualTo(10L);
+        assertThat(result.order().getOrderDate()).isEqualTo(LocalDateTime.of(2024, 5, 1, 10, 0));
+        verify(orderService, never()).placeOrder(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should claim a new key before placing the order and store the response after")
+    @SuppressWarnings("unchecked")
+    void shouldStoreResponseForNewKey() throws Exception {
+
+        Order order = new Order();
+        OrderDto orderDto = orderDto(10L);
+        when(idempotencyKeyRepository.findResponseBody(1L, KEY)).thenReturn(Optional.empty());
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
+        when(orderService.placeOrder(eq(1L), any(), any())).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return ((Function<Order, OrderDto>) invocation.getArgument(2)).apply(order);
+        });
+
+
+        CheckoutResult result = checkoutIdempotencyService.placeOrder(1L, KEY);
+
+
+        assertThat(result.order()).isSameAs(orderDto);
+        assertThat(result.replayed()).isFalse();
+        ArgumentCaptor<IdempotencyKey> claimed = ArgumentCaptor.forClass(IdempotencyKey.class);
+        ArgumentCaptor<String> responseBody = ArgumentCaptor.forClass(String.class);
+        var calls = inOrder(idempotencyKeyRepository);
+        calls.verify(idempotencyKeyRepository).saveAndFlush(claimed.capture());
+        calls.verify(idempotencyKeyRepository).storeResponseBody(eq(1L), eq(KEY), responseBody.capture());
+        assertThat(claimed.getValue().getCustomerId()).isEqualTo(1L);
+        assertThat(claimed.getValue().getIdempotencyKey()).isEqualTo(KEY);
+        assertThat(claimed.getValue().getResponseBody()).isNull();
+        assertThat(objectMapper.readValue(responseBody.getValue(), OrderDto.class).getId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should replay the first response to a retry that arrives while the first checkout is running")
+    @SuppressWarnings("unchecked")
+    void shouldReplayFirstResponseToInterleavedRetry() throws Exception {
+
+        Order order = new Order();
+        OrderDto orderDto = orderDto(10L);
+        AtomicInteger cartReads = new AtomicInteger();
+        CheckoutResult[] retry = new CheckoutResult[1];
+        // First request's lookup, retry's lookup while the first is running, retry's lookup once the first committed
+        when(idempotencyKeyRepository.findResponseBody(1L, KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(objectMapper.writeValueAsString(orderDto)));
+        when(idempotencyKeyRepository.saveAndFlush(any()))
+                .thenReturn(null)
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for key uk_idempotency_key_customer_key"));
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
+        when(orderService.placeOrder(eq(1L), any(), any())).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            if (retry[0] == null) {
+                // The retry arrives after the first request claimed the key and before it reads the cart
+                retry[0] = checkoutIdempotencyService.placeOrder(1L, KEY);
+            }
+            cartReads.incrementAndGet();
+            return ((Function<Order, OrderDto>) invocation.getArgument(2)).apply(order);
+        });
+
+
+        CheckoutResult first = checkoutIdempotencyService.placeOrder(1L, KEY);
+
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry[0].replayed()).isTrue();
+        assertThat(retry[0].order().getId()).isEqualTo(10L);
+        assertThat(cartReads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject the retry when the key is claimed by a checkout still in progress")
+    void shouldRejectRetryWhileFirstCheckoutInProgress() {
+
+        when(idempotencyKeyRepository.findResponseBody(1L, KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for key uk_idempotency_key_customer_key"));
+        when(orderService.placeOrder(eq(1L), any(), any())).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            throw new IllegalStateException("Cart is empty");
+        });
+
+
+        assertThatThrownBy(() -> checkoutIdempotencyService.placeOrder(1L, KEY))
+                .isInstanceOf(CheckoutInProgressException.class);
+    }
+
+    @Test
+    @DisplayName("Should replay the response of a concurrent request that stored the key first")
+    void shouldReplayResponseOfConcurrentRequest() throws Exception {
+
+        when(idempotencyKeyRepository.findResponseBody(1L, KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(objectMapper.writeValueAsString(orderDto(10L))));
+        when(idempotencyKeyRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for key uk_idempotency_key_customer_key"));
+        when(orderService.placeOrder(eq(1L), any(), any())).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return null;
+        });
+
+
+        CheckoutResult result = checkoutIdempotencyService.placeOrder(1L, KEY);
+
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.order().getId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should rethrow integrity violations not caused by a stored key")
+    void shouldRethrowUnrelatedIntegrityViolation() {
+
+        when(idempotencyKeyRepository.findResponseBody(1L, KEY)).thenReturn(Optional.empty());
+        when(orderService.placeOrder(eq(1L), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("Cannot add or update a child row"));
+
+
+        assertThatThrownBy(() -> checkoutIdempotencyService.placeOrder(1L, KEY))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject blank and overlong keys")
+    void shouldRejectInvalidKeys() {
+
+        assertThatThrownBy(() -> checkoutIdempotencyService.placeOrder(1L, " "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must not be blank");
+        assertThatThrownBy(() -> checkoutIdempotencyService.placeOrder(1L, "k".repeat(256)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at most 255");
+
+        verify(orderService, never()).placeOrder(anyLong(), any(), any());
+    }
+
+    private OrderDto orderDto(Long id) {
+        return new OrderDto(id, LocalDateTime.of(2024, 5, 1, 10, 0), "NEW", new BigDecimal("20.00"), 1L, List.of());
+    }
+}
@@ -0,0 +1,196 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.CheckoutState;
+import com.bnpparibasfortis.book_store.dto.CheckoutStatusDto;
+import com.bnpparibasfortis.book_store.exception.CheckoutQueueFullException;
+import com.bnpparibasfortis.book_store.exception.InsufficientStockException;
+import com.bnpparibasfortis.book_store.model.Order;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CheckoutQueue Tests")
+class CheckoutQueueTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CheckoutQueue checkoutQueue;
+
+    @AfterEach
+    void tearDown() {
+        if (checkoutQueue != null) {
+            checkoutQueue.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should queue a checkout and report it to its customer only")
+    void shouldQueueCheckoutAndReportItToItsCustomerOnly() {
+
+        checkoutQueue = checkoutQueue(true, 10);
+
+
+        CheckoutStatusDto status = checkoutQueue.enqueue(1L);
+
+
+        assertThat(status.getState()).isEqualTo(CheckoutState.QUEUED);
+        assertThat(checkoutQueue.getStatus(1L, status.getReference()).getState()).isEqualTo(CheckoutState.QUEUED);
+        assertThatThrownBy(() -> checkoutQueue.getStatus(2L, status.getReference()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not found");
+        assertThat(meterRegistry.get("bookstore.checkout.queue.depth").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject a checkout when the queue is full")
+    void shouldRejectCheckoutWhenQueueIsFull() {
+
+        checkoutQueue = checkoutQueue(true, 1);
+        checkoutQueue.enqueue(1L);
+
+
+        assertThatThrownBy(() -> checkoutQueue.enqueue(2L))
+                .isInstanceOf(CheckoutQueueFullException.class)
+                .hasMessageContaining("queue is full");
+
+        assertThat(meterRegistry.get("bookstore.checkout.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should refuse to queue checkouts when asynchronous checkout is disabled")
+    void shouldRefuseToQueueWhenDisabled() {
+
+        checkoutQueue = checkoutQueue(false, 10);
+
+
+        assertThatThrownBy(() -> checkoutQueue.enqueue(1L)).isInstanceOf(IllegalStateException.class);
+        assertThat(checkoutQueue.isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should place a batch of checkouts in one call and complete each of them")
+    void shouldPlaceBatchInOneCall() {
+
+        checkoutQueue = checkoutQueue(true, 10);
+        CheckoutStatusDto first = checkoutQueue.enqueue(1L);
+        CheckoutStatusDto second = checkoutQueue.enqueue(2L);
+        when(orderService.placeOrders(List.of(1L, 2L))).thenReturn(List.of(order(10L), order(11L)));
+
+
+        checkoutQueue.process(List.of(
+                new CheckoutQueue.QueuedCheckout(first.getReference(), 1L),
+                new CheckoutQueue.QueuedCheckout(second.getReference(), 2L)));
+
+
+        assertThat(checkoutQueue.getStatus(1L, first.getReference()).getOrderId()).isEqualTo(10L);
+        assertThat(checkoutQueue.getStatus(2L, second.getReference()).getOrderId()).isEqualTo(11L);
+        assertThat(checkoutQueue.getStatus(2L, second.getReference()).getState()).isEqualTo(CheckoutState.COMPLETED);
+        assertThat(meterRegistry.get("bookstore.checkout.processed").tag("outcome", "completed").counter().count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("bookstore.checkout.batch").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail only the failing checkout of a batch")
+    void shouldFailOnlyFailingCheckoutOfBatch() {
+
+        checkoutQueue = checkoutQueue(true, 10);
+        CheckoutStatusDto first = checkoutQueue.enqueue(1L);
+        CheckoutStatusDto second = checkoutQueue.enqueue(2L);
+        when(orderService.placeOrders(List.of(1L, 2L))).thenThrow(new InsufficientStockException("Sold Out", 1));
+        when(orderService.placeOrders(List.of(1L))).thenReturn(List.of(order(10L)));
+        when(orderService.placeOrders(List.of(2L))).thenThrow(new InsufficientStockException("Sold Out", 1));
+
+
+        checkoutQueue.process(List.of(
+                new CheckoutQueue.QueuedCheckout(first.getReference(), 1L),
+                new CheckoutQueue.QueuedCheckout(second.getReference(), 2L)));
+
+
+        assertThat(checkoutQueue.getStatus(1L, first.getReference()).getState()).isEqualTo(CheckoutState.COMPLETED);
+        CheckoutStatusDto failed = checkoutQueue.getStatus(2L, second.getReference());
+        assertThat(failed.getState()).isEqualTo(CheckoutState.FAILED);
+        assertThat(failed.getMessage()).contains("Sold Out");
+    }
+
+    @Test
+    @DisplayName("Should not expose unexpected failures to the customer")
+    void shouldNotExposeUnexpectedFailures() {
+
+        checkoutQueue = checkoutQueue(true, 10);
+        CheckoutStatusDto status = checkoutQueue.enqueue(1L);
+        when(orderService.placeOrders(List.of(1L))).thenThrow(new CannotAcquireLockException("Lock wait timeout on book"));
+
+
+        checkoutQueue.process(List.of(new CheckoutQueue.QueuedCheckout(status.getReference(), 1L)));
+
+
+        CheckoutStatusDto failed = checkoutQueue.getStatus(1L, status.getReference());
+        assertThat(failed.getState()).isEqualTo(CheckoutState.FAILED);
+        assertThat(failed.getMessage()).doesNotContain("book").contains("try again");
+    }
+
+    @Test
+    @DisplayName("Should drain queued checkouts with the worker threads")
+    void shouldDrainQueuedCheckoutsWithWorkers() throws InterruptedException {
+
+        checkoutQueue = checkoutQueue(true, 10);
+        when(orderService.placeOrders(any())).thenReturn(List.of(order(10L)));
+        CheckoutStatusDto status = checkoutQueue.enqueue(1L);
+
+
+        checkoutQueue.start();
+
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (checkoutQueue.getStatus(1L, status.getReference()).getState() != CheckoutState.COMPLETED
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(checkoutQueue.getStatus(1L, status.getReference()).getOrderId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should not start workers when asynchronous checkout is disabled")
+    void shouldNotStartWorkersWhenDisabled() {
+
+        checkoutQueue = checkoutQueue(false, 10);
+
+
+        checkoutQueue.start();
+
+
+        assertThat(checkoutQueue.isRunning()).isFalse();
+        verify(orderService, never()).placeOrders(any());
+    }
+
+    private CheckoutQueue checkoutQueue(boolean enabled, int capacity) {
+        return new CheckoutQueue(orderService, meterRegistry, enabled, capacity, 1, 20, Duration.ofMinutes(15));
+    }
+
+    private Order order(Long id) {
+        Order order = new Order();
+        order.setId(id);
+        return order;
+    }
+}
@@ -3,6 +3,7 @@ package com.bnpparibasfortis.book_store.service;
 import com.bnpparibasfortis.book_store.model.Customer;
 import com.bnpparibasfortis.book_store.model.CustomerStatus;
 import com.bnpparibasfortis.book_store.repository.CustomerRepository;
+import com.bnpparibasfortis.book_store.security.CustomerPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -50,6 +51,26 @@ class CustomUserDetailsServiceTest {
         testCustomer.setStatus(CustomerStatus.ACTIVE);
     }
 
+    @Test
+    @DisplayName("Should carry customer ID and role in the principal")
+    void shouldCarryCustomerIdAndRoleInPrincipal() {
+        
+        when(customerRepository.findByUsername("johndoe")).thenReturn(Optional.of(testCustomer));
+
+        
+        UserDetails result = customUserDetailsService.loadUserByUsername("johndoe");
+
+        
+        assertThat(result).isInstanceOf(CustomerPrincipal.class);
+        CustomerPrincipal principal = (CustomerPrincipal) result;
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getRole()).isEqualTo(Customer.Role.USER);
+
+        principal.eraseCredentials();
+
+        assertThat(principal.getPassword()).isNull();
+    }
+
     @Test
     @DisplayName("Should load user by username successfully for active user")
     void shouldLoadUserByUsernameSuccessfullyForActiveUser() {
@@ -3,6 +3,8 @@ package com.bnpparibasfortis.book_store.service;
 import com.bnpparibasfortis.book_store.model.Customer;
 import com.bnpparibasfortis.book_store.model.CustomerStatus;
 import com.bnpparibasfortis.book_store.repository.CustomerRepository;
+import com.bnpparibasfortis.book_store.repository.OrderRepository;
+import com.bnpparibasfortis.book_store.security.CredentialCache;
 import com.bnpparibasfortis.book_store.util.AppConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +15,7 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
@@ -35,9 +38,15 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private OrderRepository orderRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CredentialCache credentialCache;
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -132,6 +141,7 @@ class CustomerServiceTest {
 
         verify(customerRepository).findById(1L);
         verify(customerRepository).save(testCustomer);
+        verify(credentialCache).invalidate(testCustomer.getUsername());
     }
 
     @Test
@@ -233,19 +243,32 @@ class CustomerServiceTest {
     }
 
     @Test
-    @DisplayName("Should get customer with orders by username successfully")
-    void shouldGetCustomerWithOrdersByUsernameSuccessfully() {
+    @DisplayName("Should get recent order IDs bounded by the embedded ID limit")
+    void shouldGetRecentOrderIdsBoundedByEmbeddedIdLimit() {
         
-        when(customerRepository.findByUsernameWithOrders("johndoe")).thenReturn(Optional.of(testCustomer));
+        when(orderRepository.findIdsByCustomerId(1L, Limit.of(AppConstants.MAX_EMBEDDED_IDS)))
+                .thenReturn(List.of(30L, 20L, 10L));
 
         
-        Customer result = customerService.getCustomerWithOrdersByUsername("johndoe");
+        List<Long> result = customerService.getRecentOrderIds(1L);
 
         
-        assertThat(result).isNotNull();
-        assertThat(result.getUsername()).isEqualTo("johndoe");
+        assertThat(result).containsExactly(30L, 20L, 10L);
+
+        verify(orderRepository).findIdsByCustomerId(1L, Limit.of(AppConstants.MAX_EMBEDDED_IDS));
+    }
+
+    @Test
+    @DisplayName("Should count customer orders")
+    void shouldCountCustomerOrders() {
+        
+        when(orderRepository.countByCustomerId(1L)).thenReturn(42L);
 
-        verify(customerRepository).findByUsernameWithOrders("johndoe");
+        
+        long result = customerService.countOrders(1L);
+
+        
+        assertThat(result).isEqualTo(42L);
     }
 
     @Test
@@ -352,6 +375,7 @@ class CustomerServiceTest {
         verify(customerRepository).existsById(1L);
         verify(customerRepository).findCustomerById(1L);
         verify(customerRepository).save(testCustomer);
+        verify(credentialCache).invalidate(testCustomer.getUsername());
         assertThat(testCustomer.getStatus()).isEqualTo(CustomerStatus.DELETED);
     }
 
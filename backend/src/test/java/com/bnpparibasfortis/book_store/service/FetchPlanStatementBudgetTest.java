@@ -0,0 +1,256 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.dto.BookDto;
+import com.bnpparibasfortis.book_store.dto.BookSortField;
+import com.bnpparibasfortis.book_store.dto.CartDto;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
+import com.bnpparibasfortis.book_store.dto.OrderDto;
+import com.bnpparibasfortis.book_store.dto.OrderSummaryDto;
+import com.bnpparibasfortis.book_store.mapper.BookMapper;
+import com.bnpparibasfortis.book_store.mapper.BookMapperImpl;
+import com.bnpparibasfortis.book_store.mapper.CartItemMapperImpl;
+import com.bnpparibasfortis.book_store.mapper.CartMapper;
+import com.bnpparibasfortis.book_store.mapper.CartMapperImpl;
+import com.bnpparibasfortis.book_store.mapper.OrderItemMapperImpl;
+import com.bnpparibasfortis.book_store.mapper.OrderMapper;
+import com.bnpparibasfortis.book_store.mapper.OrderMapperImpl;
+import com.bnpparibasfortis.book_store.model.Author;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Cart;
+import com.bnpparibasfortis.book_store.model.CartItem;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import com.bnpparibasfortis.book_store.model.Publisher;
+import com.bnpparibasfortis.book_store.repository.OrderHistoryViewRepository;
+import com.bnpparibasfortis.book_store.repository.SalesRollupRepository;
+import com.bnpparibasfortis.book_store.support.StatementBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets of the service use cases, each including the mapping to the response DTO,
+ * so any association the fetch plan of a use case misses shows up as extra lazy-load statements.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CacheConfig.class, JacksonAutoConfiguration.class, BookService.class, CatalogSearchIndex.class, CartService.class, OrderService.class,
+        OrderEventOutbox.class, OrderHistoryProjection.class, OrderHistoryViewRepository.class,
+        SalesRollupRepository.class, TransactionRetryTemplate.class, BookMapperImpl.class, CartMapperImpl.class,
+        CartItemMapperImpl.class, OrderMapperImpl.class, OrderItemMapperImpl.class})
+@DisplayName("Fetch Plan Statement Budget Tests")
+class FetchPlanStatementBudgetTest {
+
+    private static final int BOOK_COUNT = 10;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private CartMapper cartMapper;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Book> books = new ArrayList<>();
+    private Long customerId;
+    private Long cartItemId;
+    private Long placedOrderId;
+    private Long placedOrderCustomerId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Publisher publisher = new Publisher();
+            publisher.setName("Publisher " + i);
+            entityManager.persist(publisher);
+
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setPrice(new BigDecimal("10.00"));
+            book.setStockQuantity(50);
+            book.setPublisher(publisher);
+            book.setAuthors(Set.of(newAuthor("First", i), newAuthor("Second", i)));
+            entityManager.persist(book);
+            books.add(book);
+        }
+        customerId = newCustomerWithCart("budget-buyer");
+        placedOrderCustomerId = newCustomerWithCart("budget-canceller");
+        entityManager.flush();
+        entityManager.clear();
+        placedOrderId = orderService.placeOrder(placedOrderCustomerId).getId();
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @StatementBudget(1)
+    @DisplayName("Should list the catalog with its publishers and authors in one statement")
+    void shouldListCatalogWithinBudget() {
+
+        List<BookDto> result = bookService.getAllBooks().stream().map(bookMapper::toDto).toList();
+
+
+        assertThat(result).hasSize(BOOK_COUNT).allSatisfy(book -> {
+            assertThat(book.getPublisherName()).startsWith("Publisher ");
+            assertThat(book.getAuthorNames()).hasSize(2);
+        });
+    }
+
+    @Test
+    @StatementBudget(1)
+    @DisplayName("Should read one book with its publisher and authors in one statement")
+    void shouldReadBookWithinBudget() {
+
+        BookDto result = bookMapper.toDto(bookService.getBookById(books.get(0).getId()));
+
+
+        assertThat(result.getPublisherName()).isEqualTo("Publisher 0");
+        assertThat(result.getAuthorNames()).hasSize(2);
+    }
+
+    @Test
+    @StatementBudget(2)
+    @DisplayName("Should read a catalog page and batch load its authors")
+    void shouldReadCatalogPageWithinBudget() {
+
+        List<BookDto> result = bookService.getBooksPage(BookSortField.TITLE, null, 5).getItems().stream()
+                .map(bookMapper::toDto)
+                .toList();
+
+
+        assertThat(result).hasSize(5).allSatisfy(book -> assertThat(book.getAuthorNames()).hasSize(2));
+    }
+
+    @Test
+    @StatementBudget(2)
+    @DisplayName("Should read a cart with its books in one statement and their authors in one batch")
+    void shouldReadCartWithinBudget() {
+
+        CartDto result = cartMapper.toDto(cartService.getCartForUser(customerId));
+
+
+        assertThat(result.getItems()).hasSize(BOOK_COUNT)
+                .allSatisfy(item -> assertThat(item.getBook().getPublisherName()).startsWith("Publisher "));
+    }
+
+    @Test
+    @StatementBudget(3)
+    @DisplayName("Should remove a cart item with the cart read, the author batch and one delete")
+    void shouldRemoveCartItemWithinBudget() {
+
+        CartDto result = cartMapper.toDto(cartService.removeItem(customerId, cartItemId));
+
+
+        assertThat(result.getItems()).hasSize(BOOK_COUNT - 1);
+    }
+
+    @Test
+    @StatementBudget(6)
+    @DisplayName("Should place an order and map it without loading the customer")
+    void shouldPlaceOrderWithinBudget() {
+
+        OrderDto result = orderMapper.toDto(orderService.placeOrder(customerId));
+
+
+        assertThat(result.getCustomerId()).isEqualTo(customerId);
+        assertThat(result.getItems()).hasSize(BOOK_COUNT)
+                .allSatisfy(item -> assertThat(item.getBook().getAuthorNames()).hasSize(2));
+    }
+
+    @Test
+    @StatementBudget(6)
+    @DisplayName("Should cancel an order and read it back with its books in one statement")
+    void shouldCancelOrderWithinBudget() {
+
+        OrderDto result = orderMapper.toDto(orderService.cancelOrder(placedOrderCustomerId, placedOrderId));
+
+
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.CANCELLED.name());
+        assertThat(result.getCustomerId()).isEqualTo(placedOrderCustomerId);
+        assertThat(result.getItems()).hasSize(BOOK_COUNT)
+                .allSatisfy(item -> assertThat(item.getBook().getPublisherName()).startsWith("Publisher "));
+    }
+
+    @Test
+    @StatementBudget(1)
+    @DisplayName("Should read an order history page without loading items or customers")
+    void shouldReadOrderHistoryPageWithinBudget() {
+
+        CursorPage<OrderSummaryDto> result = orderService.getOrderHistory(placedOrderCustomerId, null, null, null, 10);
+
+
+        assertThat(result.getItems()).singleElement()
+                .satisfies(order -> assertThat(order.getItemCount()).isEqualTo(BOOK_COUNT));
+    }
+
+    private Author newAuthor(String firstName, int index) {
+        Author author = new Author();
+        author.setFirstName(firstName);
+        author.setLastName("Author " + index);
+        entityManager.persist(author);
+        return author;
+    }
+
+    private Long newCustomerWithCart(String username) {
+        Customer customer = new Customer();
+        customer.setName("Budget Owner");
+        customer.setEmail(username + "@example.com");
+        customer.setUsername(username);
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        entityManager.persist(customer);
+
+        Cart cart = new Cart();
+        cart.setCustomer(customer);
+        cart.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(cart);
+
+        for (Book book : books) {
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setBook(book);
+            item.setQuantity(1);
+            entityManager.persist(item);
+            if (cartItemId == null) {
+                cartItemId = item.getId();
+            }
+        }
+        return customer.getId();
+    }
+}
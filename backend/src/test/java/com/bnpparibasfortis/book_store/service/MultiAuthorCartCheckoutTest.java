@@ -0,0 +1,137 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.model.Author;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Cart;
+import com.bnpparibasfortis.book_store.model.CartItem;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.model.Publisher;
+import com.bnpparibasfortis.book_store.repository.OrderHistoryViewRepository;
+import com.bnpparibasfortis.book_store.repository.SalesRollupRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression tests for a book with several authors in the cart: fetching the authors together
+ * with the cart lines would repeat the line, and so the order line and the stock decrement,
+ * once per author.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CacheConfig.class, JacksonAutoConfiguration.class, CartService.class, OrderService.class, OrderEventOutbox.class,
+        OrderHistoryProjection.class, OrderHistoryViewRepository.class, TransactionRetryTemplate.class,
+        SalesRollupRepository.class})
+@DisplayName("Multi-Author Cart Checkout Tests")
+class MultiAuthorCartCheckoutTest {
+
+    private static final int INITIAL_STOCK = 5;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long customerId;
+    private Long bookId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Co-Author Fan");
+        customer.setEmail("fan@example.com");
+        customer.setUsername("fan");
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        entityManager.persist(customer);
+        customerId = customer.getId();
+
+        Cart cart = new Cart();
+        cart.setCustomer(customer);
+        cart.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(cart);
+
+        Publisher publisher = new Publisher();
+        publisher.setName("Publisher");
+        entityManager.persist(publisher);
+
+        Book book = new Book();
+        book.setTitle("Good Omens");
+        book.setPrice(new BigDecimal("10.00"));
+        book.setStockQuantity(INITIAL_STOCK);
+        book.setPublisher(publisher);
+        book.setAuthors(Set.of(newAuthor("Terry", "Pratchett"), newAuthor("Neil", "Gaiman")));
+        entityManager.persist(book);
+        bookId = book.getId();
+
+        CartItem item = new CartItem();
+        item.setCart(cart);
+        item.setBook(book);
+        item.setQuantity(1);
+        entityManager.persist(item);
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Should load one cart line for a book with two authors")
+    void shouldLoadOneCartLineForTwoAuthorBook() {
+
+        Cart cart = cartService.getCartForUser(customerId);
+
+
+        assertThat(cart.getItems()).hasSize(1);
+        assertThat(cart.getItems().get(0).getBook().getAuthors()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should order a book with two authors once and decrement its stock once")
+    void shouldOrderTwoAuthorBookOnce() {
+
+        Order order = orderService.placeOrder(customerId);
+        entityManager.flush();
+        entityManager.clear();
+
+
+        assertThat(order.getItems()).hasSize(1);
+        assertThat(entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(oi) FROM OrderItem oi", Long.class)
+                .getSingleResult()).isEqualTo(1L);
+        assertThat(entityManager.find(Book.class, bookId).getStockQuantity()).isEqualTo(INITIAL_STOCK - 1);
+    }
+
+    private Author newAuthor(String firstName, String lastName) {
+        Author author = new Author();
+        author.setFirstName(firstName);
+        author.setLastName(lastName);
+        entityManager.persist(author);
+        return author;
+    }
+}
@@ -0,0 +1,141 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Cart;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.repository.BookRepository;
+import com.bnpparibasfortis.book_store.repository.CartRepository;
+import com.bnpparibasfortis.book_store.repository.CustomerRepository;
+import com.bnpparibasfortis.book_store.repository.OrderHistoryViewRepository;
+import com.bnpparibasfortis.book_store.repository.SalesRollupRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checkout latency and statement count versus cart size, each checkout committed in its own transaction.
+ * Runs against in-memory H2, so it shows the statement count staying flat rather than network round trips.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CacheConfig.class, JacksonAutoConfiguration.class, OrderService.class, OrderEventOutbox.class,
+        OrderHistoryProjection.class, OrderHistoryViewRepository.class, TransactionRetryTemplate.class,
+        SalesRollupRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Order Checkout Benchmark")
+class OrderCheckoutBenchmarkTest {
+
+    private static final int[] CART_SIZES = {1, 10, 30, 100};
+    private static final int WARMUP_CHECKOUTS = 20;
+    private static final int MEASURED_CHECKOUTS = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should keep the checkout statement count independent of cart size")
+    void shouldKeepCheckoutStatementCountIndependentOfCartSize() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<Integer, Long> statementsPerCheckout = new LinkedHashMap<>();
+
+        for (int cartSize : CART_SIZES) {
+            Cart cart = newCart(cartSize);
+            List<Long> bookIds = newBooks(cartSize);
+            Long customerId = cart.getCustomer().getId();
+
+            for (int i = 0; i < WARMUP_CHECKOUTS; i++) {
+                fillCart(cart.getId(), bookIds);
+                orderService.placeOrder(customerId);
+            }
+
+            long elapsed = 0;
+            statistics.clear();
+            for (int i = 0; i < MEASURED_CHECKOUTS; i++) {
+                fillCart(cart.getId(), bookIds);
+                long start = System.nanoTime();
+                orderService.placeOrder(customerId);
+                elapsed += System.nanoTime() - start;
+            }
+            // Only the checkouts go through Hibernate; the cart is refilled with plain JDBC
+            statementsPerCheckout.put(cartSize, statistics.getPrepareStatementCount() / MEASURED_CHECKOUTS);
+
+            System.out.printf("Checkout of %3d lines: %.3f ms, %d Hibernate statements%n",
+                    cartSize, elapsed / 1e6 / MEASURED_CHECKOUTS, statementsPerCheckout.get(cartSize));
+        }
+
+        assertThat(statementsPerCheckout.values()).containsOnly(statementsPerCheckout.get(CART_SIZES[0]));
+    }
+
+    private Cart newCart(int cartSize) {
+        Customer customer = new Customer();
+        customer.setName("Benchmark Buyer");
+        customer.setEmail("buyer" + cartSize + "@example.com");
+        customer.setUsername("buyer" + cartSize);
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        customerRepository.save(customer);
+
+        Cart cart = new Cart();
+        cart.setCustomer(customer);
+        cart.setCreatedAt(LocalDateTime.now());
+        return cartRepository.save(cart);
+    }
+
+    private List<Long> newBooks(int count) {
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Book book = new Book();
+            book.setTitle("Benchmark Book " + i);
+            book.setPrice(new BigDecimal("10.00"));
+            book.setStockQuantity(1_000_000);
+            bookIds.add(bookRepository.save(book).getId());
+        }
+        return bookIds;
+    }
+
+    private void fillCart(Long cartId, List<Long> bookIds) {
+        jdbcTemplate.batchUpdate("INSERT INTO cart_item (cart_id, book_id, quantity) VALUES (?, ?, 1)",
+                bookIds.stream().map(bookId -> new Object[]{cartId, bookId}).toList());
+    }
+}
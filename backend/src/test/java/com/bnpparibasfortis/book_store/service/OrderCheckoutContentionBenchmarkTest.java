@@ -0,0 +1,161 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Cart;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.repository.BookRepository;
+import com.bnpparibasfortis.book_store.repository.CartRepository;
+import com.bnpparibasfortis.book_store.repository.CustomerRepository;
+import com.bnpparibasfortis.book_store.repository.OrderHistoryViewRepository;
+import com.bnpparibasfortis.book_store.repository.SalesRollupRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checkout latency percentiles in pessimistic inventory locking mode while every customer buys
+ * the same best-sellers, with a growing number of concurrent customers. Each cart lists the books
+ * in its own order, so only the locking order keeps concurrent checkouts free of deadlocks.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CacheConfig.class, JacksonAutoConfiguration.class, OrderService.class, OrderEventOutbox.class,
+        OrderHistoryProjection.class, OrderHistoryViewRepository.class, TransactionRetryTemplate.class,
+        SalesRollupRepository.class})
+@TestPropertySource(properties = "bookstore.checkout.inventory-locking=pessimistic")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Order Checkout Contention Benchmark")
+class OrderCheckoutContentionBenchmarkTest {
+
+    private static final int[] THREAD_COUNTS = {1, 4, 16};
+    private static final int BEST_SELLERS = 5;
+    private static final int CHECKOUTS_PER_THREAD = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should complete every contended checkout without deadlocks or overselling")
+    void shouldCompleteEveryContendedCheckout() throws Exception {
+        List<Long> bestSellers = newBooks(BEST_SELLERS);
+
+        int totalCheckouts = 0;
+        for (int threads : THREAD_COUNTS) {
+            List<Cart> carts = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                carts.add(newCart("buyer-" + threads + "-" + t));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Callable<long[]>> workers = new ArrayList<>();
+            for (Cart cart : carts) {
+                workers.add(() -> checkoutRepeatedly(cart, bestSellers));
+            }
+            List<Long> latencies = new ArrayList<>();
+            for (Future<long[]> result : executor.invokeAll(workers)) {
+                for (long latency : result.get()) {
+                    latencies.add(latency);
+                }
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            totalCheckouts += threads * CHECKOUTS_PER_THREAD;
+
+            Collections.sort(latencies);
+            System.out.printf("Contended checkout on %2d threads: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    threads, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    latencies.get(latencies.size() - 1) / 1e6);
+        }
+
+        for (Long bookId : bestSellers) {
+            assertThat(bookRepository.findById(bookId).orElseThrow().getStockQuantity())
+                    .isEqualTo(1_000_000 - totalCheckouts);
+        }
+    }
+
+    private long[] checkoutRepeatedly(Cart cart, List<Long> bookIds) {
+        List<Long> shuffled = new ArrayList<>(bookIds);
+        long[] latencies = new long[CHECKOUTS_PER_THREAD];
+        for (int i = 0; i < CHECKOUTS_PER_THREAD; i++) {
+            Collections.shuffle(shuffled);
+            jdbcTemplate.batchUpdate("INSERT INTO cart_item (cart_id, book_id, quantity) VALUES (?, ?, 1)",
+                    shuffled.stream().map(bookId -> new Object[]{cart.getId(), bookId}).toList());
+            long start = System.nanoTime();
+            orderService.placeOrder(cart.getCustomer().getId());
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static double percentile(List<Long> sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(index, 0)) / 1e6;
+    }
+
+    private Cart newCart(String username) {
+        Customer customer = new Customer();
+        customer.setName("Benchmark Buyer");
+        customer.setEmail(username + "@example.com");
+        customer.setUsername(username);
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        customerRepository.save(customer);
+
+        Cart cart = new Cart();
+        cart.setCustomer(customer);
+        cart.setCreatedAt(LocalDateTime.now());
+        return cartRepository.save(cart);
+    }
+
+    private List<Long> newBooks(int count) {
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Book book = new Book();
+            book.setTitle("Best Seller " + i);
+            book.setPrice(new BigDecimal("10.00"));
+            book.setStockQuantity(1_000_000);
+            bookIds.add(bookRepository.save(book).getId());
+        }
+        return bookIds;
+    }
+}
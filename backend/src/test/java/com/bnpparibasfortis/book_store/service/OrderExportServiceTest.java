@@ -0,0 +1,109 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.dto.OrderExportFormat;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CacheConfig.class, JacksonAutoConfiguration.class, OrderExportService.class})
+@DisplayName("OrderExportService Tests")
+class OrderExportServiceTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 10, 9, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 10, 9, 0);
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Customer customer;
+    private Order januaryOrder;
+    private Order februaryOrder;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setName("Export Owner");
+        customer.setEmail("exporter@example.com");
+        customer.setUsername("exporter");
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        entityManager.persist(customer);
+
+        januaryOrder = order(JANUARY, OrderStatus.NEW, "12.50");
+        februaryOrder = order(FEBRUARY, OrderStatus.SHIPPED, "8.00");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should export all orders as CSV in ID order")
+    void shouldExportAllOrdersAsCsv() throws IOException {
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+
+        long count = orderExportService.exportOrders(new OrderFilter(null, null, null, null), OrderExportFormat.CSV, output);
+
+
+        assertThat(count).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,customer_id,order_date,status,total_price,item_count\n"
+                        + januaryOrder.getId() + "," + customer.getId() + ",2024-01-10T09:00,NEW,12.50,0\n"
+                        + februaryOrder.getId() + "," + customer.getId() + ",2024-02-10T09:00,SHIPPED,8.00,0\n");
+    }
+
+    @Test
+    @DisplayName("Should export only the filtered orders as NDJSON")
+    void shouldExportFilteredOrdersAsNdjson() throws IOException {
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        OrderFilter filter = new OrderFilter(customer.getId(), null, FEBRUARY.minusDays(1), null);
+
+
+        long count = orderExportService.exportOrders(filter, OrderExportFormat.NDJSON, output);
+
+
+        assertThat(count).isEqualTo(1);
+        String export = output.toString(StandardCharsets.UTF_8);
+        assertThat(export).endsWith("}\n").doesNotContain("\"NEW\"");
+        assertThat(export.lines()).singleElement().satisfies(line -> assertThat(line)
+                .contains("\"id\":" + februaryOrder.getId())
+                .contains("\"status\":\"SHIPPED\"")
+                .contains("\"itemCount\":0"));
+    }
+
+    private Order order(LocalDateTime orderDate, OrderStatus status, String totalPrice) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderDate(orderDate);
+        order.setStatus(status);
+        order.setTotalPrice(new BigDecimal(totalPrice));
+        return entityManager.persist(order);
+    }
+}
@@ -0,0 +1,193 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.dto.OrderHistoryDto;
+import com.bnpparibasfortis.book_store.dto.OrderStatusUpdateDto;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Cart;
+import com.bnpparibasfortis.book_store.model.CartItem;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import com.bnpparibasfortis.book_store.repository.CartItemRepository;
+import com.bnpparibasfortis.book_store.repository.OrderHistoryViewRepository;
+import com.bnpparibasfortis.book_store.repository.SalesRollupRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CacheConfig.class, JacksonAutoConfiguration.class, OrderService.class, OrderEventOutbox.class,
+        OrderHistoryProjection.class, OrderHistoryViewRepository.class, TransactionRetryTemplate.class,
+        SalesRollupRepository.class})
+@DisplayName("OrderService Query Count Tests")
+class OrderServiceQueryCountTest {
+
+    private static final int LINE_COUNT = 30;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long customerId;
+    private Long secondCustomerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = newCustomerWithCart("buyer");
+        secondCustomerId = newCustomerWithCart("second-buyer");
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should place a 30 line order with a fixed number of statements")
+    void shouldPlaceOrderWithFixedNumberOfStatements() {
+
+        Order order = orderService.placeOrder(customerId);
+        entityManager.flush();
+
+
+        assertThat(order.getItems()).hasSize(LINE_COUNT);
+        assertThat(order.getTotalPrice()).isEqualByComparingTo("600.00");
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(LINE_COUNT + 2);
+        // Cart read, bulk cart clear, order insert, outbox event insert and one batched order item insert;
+        // the stock decrement batch and the ID block allocations go through plain JDBC
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(cartItemRepository.count()).isEqualTo(LINE_COUNT);
+    }
+
+    @Test
+    @DisplayName("Should place a batch of orders with a fixed number of statements per order")
+    void shouldPlaceBatchOfOrdersWithFixedNumberOfStatementsPerOrder() {
+
+        List<Order> orders = orderService.placeOrders(List.of(customerId, secondCustomerId));
+        entityManager.flush();
+
+
+        assertThat(orders).hasSize(2).allSatisfy(order -> assertThat(order.getItems()).hasSize(LINE_COUNT));
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2 * (LINE_COUNT + 2));
+        // The bulk cart clear makes the next cart read flush the previous order, so each order keeps its own 5
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should cancel orders and restore their stock with a fixed number of statements")
+    void shouldCancelOrdersWithFixedNumberOfStatements() {
+
+        List<Long> orderIds = orderService.placeOrders(List.of(customerId, secondCustomerId)).stream()
+                .map(Order::getId)
+                .toList();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+
+        OrderStatusUpdateDto result = orderService.cancelOrders(orderIds);
+        entityManager.flush();
+
+
+        assertThat(result.getUpdated()).isEqualTo(2);
+        // Order lock, status update and per-book quantity sum; the stock increments and the rollup mark go through JDBC
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        entityManager.clear();
+        assertThat(entityManager.getEntityManager()
+                .createQuery("SELECT DISTINCT b.stockQuantity FROM Book b", Integer.class)
+                .getResultList()).containsExactly(5);
+        assertThat(orderIds).allSatisfy(id ->
+                assertThat(entityManager.find(Order.class, id).getStatus()).isEqualTo(OrderStatus.CANCELLED));
+    }
+
+    @Test
+    @DisplayName("Should read the order history from the read model without any entity query")
+    void shouldReadOrderHistoryFromReadModelWithoutEntityQueries() {
+
+        List<Order> orders = orderService.placeOrders(List.of(customerId, secondCustomerId));
+        orderService.cancelOrders(List.of(orders.get(1).getId()));
+        entityManager.flush();
+        entityManager.getEntityManager().createQuery("UPDATE Book b SET b.title = 'Renamed'").executeUpdate();
+        entityManager.clear();
+        statistics.clear();
+
+
+        List<OrderHistoryDto> history = orderService.getOrdersForCustomer(customerId);
+        List<OrderHistoryDto> secondHistory = orderService.getOrdersForCustomer(secondCustomerId);
+
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(history).singleElement().satisfies(entry -> {
+            assertThat(entry.getId()).isEqualTo(orders.get(0).getId());
+            assertThat(entry.getStatus()).isEqualTo(OrderStatus.NEW);
+            assertThat(entry.getTotalPrice()).isEqualByComparingTo("600.00");
+            assertThat(entry.getItemCount()).isEqualTo(LINE_COUNT);
+            assertThat(entry.getItems()).hasSize(LINE_COUNT).allSatisfy(line -> {
+                assertThat(line.getTitle()).startsWith("buyer book ");
+                assertThat(line.getQuantity()).isEqualTo(2);
+                assertThat(line.getPrice()).isEqualByComparingTo("10.00");
+            });
+        });
+        assertThat(secondHistory).extracting(OrderHistoryDto::getStatus).containsExactly(OrderStatus.CANCELLED);
+    }
+
+    private Long newCustomerWithCart(String username) {
+        Customer customer = new Customer();
+        customer.setName("Order Owner");
+        customer.setEmail(username + "@example.com");
+        customer.setUsername(username);
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        entityManager.persist(customer);
+
+        Cart cart = new Cart();
+        cart.setCustomer(customer);
+        cart.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(cart);
+
+        for (int i = 0; i < LINE_COUNT; i++) {
+            Book book = new Book();
+            book.setTitle(username + " book " + i);
+            book.setPrice(new BigDecimal("10.00"));
+            book.setStockQuantity(5);
+            entityManager.persist(book);
+
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setBook(book);
+            item.setQuantity(2);
+            entityManager.persist(item);
+        }
+        return customer.getId();
+    }
+}
@@ -0,0 +1,430 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.dto.AdminOrderSummaryDto;
+import com.bnpparibasfortis.book_store.dto.CursorPage;
+import com.bnpparibasfortis.book_store.dto.OrderHistoryDto;
+import com.bnpparibasfortis.book_store.dto.OrderStatusUpdateDto;
+import com.bnpparibasfortis.book_store.dto.OrderSummaryDto;
+import com.bnpparibasfortis.book_store.exception.InsufficientStockException;
+import com.bnpparibasfortis.book_store.exception.OrderNotCancellableException;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Cart;
+import com.bnpparibasfortis.book_store.model.CartItem;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import com.bnpparibasfortis.book_store.repository.BookRepository;
+import com.bnpparibasfortis.book_store.repository.CartItemRepository;
+import com.bnpparibasfortis.book_store.repository.CartRepository;
+import com.bnpparibasfortis.book_store.repository.CustomerRepository;
+import com.bnpparibasfortis.book_store.repository.OrderItemRepository;
+import com.bnpparibasfortis.book_store.repository.OrderRepository;
+import com.bnpparibasfortis.book_store.repository.SalesRollupRepository;
+import com.bnpparibasfortis.book_store.repository.StockAdjustment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderService Tests")
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @Mock
+    private OrderEventOutbox orderEventOutbox;
+
+    @Mock
+    private OrderHistoryProjection orderHistoryProjection;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = orderService(InventoryLockingMode.GUARDED_UPDATE);
+    }
+
+    @Test
+    @DisplayName("Should place order with one guarded stock decrement batch in book ID order")
+    void shouldPlaceOrderWithGuardedStockDecrementBatch() {
+
+        Customer customer = customerWithCart(cartItem(2L, "Second", 1), cartItem(1L, "First", 3));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(customer.getCart()));
+        when(customerRepository.getReferenceById(1L)).thenReturn(customer);
+        when(bookRepository.decrementStock(any())).thenReturn(new boolean[]{true, true});
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+
+        Order order = orderService.placeOrder(1L);
+
+
+        verify(bookRepository).decrementStock(List.of(new StockAdjustment(1L, 3), new StockAdjustment(2L, 1)));
+        verify(bookRepository, never()).save(any(Book.class));
+        assertThat(order.getItems()).hasSize(2);
+        assertThat(order.getTotalPrice()).isEqualByComparingTo("40.00");
+        assertThat(order.getCustomer()).isSameAs(customer);
+        assertThat(customer.getCart().getItems()).isEmpty();
+        verify(cartItemRepository).deleteByCartId(5L);
+        verify(customerRepository, never()).findById(anyLong());
+        verify(orderEventOutbox).orderPlaced(order);
+        verify(orderHistoryProjection).orderPlaced(order);
+    }
+
+    @Test
+    @DisplayName("Should lock cart books in book ID order before decrementing stock in pessimistic mode")
+    void shouldLockCartBooksBeforeDecrementingStockInPessimisticMode() {
+
+        OrderService pessimisticOrderService = orderService(InventoryLockingMode.PESSIMISTIC);
+        Customer customer = customerWithCart(cartItem(2L, "Second", 1), cartItem(1L, "First", 3));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(customer.getCart()));
+        when(customerRepository.getReferenceById(1L)).thenReturn(customer);
+        when(bookRepository.lockStock(List.of(1L, 2L))).thenReturn(Map.of(1L, 3, 2L, 5));
+        when(bookRepository.decrementStock(any())).thenReturn(new boolean[]{true, true});
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+
+        Order order = pessimisticOrderService.placeOrder(1L);
+
+
+        verify(bookRepository).decrementStock(List.of(new StockAdjustment(1L, 3), new StockAdjustment(2L, 1)));
+        assertThat(order.getItems()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should reject order on the locked stock without decrementing it in pessimistic mode")
+    void shouldRejectOrderOnLockedStockInPessimisticMode() {
+
+        OrderService pessimisticOrderService = orderService(InventoryLockingMode.PESSIMISTIC);
+        Customer customer = customerWithCart(cartItem(1L, "In Stock", 1), cartItem(2L, "Sold Out", 2));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(customer.getCart()));
+        when(bookRepository.lockStock(List.of(1L, 2L))).thenReturn(Map.of(1L, 10, 2L, 1));
+
+
+        assertThatThrownBy(() -> pessimisticOrderService.placeOrder(1L))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Sold Out");
+
+        verify(bookRepository, never()).decrementStock(any());
+        verify(cartItemRepository, never()).deleteByCartId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should place the orders of a batch of customers in one transaction")
+    void shouldPlaceOrdersOfBatchInOneTransaction() {
+
+        Customer first = customerWithCart(cartItem(1L, "First", 1));
+        Customer second = customerWithCart(cartItem(2L, "Second", 2));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(first.getCart()));
+        when(cartRepository.findWithItemsByCustomerId(2L)).thenReturn(Optional.of(second.getCart()));
+        when(bookRepository.decrementStock(any())).thenReturn(new boolean[]{true});
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+
+        List<Order> orders = orderService.placeOrders(List.of(1L, 2L));
+
+
+        assertThat(orders).extracting(Order::getTotalPrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("20.00"));
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should reject order when the customer has no cart")
+    void shouldRejectOrderWhenCustomerHasNoCart() {
+
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.empty());
+
+
+        assertThatThrownBy(() -> orderService.placeOrder(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cart is empty");
+
+        verify(bookRepository, never()).decrementStock(any());
+    }
+
+    @Test
+    @DisplayName("Should reject order when the cart is empty")
+    void shouldRejectOrderWhenCartIsEmpty() {
+
+        Customer customer = customerWithCart();
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(customer.getCart()));
+
+
+        assertThatThrownBy(() -> orderService.placeOrder(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cart is empty");
+
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should reject order when a guarded stock decrement matches no row")
+    void shouldRejectOrderWhenStockDecrementMatchesNoRow() {
+
+        Customer customer = customerWithCart(cartItem(1L, "Sold Out", 2));
+        when(cartRepository.findWithItemsByCustomerId(1L)).thenReturn(Optional.of(customer.getCart()));
+        when(bookRepository.decrementStock(any())).thenReturn(new boolean[]{false});
+
+
+        assertThatThrownBy(() -> orderService.placeOrder(1L))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Sold Out");
+
+        verify(cartItemRepository, never()).deleteByCartId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should read the order history from the read model without loading orders or the customer")
+    void shouldReadOrderHistoryFromReadModel() {
+
+        OrderHistoryDto entry = new OrderHistoryDto();
+        entry.setId(10L);
+        when(orderHistoryProjection.getOrderHistory(1L)).thenReturn(List.of(entry));
+
+
+        List<OrderHistoryDto> result = orderService.getOrdersForCustomer(1L);
+
+
+        assertThat(result).containsExactly(entry);
+        verify(orderRepository, never()).findAll();
+        verify(customerRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should return order history page with cursor pointing at the last order")
+    void shouldReturnOrderHistoryPageWithCursor() {
+
+        LocalDateTime newest = LocalDateTime.of(2024, 5, 2, 10, 0);
+        LocalDateTime older = LocalDateTime.of(2024, 5, 1, 10, 0);
+        OrderSummaryDto first = new OrderSummaryDto(20L, newest, OrderStatus.NEW, new BigDecimal("10.00"), 1);
+        OrderSummaryDto second = new OrderSummaryDto(19L, older, OrderStatus.NEW, new BigDecimal("20.00"), 2);
+        when(orderRepository.findOrderSummaries(1L, null, null, null, null, Limit.of(2)))
+                .thenReturn(List.of(first, second));
+
+
+        CursorPage<OrderSummaryDto> page = orderService.getOrderHistory(1L, null, null, null, 1);
+
+
+        assertThat(page.getItems()).containsExactly(first);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(OrderCursor.decode(page.getNextCursor())).isEqualTo(new OrderCursor(newest, 20L));
+    }
+
+    @Test
+    @DisplayName("Should pass decoded cursor and date range to the history query")
+    void shouldPassDecodedCursorAndDateRangeToHistoryQuery() {
+
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        LocalDateTime cursorDate = LocalDateTime.of(2024, 1, 15, 8, 30);
+        String cursor = new OrderCursor(cursorDate, 7L).encode();
+        when(orderRepository.findOrderSummaries(1L, from, to, cursorDate, 7L, Limit.of(11))).thenReturn(List.of());
+
+
+        CursorPage<OrderSummaryDto> page = orderService.getOrderHistory(1L, from, to, cursor, 10);
+
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        verify(orderRepository).findOrderSummaries(1L, from, to, cursorDate, 7L, Limit.of(11));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed order history cursor")
+    void shouldRejectMalformedOrderHistoryCursor() {
+
+        assertThatThrownBy(() -> orderService.getOrderHistory(1L, null, null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+
+        verify(orderRepository, never()).findOrderSummaries(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should pass filters and decoded cursor to the admin listing query")
+    void shouldPassFiltersAndDecodedCursorToAdminListingQuery() {
+
+        LocalDateTime cursorDate = LocalDateTime.of(2024, 1, 15, 8, 30);
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        AdminOrderSummaryDto first = new AdminOrderSummaryDto(6L, 3L, cursorDate, OrderStatus.PAID, new BigDecimal("12.00"), 1);
+        AdminOrderSummaryDto second = new AdminOrderSummaryDto(5L, 4L, cursorDate, OrderStatus.PAID, new BigDecimal("8.00"), 2);
+        when(orderRepository.findAdminOrderSummaries(null, OrderStatus.PAID, from, null, cursorDate, 7L, Limit.of(2)))
+                .thenReturn(List.of(first, second));
+
+
+        CursorPage<AdminOrderSummaryDto> page = orderService.getAllOrders(new OrderFilter(null, OrderStatus.PAID, from, null),
+                new OrderCursor(cursorDate, 7L).encode(), 1);
+
+
+        assertThat(page.getItems()).containsExactly(first);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(OrderCursor.decode(page.getNextCursor())).isEqualTo(new OrderCursor(cursorDate, 6L));
+    }
+
+    @Test
+    @DisplayName("Should move orders from the allowed source status in one update")
+    void shouldMoveOrdersFromAllowedSourceStatusesInOneUpdate() {
+
+        when(orderRepository.updateStatus(Set.of(1L, 2L, 3L), Set.of(OrderStatus.PAID), OrderStatus.SHIPPED))
+                .thenReturn(2);
+
+
+        OrderStatusUpdateDto result = orderService.transitionOrders(List.of(1L, 2L, 2L, 3L), OrderStatus.SHIPPED);
+
+
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getUpdated()).isEqualTo(2);
+        verify(orderHistoryProjection).statusChanged(Set.of(1L, 2L, 3L), Set.of(OrderStatus.PAID), OrderStatus.SHIPPED);
+    }
+
+    @Test
+    @DisplayName("Should reject a target status no order can move to")
+    void shouldRejectUnreachableTargetStatus() {
+
+        assertThatThrownBy(() -> orderService.transitionOrders(List.of(1L), OrderStatus.NEW))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot be moved to status NEW");
+
+        verify(orderRepository, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should cancel only lockable orders and restore their stock per book in one batch")
+    void shouldCancelLockableOrdersAndRestoreStockPerBook() {
+
+        Set<OrderStatus> sources = Set.of(OrderStatus.NEW, OrderStatus.PAID);
+        List<StockAdjustment> restored = List.of(new StockAdjustment(1L, 5), new StockAdjustment(2L, 1));
+        when(orderRepository.lockIdsInStatus(Set.of(10L, 11L, 12L), sources)).thenReturn(List.of(10L, 12L));
+        when(orderItemRepository.sumQuantitiesByBook(List.of(10L, 12L))).thenReturn(restored);
+
+
+        OrderStatusUpdateDto result = orderService.cancelOrders(List.of(10L, 11L, 12L));
+
+
+        verify(orderRepository).updateStatus(List.of(10L, 12L), sources, OrderStatus.CANCELLED);
+        verify(orderHistoryProjection).statusChanged(List.of(10L, 12L), sources, OrderStatus.CANCELLED);
+        verify(bookRepository).incrementStock(restored);
+        verify(salesRollupRepository).markOrderDaysDirty(List.of(10L, 12L));
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getUpdated()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should cancel through the stock restoring path when moving orders to CANCELLED")
+    void shouldCancelWhenTransitioningToCancelled() {
+
+        when(orderRepository.lockIdsInStatus(any(), any())).thenReturn(List.of());
+
+
+        OrderStatusUpdateDto result = orderService.transitionOrders(List.of(10L), OrderStatus.CANCELLED);
+
+
+        assertThat(result.getUpdated()).isZero();
+        verify(orderRepository, never()).updateStatus(any(), any(), any());
+        verify(bookRepository, never()).incrementStock(any());
+    }
+
+    @Test
+    @DisplayName("Should not cancel an order of another customer")
+    void shouldNotCancelOrderOfAnotherCustomer() {
+
+        when(orderRepository.existsByIdAndCustomerId(10L, 2L)).thenReturn(false);
+
+
+        assertThatThrownBy(() -> orderService.cancelOrder(2L, 10L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Order not found");
+
+        verify(orderRepository, never()).lockIdsInStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject cancelling an order that is no longer cancellable")
+    void shouldRejectCancellingShippedOrder() {
+
+        when(orderRepository.existsByIdAndCustomerId(10L, 1L)).thenReturn(true);
+        when(orderRepository.lockIdsInStatus(any(), any())).thenReturn(List.of());
+
+
+        assertThatThrownBy(() -> orderService.cancelOrder(1L, 10L))
+                .isInstanceOf(OrderNotCancellableException.class)
+                .hasMessageContaining("cannot be cancelled");
+
+        verify(bookRepository, never()).incrementStock(any());
+    }
+
+    private OrderService orderService(InventoryLockingMode inventoryLockingMode) {
+        TransactionRetryTemplate retryTemplate = new TransactionRetryTemplate(transactionManager, 1, Duration.ZERO, Duration.ZERO);
+        return new OrderService(orderRepository, bookRepository, customerRepository, cartRepository, cartItemRepository,
+                orderItemRepository, salesRollupRepository, orderEventOutbox, orderHistoryProjection, retryTemplate, inventoryLockingMode);
+    }
+
+    private Customer customerWithCart(CartItem... items) {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        Cart cart = new Cart();
+        cart.setId(5L);
+        cart.setCustomer(customer);
+        cart.setItems(new ArrayList<>(List.of(items)));
+        customer.setCart(cart);
+        return customer;
+    }
+
+    private CartItem cartItem(Long bookId, String title, int quantity) {
+        Book book = new Book();
+        book.setId(bookId);
+        book.setTitle(title);
+        book.setPrice(new BigDecimal("10.00"));
+        CartItem item = new CartItem();
+        item.setBook(book);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,97 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.model.OutboxEvent;
+import com.bnpparibasfortis.book_store.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(CacheConfig.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (long orderId = 1; orderId <= 3; orderId++) {
+            entityManager.persist(new OutboxEvent(null, OrderEventOutbox.AGGREGATE_TYPE, orderId,
+                    OrderEventOutbox.ORDER_PLACED, "{\"orderId\":" + orderId + "}", LocalDateTime.now()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should publish the outbox in id order batches and delete the published events")
+    void shouldPublishOutboxInBatchesAndDeletePublishedEvents() {
+
+        InMemoryOutboxEventSink sink = new InMemoryOutboxEventSink(10);
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, sink, transactionManager,
+                new SimpleMeterRegistry(), true, 2, 10);
+
+
+        int published = relay.relay();
+
+
+        assertThat(published).isEqualTo(3);
+        assertThat(sink.getEvents()).extracting(OutboxEvent::getAggregateId).containsExactly(1L, 2L, 3L);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the events in the outbox when the sink fails")
+    void shouldKeepEventsWhenSinkFails() {
+
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, events -> {
+            throw new IOException("Sink unavailable");
+        }, transactionManager, new SimpleMeterRegistry(), true, 2, 10);
+
+
+        assertThatThrownBy(relay::relay)
+                .isInstanceOf(OutboxRelay.OutboxPublishException.class)
+                .hasCauseInstanceOf(IOException.class);
+
+        assertThat(outboxEventRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not relay when the relay is disabled on this node")
+    void shouldNotRelayWhenDisabled() {
+
+        InMemoryOutboxEventSink sink = new InMemoryOutboxEventSink(10);
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, sink, transactionManager,
+                new SimpleMeterRegistry(), false, 2, 10);
+
+
+        assertThat(relay.relay()).isZero();
+
+        assertThat(sink.getEvents()).isEmpty();
+        assertThat(outboxEventRepository.count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,198 @@
+package com.bnpparibasfortis.book_store.service;
+
+import com.bnpparibasfortis.book_store.config.CacheConfig;
+import com.bnpparibasfortis.book_store.dto.SalesReportGrouping;
+import com.bnpparibasfortis.book_store.dto.SalesReportRowDto;
+import com.bnpparibasfortis.book_store.model.Book;
+import com.bnpparibasfortis.book_store.model.Customer;
+import com.bnpparibasfortis.book_store.model.CustomerStatus;
+import com.bnpparibasfortis.book_store.model.Order;
+import com.bnpparibasfortis.book_store.model.OrderItem;
+import com.bnpparibasfortis.book_store.model.OrderStatus;
+import com.bnpparibasfortis.book_store.model.Publisher;
+import com.bnpparibasfortis.book_store.repository.SalesRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CacheConfig.class, SalesReportService.class, SalesRollupRepository.class})
+@DisplayName("SalesReportService Tests")
+class SalesReportServiceTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 3, 1);
+    private static final LocalDate SECOND_DAY = LocalDate.of(2024, 3, 2);
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Customer customer;
+    private Publisher publisher;
+    private Book firstBook;
+    private Book secondBook;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setName("Report Buyer");
+        customer.setEmail("report@example.com");
+        customer.setUsername("report-buyer");
+        customer.setPassword("encoded");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        entityManager.persist(customer);
+
+        publisher = new Publisher();
+        publisher.setName("Rollup Press");
+        entityManager.persist(publisher);
+
+        firstBook = book("First", publisher);
+        secondBook = book("Second", null);
+    }
+
+    @Test
+    @DisplayName("Should roll up revenue, units and orders per day, book and publisher")
+    void shouldRollUpSalesPerDayBookAndPublisher() {
+
+        order(FIRST_DAY.atTime(9, 0), OrderStatus.NEW, line(firstBook, 2, "10.00"), line(secondBook, 1, "5.00"));
+        order(FIRST_DAY.atTime(17, 0), OrderStatus.PAID, line(firstBook, 1, "10.00"));
+        order(SECOND_DAY.atTime(8, 0), OrderStatus.NEW, line(secondBook, 4, "5.00"));
+        entityManager.flush();
+
+
+        salesReportService.refreshRollups();
+
+
+        assertThat(salesReportService.getSalesReport(SalesReportGrouping.DAY, FIRST_DAY, SECOND_DAY))
+                .extracting(SalesReportRowDto::getDate, SalesReportRowDto::getOrderCount, SalesReportRowDto::getUnits)
+                .containsExactly(
+                        tuple(FIRST_DAY, 2L, 4L),
+                        tuple(SECOND_DAY, 1L, 4L));
+        assertThat(salesReportService.getSalesReport(SalesReportGrouping.DAY, FIRST_DAY, FIRST_DAY))
+                .singleElement().satisfies(row -> assertThat(row.getRevenue()).isEqualByComparingTo("35.00"));
+        assertThat(salesReportService.getSalesReport(SalesReportGrouping.BOOK, FIRST_DAY, FIRST_DAY))
+                .extracting(SalesReportRowDto::getGroupName, SalesReportRowDto::getOrderCount, SalesReportRowDto::getUnits)
+                .containsExactly(
+                        tuple("First", 2L, 3L),
+                        tuple("Second", 1L, 1L));
+        assertThat(salesReportService.getSalesReport(SalesReportGrouping.PUBLISHER, FIRST_DAY, SECOND_DAY))
+                .singleElement().satisfies(row -> {
+                    assertThat(row.getGroupId()).isEqualTo(publisher.getId());
+                    assertThat(row.getGroupName()).isEqualTo("Rollup Press");
+                    assertThat(row.getRevenue()).isEqualByComparingTo("30.00");
+                });
+    }
+
+    @Test
+    @DisplayName("Should only rebuild the days of orders above the high-water mark")
+    void shouldOnlyRebuildDaysAboveHighWaterMark() {
+
+        order(FIRST_DAY.atTime(9, 0), OrderStatus.NEW, line(firstBook, 1, "10.00"));
+        entityManager.flush();
+        int firstRefreshDays = salesReportService.refreshRollups();
+        order(SECOND_DAY.atTime(9, 0), OrderStatus.NEW, line(firstBook, 1, "10.00"));
+        entityManager.flush();
+
+
+        int secondRefreshDays = salesReportService.refreshRollups();
+        int idleRefreshDays = salesReportService.refreshRollups();
+
+
+        assertThat(secondRefreshDays).isEqualTo(firstRefreshDays);
+        assertThat(idleRefreshDays).isEqualTo(firstRefreshDays - 1);
+        assertThat(salesReportService.getSalesReport(SalesReportGrouping.DAY, FIRST_DAY, SECOND_DAY)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should drop cancelled orders by rebuilding only the days marked dirty")
+    void shouldDropCancelledOrdersByRebuildingDirtyDaysOnly() {
+
+        Order kept = order(FIRST_DAY.atTime(9, 0), OrderStatus.NEW, line(firstBook, 1, "10.00"));
+        Order cancelled = order(FIRST_DAY.atTime(10, 0), OrderStatus.NEW, line(firstBook, 2, "10.00"));
+        order(SECOND_DAY.atTime(9, 0), OrderStatus.NEW, line(secondBook, 1, "5.00"));
+        entityManager.flush();
+        salesReportService.refreshRollups();
+        int idleRefreshDays = salesReportService.refreshRollups();
+
+
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        entityManager.flush();
+        salesRollupRepository.markOrderDaysDirty(List.of(cancelled.getId()));
+        int dirtyRefreshDays = salesReportService.refreshRollups();
+
+
+        assertThat(dirtyRefreshDays).isEqualTo(idleRefreshDays + 1);
+        assertThat(salesRollupRepository.findDirtyDays()).isEmpty();
+        assertThat(salesReportService.getSalesReport(SalesReportGrouping.DAY, FIRST_DAY, FIRST_DAY))
+                .singleElement().satisfies(row -> {
+                    assertThat(row.getOrderCount()).isEqualTo(1);
+                    assertThat(row.getRevenue()).isEqualByComparingTo(kept.getTotalPrice());
+                });
+    }
+
+    @Test
+    @DisplayName("Should reject reversed and overlong report ranges")
+    void shouldRejectInvalidReportRanges() {
+
+        assertThatThrownBy(() -> salesReportService.getSalesReport(SalesReportGrouping.DAY, SECOND_DAY, FIRST_DAY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> salesReportService.getSalesReport(SalesReportGrouping.DAY, FIRST_DAY,
+                FIRST_DAY.plusDays(SalesReportService.MAX_REPORT_DAYS)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must not exceed");
+    }
+
+    private Book book(String title, Publisher bookPublisher) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setPrice(new BigDecimal("10.00"));
+        book.setStockQuantity(10);
+        book.setPublisher(bookPublisher);
+        return entityManager.persist(book);
+    }
+
+    private OrderItem line(Book book, int quantity, String price) {
+        OrderItem item = new OrderItem();
+        item.setBook(book);
+        item.setQuantity(quantity);
+        item.setPrice(new BigDecimal(price));
+        return item;
+    }
+
+    private Order order(LocalDateTime orderDate, OrderStatus status, OrderItem... items) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderDate(orderDate);
+        order.setStatus(status);
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            item.setOrder(order);
+            order.getItems().add(item);
+            total = total.add(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        order.setTotalPrice(total);
+        return entityManager.persist(order);
+    }
+}
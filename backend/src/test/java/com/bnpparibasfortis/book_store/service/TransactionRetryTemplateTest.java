@@ -0,0 +1,119 @@
+package com.bnpparibasfortis.book_store.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionRetryTemplate Tests")
+class TransactionRetryTemplateTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionRetryTemplate retryTemplate;
+
+    @BeforeEach
+    void setUp() {
+        retryTemplate = new TransactionRetryTemplate(transactionManager, 3, Duration.ofMillis(1), Duration.ofMillis(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Should retry in a new transaction after a lock conflict")
+    void shouldRetryInNewTransactionAfterLockConflict() {
+
+        AtomicInteger attempts = new AtomicInteger();
+
+
+        String result = retryTemplate.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("Deadlock found when trying to get lock");
+            }
+            return "done";
+        });
+
+
+        assertThat(result).isEqualTo("done");
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum number of attempts")
+    void shouldGiveUpAfterMaximumNumberOfAttempts() {
+
+        AtomicInteger attempts = new AtomicInteger();
+
+
+        assertThatThrownBy(() -> retryTemplate.execute(() -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("Lock wait timeout exceeded");
+        })).isInstanceOf(CannotAcquireLockException.class);
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should not retry failures other than lock conflicts")
+    void shouldNotRetryOtherFailures() {
+
+        AtomicInteger attempts = new AtomicInteger();
+
+
+        assertThatThrownBy(() -> retryTemplate.execute(() -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("Duplicate entry");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should join an active transaction and run once")
+    void shouldJoinActiveTransactionAndRunOnce() {
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        AtomicInteger attempts = new AtomicInteger();
+
+
+        assertThatThrownBy(() -> retryTemplate.execute(() -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("Lock wait timeout exceeded");
+        })).isInstanceOf(CannotAcquireLockException.class);
+
+        assertThat(attempts).hasValue(1);
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Should reject fewer than one attempt")
+    void shouldRejectFewerThanOneAttempt() {
+
+        assertThatThrownBy(() -> new TransactionRetryTemplate(transactionManager, 0, Duration.ZERO, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,27 @@
+package com.bnpparibasfortis.book_store.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a JPA test whose body prepares more SQL statements than its budget.
+ * Statements are counted from the start of the test method, after the {@code @BeforeEach} fixture,
+ * to its end, including the flush of pending writes. Statements sent through JdbcTemplate are not
+ * counted, as they bypass Hibernate.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(StatementBudgetExtension.class)
+public @interface StatementBudget {
+
+    /**
+     * The maximum number of statements the test may prepare.
+     *
+     * @return the statement budget
+     */
+    int value();
+}
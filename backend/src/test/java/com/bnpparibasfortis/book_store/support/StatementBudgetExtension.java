@@ -0,0 +1,53 @@
+package com.bnpparibasfortis.book_store.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Enforces the {@link StatementBudget} of a test with the Hibernate statistics of the test context,
+ * which must have {@code hibernate.generate_statistics} enabled.
+ */
+public class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        statistics(context).clear();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        EntityManagerFactory entityManagerFactory = entityManagerFactory(context);
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            entityManager.flush();
+        }
+
+        Statistics statistics = statistics(context);
+        int budget = context.getRequiredTestMethod().getAnnotation(StatementBudget.class).value();
+        long prepared = statistics.getPrepareStatementCount();
+        if (prepared > budget) {
+            throw new AssertionError(String.format(
+                    "%s prepared %d SQL statements, over its budget of %d (%d entity loads, %d collection loads, %d queries)",
+                    context.getDisplayName(), prepared, budget, statistics.getEntityLoadCount(),
+                    statistics.getCollectionLoadCount(), statistics.getQueryExecutionCount()));
+        }
+    }
+
+    private Statistics statistics(ExtensionContext context) {
+        return entityManagerFactory(context).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private EntityManagerFactory entityManagerFactory(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(EntityManagerFactory.class);
+    }
+}